@@ -0,0 +1,56 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist.benchmarks;
+
+import java.util.Iterator;
+
+import javassist.CtClass;
+import javassist.build.IClassTransformer;
+import de.icongmbh.oss.maven.plugin.javassist.JavassistTransformerExecutor;
+
+/**
+ * Exposes the steps of {@link JavassistTransformerExecutor} measured separately.
+ *
+ * @since 2.1.0
+ */
+public class BenchmarkExecutor extends JavassistTransformerExecutor {
+
+  /**
+   * Iterates the names of all classes in the passed directory.
+   *
+   * @param directory must not be {@code null}
+   *
+   * @return never {@code null}
+   * @see #iterateClassnames(String)
+   */
+  public Iterator<String> discover(final String directory) {
+    return iterateClassnames(directory);
+  }
+
+  /**
+   * Indicates whether the passed class is stamped by the passed transformer.
+   *
+   * @param transformer must not be {@code null}
+   * @param candidateClass must not be {@code null}
+   *
+   * @return {@code true} if the class owns the stamp
+   * @see #hasStamp(IClassTransformer, CtClass)
+   */
+  public boolean isStamped(final IClassTransformer transformer, final CtClass candidateClass) {
+    return hasStamp(transformer, candidateClass);
+  }
+}
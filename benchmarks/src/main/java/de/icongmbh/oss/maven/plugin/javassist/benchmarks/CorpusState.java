@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist.benchmarks;
+
+import java.io.File;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Provides the directory of a {@link SyntheticCorpus} per number of classes.
+ *
+ * <p>
+ * The corpora are stored in the directory of the system property {@value #BASE_DIRECTORY_PROPERTY}
+ * (default {@value #DEFAULT_BASE_DIRECTORY}) and reused by further runs.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+public class CorpusState {
+
+  /**
+   * Name of the system property to configure the directory of the corpora.
+   */
+  public static final String BASE_DIRECTORY_PROPERTY = "javassist.benchmarks.corpora";
+
+  /**
+   * Directory of the corpora used if {@link #BASE_DIRECTORY_PROPERTY} is not set.
+   */
+  public static final String DEFAULT_BASE_DIRECTORY = "target/corpora";
+
+  /**
+   * Number of class files of the corpus.
+   */
+  @Param({"1000", "10000", "100000"})
+  public int classCount;
+
+  private File directory;
+
+  /**
+   * Generates the corpus if necessary.
+   *
+   * @throws Exception if the corpus could not be generated
+   */
+  @Setup
+  public void prepareCorpus() throws Exception {
+    directory = SyntheticCorpus
+            .prepare(new File(System.getProperty(BASE_DIRECTORY_PROPERTY, DEFAULT_BASE_DIRECTORY)),
+                     classCount);
+  }
+
+  /**
+   * Returns the directory of the corpus.
+   *
+   * @return never {@code null}
+   */
+  public File getDirectory() {
+    return directory;
+  }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.icongmbh.oss.maven.plugin.javassist.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import javassist.CannotCompileException;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.NotFoundException;
+import de.icongmbh.oss.maven.plugin.javassist.example.transformer.MethodCallClassTransformer;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures one pass of each step of the executor over a {@link SyntheticCorpus}.
+ *
+ * <p>
+ * The score is the time of one pass over all classes of the corpus; divide the
+ * {@link CorpusState#classCount} by it for the throughput. Run with {@code -prof gc} for the
+ * allocation per pass.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ExecutorBenchmark {
+
+  /**
+   * Statement replacing the {@code String#valueOf(Object)} calls of the corpus.
+   */
+  public static final String METHOD_CALL_STATEMENT = "{ $_ = $proceed($$); }";
+
+  /**
+   * Discovers the class names of the corpus.
+   *
+   * @param corpus injected by JMH
+   * @param blackhole injected by JMH
+   */
+  @Benchmark
+  public void discover(final CorpusState corpus, final Blackhole blackhole) {
+    final Iterator<String> classNames = new BenchmarkExecutor()
+      .discover(corpus.getDirectory().getAbsolutePath());
+    while (classNames.hasNext()) {
+      blackhole.consume(classNames.next());
+    }
+  }
+
+  /**
+   * Checks the stamp of each loaded class of the corpus.
+   *
+   * @param classes injected by JMH
+   *
+   * @return number of stamped classes
+   */
+  @Benchmark
+  public int checkStamps(final LoadedClasses classes) {
+    int stamped = 0;
+    for (final CtClass ctClass : classes.ctClasses) {
+      if (classes.executor.isStamped(classes.transformer, ctClass)) {
+        ++stamped;
+      }
+    }
+    return stamped;
+  }
+
+  /**
+   * Transforms the corpus without changing the classes.
+   *
+   * @param corpus injected by JMH
+   * @param output injected by JMH
+   */
+  @Benchmark
+  public void transformNoOp(final CorpusState corpus, final Output output) {
+    new BenchmarkExecutor().transform(new NoOpClassTransformer(),
+                                      corpus.getDirectory().getAbsolutePath(),
+                                      output.directory.getAbsolutePath());
+  }
+
+  /**
+   * Transforms the corpus by a {@link MethodCallClassTransformer} replacing
+   * {@code String#valueOf(Object)}.
+   *
+   * @param corpus injected by JMH
+   * @param output injected by JMH
+   *
+   * @throws Exception if the transformer could not be configured
+   */
+  @Benchmark
+  public void transformMethodCall(final CorpusState corpus, final Output output)
+          throws Exception {
+    final MethodCallClassTransformer transformer = new MethodCallClassTransformer();
+    final Properties properties = new Properties();
+    properties.setProperty("java.lang.String#valueOf(Ljava/lang/Object;)Ljava/lang/String;",
+                           METHOD_CALL_STATEMENT);
+    transformer.configure(properties);
+    new BenchmarkExecutor().transform(transformer,
+                                      corpus.getDirectory().getAbsolutePath(),
+                                      output.directory.getAbsolutePath());
+  }
+
+  /**
+   * Writes each loaded class of the corpus.
+   * <p>
+   * A written class is frozen, so the classes are loaded again before each invocation.
+   * </p>
+   *
+   * @param classes injected by JMH
+   * @param output injected by JMH
+   *
+   * @throws IOException if a class could not be written
+   * @throws CannotCompileException if a class could not be written
+   */
+  @Benchmark
+  public void writeFiles(final UnwrittenClasses classes, final Output output)
+          throws IOException, CannotCompileException {
+    final String directory = output.directory.getAbsolutePath();
+    for (final CtClass ctClass : classes.ctClasses) {
+      ctClass.writeFile(directory);
+    }
+  }
+
+  private static List<CtClass> loadClasses(final BenchmarkExecutor executor,
+                                           final CorpusState corpus)
+          throws NotFoundException {
+    final String directory = corpus.getDirectory().getAbsolutePath();
+    final ClassPool classPool = new ClassPool(true);
+    classPool.appendClassPath(directory);
+    final List<CtClass> ctClasses = new ArrayList<>();
+    final Iterator<String> classNames = executor.discover(directory);
+    while (classNames.hasNext()) {
+      final String className = classNames.next();
+      if (null != className) {
+        ctClasses.add(classPool.get(className));
+      }
+    }
+    return ctClasses;
+  }
+
+  /**
+   * All classes of the corpus loaded into one {@link ClassPool}.
+   */
+  @State(Scope.Benchmark)
+  public static class LoadedClasses {
+
+    private final BenchmarkExecutor executor = new BenchmarkExecutor();
+
+    private final NoOpClassTransformer transformer = new NoOpClassTransformer();
+
+    private List<CtClass> ctClasses;
+
+    /**
+     * Loads the classes of the corpus.
+     *
+     * @param corpus injected by JMH
+     *
+     * @throws NotFoundException if a class could not be loaded
+     */
+    @Setup
+    public void load(final CorpusState corpus) throws NotFoundException {
+      ctClasses = loadClasses(executor, corpus);
+    }
+  }
+
+  /**
+   * All classes of the corpus loaded into a new {@link ClassPool} before each invocation, so none
+   * of them is frozen by a previous write.
+   */
+  @State(Scope.Benchmark)
+  public static class UnwrittenClasses {
+
+    private final BenchmarkExecutor executor = new BenchmarkExecutor();
+
+    private List<CtClass> ctClasses;
+
+    /**
+     * Loads the classes of the corpus again.
+     *
+     * @param corpus injected by JMH
+     *
+     * @throws NotFoundException if a class could not be loaded
+     */
+    @Setup(Level.Invocation)
+    public void load(final CorpusState corpus) throws NotFoundException {
+      ctClasses = loadClasses(executor, corpus);
+    }
+  }
+
+  /**
+   * Temporary output directory.
+   */
+  @State(Scope.Benchmark)
+  public static class Output {
+
+    private File directory;
+
+    /**
+     * Creates the output directory.
+     *
+     * @throws IOException if the directory could not be created
+     */
+    @Setup
+    public void create() throws IOException {
+      directory = File.createTempFile("javassist-benchmark", "");
+      FileUtils.forceDelete(directory);
+      FileUtils.forceMkdir(directory);
+    }
+
+    /**
+     * Deletes the output directory.
+     *
+     * @throws IOException if the directory could not be deleted
+     */
+    @TearDown
+    public void delete() throws IOException {
+      FileUtils.deleteDirectory(directory);
+    }
+  }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist.benchmarks;
+
+import javassist.CtClass;
+import de.icongmbh.oss.maven.plugin.javassist.ClassTransformer;
+
+/**
+ * Accepts each class without changing it, so the transformation measures the overhead of the
+ * executor (loading, stamping and writing) only.
+ *
+ * @since 2.1.0
+ */
+public class NoOpClassTransformer extends ClassTransformer {
+
+  @Override
+  public boolean shouldTransform(final CtClass candidateClass) {
+    return true;
+  }
+
+  @Override
+  public void applyTransformations(final CtClass classToTransform) {
+    // no-op
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist.benchmarks;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+
+import javassist.CannotCompileException;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtField;
+import javassist.CtNewConstructor;
+import javassist.CtNewMethod;
+import javassist.NotFoundException;
+import org.apache.commons.io.FileUtils;
+
+/**
+ * Generates a directory of compiled classes shaped like a typical application.
+ *
+ * <p>
+ * The classes are spread over packages of {@value #CLASSES_PER_PACKAGE} classes, extend each other
+ * in chains of up to {@value #HIERARCHY_DEPTH} classes and every {@value #NESTED_CLASS_INTERVAL}rd
+ * class owns a static nested class. Each class calls {@code String#valueOf(Object)}, an interface
+ * method and an inherited method, so the corpus offers call sites to
+ * {@code MethodCallClassTransformer}.
+ * </p>
+ * <p>
+ * A generated corpus is reused by further runs with the same number of classes.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+public final class SyntheticCorpus {
+
+  /**
+   * Number of classes per package.
+   */
+  public static final int CLASSES_PER_PACKAGE = 50;
+
+  /**
+   * Maximum length of a chain of classes extending each other.
+   */
+  public static final int HIERARCHY_DEPTH = 4;
+
+  /**
+   * Interval of classes owning a nested class.
+   */
+  public static final int NESTED_CLASS_INTERVAL = 3;
+
+  /**
+   * Name of the package containing all generated packages.
+   */
+  public static final String BASE_PACKAGE = "bench.corpus";
+
+  private static final String MARKER_FILE_NAME = "corpus.properties";
+
+  private static final String CLASS_COUNT_PROPERTY_NAME = "classCount";
+
+  private SyntheticCorpus() {
+    // static only
+  }
+
+  /**
+   * Returns the directory of a corpus of the passed number of class files and generates it if
+   * necessary.
+   *
+   * @param baseDirectory directory to contain all corpora and must not be {@code null}
+   * @param classCount number of class files including the nested classes
+   *
+   * @return never {@code null}
+   *
+   * @throws IOException if the corpus could not be written
+   * @throws CannotCompileException if a class could not be generated
+   * @throws NotFoundException if a class could not be generated
+   */
+  public static File prepare(final File baseDirectory, final int classCount)
+          throws IOException, CannotCompileException, NotFoundException {
+    final File directory = new File(baseDirectory, "corpus-" + classCount);
+    final File marker = new File(directory, MARKER_FILE_NAME);
+    if (marker.isFile() && classCount == readClassCount(marker)) {
+      return directory;
+    }
+    FileUtils.deleteDirectory(directory);
+    FileUtils.forceMkdir(directory);
+    generate(directory, classCount);
+    final Properties properties = new Properties();
+    properties.setProperty(CLASS_COUNT_PROPERTY_NAME, String.valueOf(classCount));
+    try (OutputStream out = new FileOutputStream(marker)) {
+      properties.store(out, "synthetic corpus of the javassist-maven-plugin benchmarks");
+    }
+    return directory;
+  }
+
+  private static void generate(final File directory, final int classCount)
+          throws IOException, CannotCompileException, NotFoundException {
+    final ClassPool classPool = new ClassPool(true);
+    // generated super classes are loaded from disk after detach
+    classPool.appendClassPath(directory.getAbsolutePath());
+    String superClassName = null;
+    int generated = 0;
+    for (int index = 0; generated < classCount; ++index) {
+      final String className = className(index);
+      final CtClass ctClass = classPool.makeClass(className);
+      if (index % HIERARCHY_DEPTH != 0) {
+        ctClass.setSuperclass(classPool.get(superClassName));
+      }
+      addMembers(ctClass, index);
+      ++generated;
+      if (index % NESTED_CLASS_INTERVAL == 0 && generated < classCount) {
+        final CtClass nestedClass = ctClass.makeNestedClass("Nested", true);
+        addMembers(nestedClass, index);
+        nestedClass.writeFile(directory.getAbsolutePath());
+        nestedClass.detach();
+        ++generated;
+      }
+      ctClass.writeFile(directory.getAbsolutePath());
+      ctClass.detach();
+      superClassName = className;
+    }
+  }
+
+  private static void addMembers(final CtClass ctClass, final int index)
+          throws CannotCompileException {
+    ctClass.addField(CtField.make("private String name = \"c" + index + "\";", ctClass));
+    ctClass.addConstructor(CtNewConstructor.defaultConstructor(ctClass));
+    ctClass.addMethod(CtNewMethod.make("public String describe" + index + "() {"
+                                       + "  return String.valueOf(name) + hashCode();"
+                                       + "}",
+                                       ctClass));
+    ctClass.addMethod(CtNewMethod.make("public int count" + index + "(java.util.List list) {"
+                                       + "  return null == list ? 0 : list.size();"
+                                       + "}",
+                                       ctClass));
+  }
+
+  private static String className(final int index) {
+    return BASE_PACKAGE + ".p" + (index / CLASSES_PER_PACKAGE) + ".C" + index;
+  }
+
+  private static int readClassCount(final File marker) throws IOException {
+    final Properties properties = new Properties();
+    try (InputStream in = new FileInputStream(marker)) {
+      properties.load(in);
+    }
+    return Integer.parseInt(properties.getProperty(CLASS_COUNT_PROPERTY_NAME, "-1"));
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Checks the transformation reports of all modules against 'baseline.properties'.
+ *
+ * The build fails if the summed wall time or the highest peak heap of the reports exceeds the
+ * baseline by more than the margin ('javassist.it.performance.margin', default of the baseline
+ * file; 0.5 means 50 %). Each module must be transformed in exactly one pass. The measured values
+ * are written to 'target/performance.properties' to update the baseline. The test is excluded
+ * from the default build and runs with 'mvn verify -Djavassist.it.performance'.
+ */
+import groovy.json.JsonSlurper
+
+final Properties baseline = new Properties()
+new File(basedir, 'baseline.properties').withInputStream { baseline.load(it) }
+final double margin = Double.parseDouble(System.getProperty('javassist.it.performance.margin',
+                                                            baseline.getProperty('margin')))
+
+long wallTimeMillis = 0L
+long peakHeapBytes = 0L
+int classes = 0
+def modules = basedir.listFiles().findAll { it.isDirectory() && it.name.startsWith('module-') }
+                                 .sort { it.name }
+modules.each { module ->
+  final File reportFile = new File(module, 'target/javassist-report.json')
+  assert reportFile.isFile() : "Missing transformation report ${reportFile}"
+  final def report = new JsonSlurper().parse(reportFile)
+  assert 1 == report.transformers.size() : "Expected one pass in ${module.name}"
+  final def record = report.transformers[0]
+  int classFiles = 0
+  new File(module, 'target/classes').eachFileRecurse { if (it.name.endsWith('.class')) ++classFiles }
+  assert classFiles == record.classes : "Expected ${classFiles} classes in ${module.name}"
+  assert 0 == record.failed : "Failed classes in ${module.name}"
+  assert record.transformed > 0 : "No class transformed in ${module.name}"
+  wallTimeMillis += report.wallTimeMillis as long
+  peakHeapBytes = Math.max(peakHeapBytes, report.heap.peakBytes as long)
+  classes += record.classes
+}
+
+final File measuredFile = new File(basedir, 'target/performance.properties')
+measuredFile.parentFile.mkdirs()
+measuredFile.text = "classes=${classes}\nwallTimeMillis=${wallTimeMillis}\npeakHeapBytes=${peakHeapBytes}\n"
+
+final long maxWallTimeMillis = (long)(Long.parseLong(baseline.getProperty('wallTimeMillis'))
+                                      * (1.0d + margin))
+final long maxPeakHeapBytes = (long)(Long.parseLong(baseline.getProperty('peakHeapBytes'))
+                                     * (1.0d + margin))
+println "Transformed ${classes} classes in ${wallTimeMillis} ms (max. ${maxWallTimeMillis} ms)" +
+        " with a peak heap of ${peakHeapBytes} bytes (max. ${maxPeakHeapBytes} bytes)"
+assert wallTimeMillis <= maxWallTimeMillis : "Wall time ${wallTimeMillis} ms exceeds the baseline" +
+                                             " ${baseline.getProperty('wallTimeMillis')} ms by more than ${margin * 100} %"
+assert peakHeapBytes <= maxPeakHeapBytes : "Peak heap ${peakHeapBytes} bytes exceeds the baseline" +
+                                           " ${baseline.getProperty('peakHeapBytes')} bytes by more than ${margin * 100} %"
+return true
@@ -0,0 +1,52 @@
+/*
+ * Generates the sources of the modules of this integration test.
+ *
+ * Each module gets 'javassist.it.performance.classes' (default 1000) classes in packages of 50
+ * classes. The classes extend each other in chains of up to 4 classes; the first class of each
+ * chain extends the class of the previous module. Every 3rd class owns a static nested class.
+ */
+final int classesPerModule = Integer.getInteger('javassist.it.performance.classes', 1000)
+final int classesPerPackage = 50
+final int hierarchyDepth = 4
+final int nestedClassInterval = 3
+final String basePackage = 'de.icongmbh.oss.maven.plugin.javassist.it.performance'
+
+def modules = basedir.listFiles().findAll { it.isDirectory() && it.name.startsWith('module-') }
+                                 .sort { it.name }
+modules.eachWithIndex { module, moduleIndex ->
+  final File sourceDirectory = new File(module, 'src/main/java')
+  sourceDirectory.deleteDir()
+  for (int index = 0; index < classesPerModule; ++index) {
+    final String packageName = "${basePackage}.m${moduleIndex}.p${index.intdiv(classesPerPackage)}"
+    String superClassName = null
+    if (index % hierarchyDepth != 0) {
+      superClassName = "${basePackage}.m${moduleIndex}.p${(index - 1).intdiv(classesPerPackage)}.C${index - 1}"
+    } else if (moduleIndex > 0) {
+      superClassName = "${basePackage}.m${moduleIndex - 1}.p${index.intdiv(classesPerPackage)}.C${index}"
+    }
+    final StringBuilder source = new StringBuilder()
+    source << "package ${packageName};\n\n"
+    source << "public class C${index}${superClassName ? ' extends ' + superClassName : ''} {\n\n"
+    source << "  private final String name${index} = \"c${index}\";\n\n"
+    source << "  public String describe${index}() {\n"
+    source << "    return String.valueOf(name${index}) + hashCode();\n"
+    source << "  }\n\n"
+    source << "  public int count${index}(java.util.List<?> list) {\n"
+    source << "    return null == list ? 0 : list.size();\n"
+    source << "  }\n"
+    if (index % nestedClassInterval == 0) {
+      source << "\n  public static class Nested {\n\n"
+      source << "    public String describe() {\n"
+      source << "      return String.valueOf(this);\n"
+      source << "    }\n"
+      source << "  }\n"
+    }
+    source << "}\n"
+    final File sourceFile = new File(sourceDirectory,
+                                     packageName.replace('.', '/') + "/C${index}.java")
+    sourceFile.parentFile.mkdirs()
+    sourceFile.text = source.toString()
+  }
+}
+println "Generated ${classesPerModule} classes in each of ${modules.size()} modules"
+return true
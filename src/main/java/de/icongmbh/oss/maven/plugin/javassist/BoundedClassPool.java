@@ -0,0 +1,182 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javassist.ClassPool;
+import javassist.CtClass;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link ClassPool} keeping at most a configured number of classes cached.
+ *
+ * <p>
+ * The least recently used classes exceeding the capacity are evicted from the cache. An evicted
+ * class stays reachable by a weak reference, so a class still referenced by a transformation is
+ * returned again instead of a new copy. Modified classes are never evicted, because their changes
+ * could not be loaded again. {@link #release()} drops all cached classes at the end of a
+ * transformation.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+final class BoundedClassPool extends ClassPool {
+
+  /**
+   * Default number of cached classes.
+   */
+  static final int DEFAULT_CAPACITY = 4096;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(BoundedClassPool.class);
+
+  private final int capacity;
+
+  private final LinkedHashMap<String, CtClass> recentClasses = new LinkedHashMap<>(16,
+                                                                                  0.75f,
+                                                                                  true);
+
+  private final Map<String, CtClass> modifiedClasses = new HashMap<>();
+
+  private final Map<String, NamedReference> evictedClasses = new HashMap<>();
+
+  private final ReferenceQueue<CtClass> clearedClasses = new ReferenceQueue<>();
+
+  private int evictions;
+
+  /**
+   * Creates a pool without parent and without class path.
+   *
+   * @param capacity the number of cached classes and less than {@code 1} for the
+   *         {@link #DEFAULT_CAPACITY}
+   */
+  BoundedClassPool(final int capacity) {
+    this(null, capacity);
+  }
+
+  /**
+   * Creates a pool without class path.
+   *
+   * @param parent the parent pool and maybe {@code null}
+   * @param capacity the number of cached classes and less than {@code 1} for the
+   *         {@link #DEFAULT_CAPACITY}
+   */
+  BoundedClassPool(final ClassPool parent, final int capacity) {
+    super(parent);
+    this.capacity = capacity > 0 ? capacity : DEFAULT_CAPACITY;
+  }
+
+  @Override
+  protected synchronized CtClass getCached(final String classname) {
+    CtClass cachedClass = recentClasses.get(classname);
+    if (null != cachedClass) {
+      return cachedClass;
+    }
+    cachedClass = modifiedClasses.get(classname);
+    if (null != cachedClass) {
+      return cachedClass;
+    }
+    final NamedReference evictedClass = evictedClasses.remove(classname);
+    cachedClass = null == evictedClass ? null : evictedClass.get();
+    if (null != cachedClass) {
+      cache(classname, cachedClass);
+      return cachedClass;
+    }
+    // the primitive types
+    return super.getCached(classname);
+  }
+
+  @Override
+  protected synchronized void cacheCtClass(final String classname,
+                                           final CtClass c,
+                                           final boolean dynamic) {
+    modifiedClasses.remove(classname);
+    evictedClasses.remove(classname);
+    cache(classname, c);
+  }
+
+  @Override
+  protected synchronized CtClass removeCached(final String classname) {
+    final CtClass recentClass = recentClasses.remove(classname);
+    final CtClass modifiedClass = modifiedClasses.remove(classname);
+    final NamedReference evictedClass = evictedClasses.remove(classname);
+    if (null != recentClass) {
+      return recentClass;
+    }
+    if (null != modifiedClass) {
+      return modifiedClass;
+    }
+    return null == evictedClass ? super.removeCached(classname) : evictedClass.get();
+  }
+
+  /**
+   * Drops all cached classes.
+   */
+  synchronized void release() {
+    LOGGER.debug("{} classes released, {} classes evicted before",
+                 recentClasses.size() + modifiedClasses.size(),
+                 evictions);
+    recentClasses.clear();
+    modifiedClasses.clear();
+    evictedClasses.clear();
+    evictions = 0;
+  }
+
+  private void cache(final String classname, final CtClass cachedClass) {
+    recentClasses.put(classname, cachedClass);
+    for (Reference<? extends CtClass> reference = clearedClasses.poll(); null != reference;
+        reference = clearedClasses.poll()) {
+      evictedClasses.remove(((NamedReference)reference).name, reference);
+    }
+    final Iterator<Map.Entry<String, CtClass>> eldestClasses = recentClasses.entrySet().iterator();
+    while (recentClasses.size() > capacity) {
+      final Map.Entry<String, CtClass> eldestClass = eldestClasses.next();
+      eldestClasses.remove();
+      if (eldestClass.getValue().isModified()) {
+        modifiedClasses.put(eldestClass.getKey(), eldestClass.getValue());
+      } else {
+        evictedClasses.put(eldestClass.getKey(),
+                           new NamedReference(eldestClass.getKey(),
+                                              eldestClass.getValue(),
+                                              clearedClasses));
+        evictions++;
+      }
+    }
+  }
+
+  /**
+   * Weak reference of an evicted class knowing its name after it is cleared.
+   */
+  private static final class NamedReference extends WeakReference<CtClass> {
+
+    private final String name;
+
+    private NamedReference(final String name,
+                           final CtClass evictedClass,
+                           final ReferenceQueue<CtClass> queue) {
+      super(evictedClass, queue);
+      this.name = name;
+    }
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import java.io.Closeable;
+import java.util.Map;
+
+import javassist.ClassPath;
+import javassist.build.IClassTransformer;
+
+/**
+ * Transforms class files in memory by the {@link IClassTransformer} instances of an executor,
+ * e.g. in an annotation processor, a test harness or a packager, without reading or writing any
+ * file.
+ *
+ * <p>
+ * The classes of the dependencies are loaded from the passed {@link ClassPath} and the JDK by one
+ * {@link javassist.ClassPool} kept across all calls of {@link #transform(Map)} until
+ * {@link #close()}. The kept pool must only contain classes not changing between the calls.
+ * </p>
+ * <p>
+ * An instance is not thread-safe.
+ * </p>
+ *
+ * <pre>
+ * {@code
+ * final JavassistTransformerExecutor executor = new JavassistTransformerExecutor();
+ * executor.setTransformerClasses(transformer);
+ * try (ClassBytesTransformer classBytesTransformer =
+ *         new ClassBytesTransformer(executor, new LoaderClassPath(classLoader))) {
+ *   final Map<String, byte[]> transformedClassFiles = classBytesTransformer.transform(classFiles);
+ * }
+ * }
+ * </pre>
+ *
+ * @since 2.1.0
+ */
+public class ClassBytesTransformer implements Closeable {
+
+  private final JavassistTransformerExecutor executor;
+
+  private final BoundedClassPool dependencyClassPool;
+
+  /**
+   * Creates a transformer.
+   *
+   * @param executor the configured executor and must not be {@code null}
+   * @param classPath the class path of the dependencies and must not be {@code null}
+   *
+   * @throws NullPointerException if passed {@code executor} or {@code classPath} is {@code null}
+   */
+  public ClassBytesTransformer(final JavassistTransformerExecutor executor,
+                               final ClassPath classPath) {
+    if (null == executor) {
+      throw new NullPointerException("executor");
+    }
+    if (null == classPath) {
+      throw new NullPointerException("classPath");
+    }
+    this.executor = executor;
+    this.dependencyClassPool = new BoundedClassPool(BoundedClassPool.DEFAULT_CAPACITY);
+    dependencyClassPool.appendClassPath(classPath);
+    dependencyClassPool.appendSystemPath();
+  }
+
+  /**
+   * Transforms the passed class files by all configured transformers of the executor.
+   * <p>
+   * Stamped classes are skipped like by {@link JavassistTransformerExecutor#execute()}. Nested
+   * classes modified by their outer class must be passed with it.
+   * </p>
+   *
+   * @param classFiles the class files by full qualified class name in the order of
+   *         transformation and must not be {@code null}
+   *
+   * @return the class files of the transformed classes by full qualified class name and never
+   *         {@code null}
+   *
+   * @throws NullPointerException if passed {@code classFiles} is {@code null}
+   */
+  public Map<String, byte[]> transform(final Map<String, byte[]> classFiles) {
+    return executor.transform(classFiles, dependencyClassPool);
+  }
+
+  /**
+   * Releases the classes of the dependencies.
+   */
+  @Override
+  public void close() {
+    dependencyClassPool.release();
+  }
+}
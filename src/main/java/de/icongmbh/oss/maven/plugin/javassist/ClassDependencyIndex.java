@@ -0,0 +1,305 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.ConstPool;
+import org.apache.commons.io.FileUtils;
+
+/**
+ * Persisted index of the classes referencing each class of one class directory.
+ *
+ * <p>
+ * The references of a class are the classes of its constant pool, its super class and its
+ * interfaces, as far as they belong to the class directory. A class referencing a changed class
+ * is affected by the change, because its transformation may depend on it, e.g. on the methods it
+ * calls. If the referencing class is a subclass or an implementation of the changed class, the
+ * classes referencing it are affected too, because they may use the inherited members.
+ * </p>
+ * <p>
+ * The file stores a line {@code className=supertypes;references} per class, both lists comma
+ * separated. An instance is not thread-safe.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+public class ClassDependencyIndex {
+
+  private static final String CLASS_FILE_SUFFIX = ".class";
+
+  private static final String LIST_SEPARATOR = ",";
+
+  private static final String SUPERTYPES_SEPARATOR = ";";
+
+  private final File file;
+
+  private final Map<String, Set<String>> supertypes = new HashMap<>();
+
+  private final Map<String, Set<String>> references = new HashMap<>();
+
+  /**
+   * Creates an index stored in the passed file and loads it if the file exists.
+   *
+   * @param file must not be {@code null}
+   *
+   * @throws IOException if the existing file could not be read
+   */
+  public ClassDependencyIndex(final File file) throws IOException {
+    this.file = file;
+    if (file.isFile()) {
+      load();
+    }
+  }
+
+  /**
+   * Indicates whether the index contains no class.
+   *
+   * @return {@code true} if no class is indexed
+   */
+  public boolean isEmpty() {
+    return references.isEmpty();
+  }
+
+  /**
+   * Replaces the index by the references of all classes of the passed directory.
+   *
+   * @param classDirectory must not be {@code null}
+   *
+   * @throws IOException if a class could not be read
+   */
+  public void rebuild(final String classDirectory) throws IOException {
+    supertypes.clear();
+    references.clear();
+    final File directory = new File(classDirectory);
+    if (!directory.isDirectory()) {
+      return;
+    }
+    final Iterator<String> classNames = ClassnameExtractor
+            .iterateClassnames(directory,
+                               FileUtils.iterateFiles(directory,
+                                                      new String[] {"class"},
+                                                      true));
+    while (classNames.hasNext()) {
+      index(directory, classNames.next());
+    }
+  }
+
+  /**
+   * Replaces the references of the passed classes by the references of their class files in the
+   * passed directory. Classes without a class file are removed.
+   *
+   * @param classDirectory must not be {@code null}
+   * @param classNames full qualified class names and must not be {@code null}
+   *
+   * @throws IOException if a class could not be read
+   */
+  public void update(final String classDirectory, final Collection<String> classNames)
+          throws IOException {
+    final File directory = new File(classDirectory);
+    for (final String className : classNames) {
+      supertypes.remove(className);
+      references.remove(className);
+      index(directory, className);
+    }
+  }
+
+  /**
+   * Updates the index by the passed changed classes and saves it. The index is rebuilt if no
+   * classes are passed or if it is empty.
+   *
+   * @param classDirectory must not be {@code null}
+   * @param classNames full qualified names of the changed classes or {@code null} for all
+   *         classes
+   *
+   * @return the classes affected by the change of the passed classes (see
+   *         {@link #getDependents(Collection)}) and never {@code null} but empty if the index
+   *         is rebuilt
+   *
+   * @throws IOException if a class could not be read or the index could not be written
+   */
+  public Set<String> refresh(final String classDirectory, final Collection<String> classNames)
+          throws IOException {
+    if (null == classNames || isEmpty()) {
+      rebuild(classDirectory);
+      save();
+      return new LinkedHashSet<>();
+    }
+    update(classDirectory, classNames);
+    final Set<String> dependents = getDependents(classNames);
+    save();
+    return dependents;
+  }
+
+  /**
+   * Returns the classes affected by a change of the passed classes.
+   *
+   * @param classNames the changed classes and must not be {@code null}
+   *
+   * @return the affected classes without the passed classes and never {@code null}
+   */
+  public Set<String> getDependents(final Collection<String> classNames) {
+    final Map<String, Set<String>> referencingClasses = invert();
+    final Set<String> changedClassNames = new HashSet<>(classNames);
+    final Set<String> dependents = new LinkedHashSet<>();
+    final Set<String> visited = new HashSet<>(changedClassNames);
+    final Deque<String> changed = new ArrayDeque<>(classNames);
+    while (!changed.isEmpty()) {
+      final String className = changed.poll();
+      final Set<String> referencing = referencingClasses.get(className);
+      if (null == referencing) {
+        continue;
+      }
+      for (final String dependent : referencing) {
+        if (!changedClassNames.contains(dependent)) {
+          dependents.add(dependent);
+        }
+        if (supertypes.get(dependent).contains(className) && visited.add(dependent)) {
+          changed.add(dependent);
+        }
+      }
+    }
+    return dependents;
+  }
+
+  /**
+   * Writes the index to its file.
+   *
+   * @throws IOException if the file could not be written
+   */
+  public void save() throws IOException {
+    final Properties properties = new Properties();
+    for (final Map.Entry<String, Set<String>> classReferences : references.entrySet()) {
+      final String className = classReferences.getKey();
+      properties.setProperty(className,
+                             String.join(LIST_SEPARATOR, supertypes.get(className))
+                                        + SUPERTYPES_SEPARATOR
+                                        + String.join(LIST_SEPARATOR, classReferences.getValue()));
+    }
+    FileUtils.forceMkdirParent(file);
+    try (OutputStream out = Files.newOutputStream(file.toPath())) {
+      properties.store(out, "supertypes;references per class");
+    }
+  }
+
+  private void load() throws IOException {
+    final Properties properties = new Properties();
+    try (InputStream in = Files.newInputStream(file.toPath())) {
+      properties.load(in);
+    }
+    for (final String className : properties.stringPropertyNames()) {
+      final String value = properties.getProperty(className);
+      final int separator = value.indexOf(SUPERTYPES_SEPARATOR);
+      supertypes.put(className, split(value.substring(0, separator)));
+      references.put(className, split(value.substring(separator + 1)));
+    }
+  }
+
+  private void index(final File classDirectory, final String className) throws IOException {
+    if (null == className) {
+      return;
+    }
+    final File classFile = classFile(classDirectory, className);
+    if (!classFile.isFile()) {
+      return;
+    }
+    final ClassFile bytecode;
+    try (InputStream in = Files.newInputStream(classFile.toPath())) {
+      bytecode = new ClassFile(new DataInputStream(in));
+    }
+    final Set<String> classSupertypes = new TreeSet<>();
+    addIfIndexed(classSupertypes, classDirectory, className, bytecode.getSuperclass());
+    for (final String interfaceName : bytecode.getInterfaces()) {
+      addIfIndexed(classSupertypes, classDirectory, className, interfaceName);
+    }
+    final Set<String> classReferences = new TreeSet<>(classSupertypes);
+    final ConstPool constPool = bytecode.getConstPool();
+    for (int index = 1; index < constPool.getSize(); ++index) {
+      if (ConstPool.CONST_Class == constPool.getTag(index)) {
+        addIfIndexed(classReferences, classDirectory, className, constPool.getClassInfo(index));
+      }
+    }
+    supertypes.put(className, classSupertypes);
+    references.put(className, classReferences);
+  }
+
+  private Map<String, Set<String>> invert() {
+    final Map<String, Set<String>> referencingClasses = new HashMap<>();
+    for (final Map.Entry<String, Set<String>> classReferences : references.entrySet()) {
+      for (final String reference : classReferences.getValue()) {
+        referencingClasses.computeIfAbsent(reference, key -> new TreeSet<>())
+                          .add(classReferences.getKey());
+      }
+    }
+    return referencingClasses;
+  }
+
+  /**
+   * Adds the passed reference if it is another class of the passed directory. Array classes are
+   * reduced to their component class.
+   */
+  private static void addIfIndexed(final Set<String> classNames,
+                                   final File classDirectory,
+                                   final String className,
+                                   final String reference) {
+    if (null == reference) {
+      return;
+    }
+    String referencedClassName = reference;
+    if (referencedClassName.startsWith("[")) {
+      final int start = referencedClassName.indexOf('L');
+      if (start < 0) {
+        return;
+      }
+      referencedClassName = referencedClassName
+              .substring(start + 1, referencedClassName.length() - 1).replace('/', '.');
+    }
+    if (!referencedClassName.equals(className)
+        && classFile(classDirectory, referencedClassName).isFile()) {
+      classNames.add(referencedClassName);
+    }
+  }
+
+  private static Set<String> split(final String value) {
+    if (value.isEmpty()) {
+      return new TreeSet<>();
+    }
+    return new TreeSet<>(Arrays.asList(value.split(LIST_SEPARATOR)));
+  }
+
+  private static File classFile(final File classDirectory, final String className) {
+    return new File(classDirectory, className.replace('.', File.separatorChar) + CLASS_FILE_SUFFIX);
+  }
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Watches class directories, including their sub directories, for created and modified class
+ * files.
+ *
+ * <p>
+ * A burst of writes, e.g. by a compiler, is collected until no further write happens within the
+ * debounce time. Class files written by the transformation itself are announced by
+ * {@link #ignore(File)} and don't count as change as long as their content is unchanged; the
+ * time of the last modification is too coarse on some file systems to tell a later write apart.
+ * </p>
+ * <p>
+ * An instance is not thread-safe.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+final class ClassDirectoryWatcher implements Closeable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ClassDirectoryWatcher.class);
+
+  private static final String CLASS_FILE_SUFFIX = ".class";
+
+  private final WatchService watchService;
+
+  private final long debounceMillis;
+
+  private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+
+  private final Map<Path, Path> rootDirectories = new HashMap<>();
+
+  private final Map<Path, byte[]> writtenFiles = new HashMap<>();
+
+  /**
+   * Starts watching the passed directories.
+   *
+   * @param directories must not be {@code null}; not existing directories are ignored
+   * @param debounceMillis the time without further write to wait for after a write
+   *
+   * @throws IOException if a directory could not be watched
+   */
+  ClassDirectoryWatcher(final List<String> directories, final long debounceMillis)
+          throws IOException {
+    this.watchService = FileSystems.getDefault().newWatchService();
+    this.debounceMillis = debounceMillis;
+    for (final String directory : directories) {
+      final Path root = new File(directory).getAbsoluteFile().toPath();
+      if (Files.isDirectory(root)) {
+        register(root, root, null);
+      }
+    }
+  }
+
+  /**
+   * Announces a class file written by the transformation.
+   *
+   * @param classFile must not be {@code null}
+   */
+  void ignore(final File classFile) {
+    final Path classPath = classFile.getAbsoluteFile().toPath();
+    final byte[] digest = digest(classPath);
+    if (null == digest) {
+      writtenFiles.remove(classPath);
+    } else {
+      writtenFiles.put(classPath, digest);
+    }
+  }
+
+  /**
+   * Waits for changed class files and returns them once no further write happened within the
+   * debounce time.
+   *
+   * @param timeoutMillis maximum time to wait for the first change
+   *
+   * @return full qualified names of the changed classes per watched directory and never
+   *         {@code null} but empty if nothing changed within the passed time
+   *
+   * @throws InterruptedException if the current thread is interrupted while waiting
+   * @throws IOException if a created directory could not be watched
+   */
+  Map<String, Set<String>> awaitChanges(final long timeoutMillis)
+          throws InterruptedException, IOException {
+    final Map<String, Set<String>> changes = new LinkedHashMap<>();
+    WatchKey watchKey = watchService.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+    while (null != watchKey) {
+      collect(watchKey, changes);
+      watchKey = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS);
+      if (null == watchKey && changes.isEmpty()) {
+        // only own writes so far; wait for the next change
+        watchKey = watchService.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+      }
+    }
+    return changes;
+  }
+
+  @Override
+  public void close() throws IOException {
+    watchService.close();
+  }
+
+  private void collect(final WatchKey watchKey, final Map<String, Set<String>> changes)
+          throws IOException {
+    final Path directory = watchedDirectories.get(watchKey);
+    for (final WatchEvent<?> event : watchKey.pollEvents()) {
+      if (OVERFLOW == event.kind() || null == directory) {
+        LOGGER.warn("Changes of {} lost, save the classes again", directory);
+        continue;
+      }
+      final Path path = directory.resolve((Path)event.context());
+      final Path root = rootDirectories.get(directory);
+      if (ENTRY_CREATE == event.kind() && Files.isDirectory(path)) {
+        // the class files may be written before the directory is watched
+        register(root, path, changes);
+      } else if (!isWrittenByTransformation(path)) {
+        addChange(changes, root, path);
+      }
+    }
+    if (!watchKey.reset()) {
+      watchedDirectories.remove(watchKey);
+    }
+  }
+
+  private static void addChange(final Map<String, Set<String>> changes,
+                                final Path root,
+                                final Path classFile) {
+    final String relativePath = root.relativize(classFile).toString();
+    if (!relativePath.endsWith(CLASS_FILE_SUFFIX)) {
+      return;
+    }
+    final String className = relativePath
+            .substring(0, relativePath.length() - CLASS_FILE_SUFFIX.length())
+            .replace(File.separatorChar, '.');
+    changes.computeIfAbsent(root.toString(), key -> new LinkedHashSet<>()).add(className);
+  }
+
+  private boolean isWrittenByTransformation(final Path classFile) {
+    final byte[] writtenDigest = writtenFiles.get(classFile);
+    if (null == writtenDigest) {
+      return false;
+    }
+    if (MessageDigest.isEqual(writtenDigest, digest(classFile))) {
+      return true;
+    }
+    writtenFiles.remove(classFile);
+    return false;
+  }
+
+  /**
+   * Returns the SHA-256 digest of the content of the passed file or {@code null} if it could not
+   * be read, e.g. because it was deleted.
+   */
+  private static byte[] digest(final Path classFile) {
+    try {
+      return MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(classFile));
+    } catch (final IOException e) {
+      return null;
+    } catch (final NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Watches the passed directory and its sub directories and adds their class files to the
+   * passed changes, if any.
+   */
+  private void register(final Path root,
+                        final Path directory,
+                        final Map<String, Set<String>> changes) throws IOException {
+    Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+
+      @Override
+      public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs)
+              throws IOException {
+        watchedDirectories.put(dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY), dir);
+        rootDirectories.put(dir, root);
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+        if (null != changes) {
+          addChange(changes, root, file);
+        }
+        return FileVisitResult.CONTINUE;
+      }
+    });
+  }
+}
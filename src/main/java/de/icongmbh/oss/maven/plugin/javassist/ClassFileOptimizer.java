@@ -0,0 +1,211 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javassist.CannotCompileException;
+import javassist.CtClass;
+import javassist.bytecode.AttributeInfo;
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.CodeAttribute;
+import javassist.bytecode.FieldInfo;
+import javassist.bytecode.LocalVariableAttribute;
+import javassist.bytecode.LocalVariableTypeAttribute;
+import javassist.bytecode.MethodInfo;
+
+/**
+ * Optional final stage writing smaller class files.
+ *
+ * <p>
+ * Javassist keeps the constant pool entries no longer used after a transformation. This stage
+ * rebuilds the constant pool with the used entries only (see {@link ClassFile#compact()}) and
+ * removes the configured attributes, e.g. the debug attributes {@value #LOCAL_VARIABLE_TABLE},
+ * {@value #LOCAL_VARIABLE_TYPE_TABLE} and {@value #SOURCE_DEBUG_EXTENSION}, from the class, its
+ * fields, its methods and their code. The stamps are kept because they prevent a second
+ * transformation. The sizes of the class files before and after are summed up.
+ * </p>
+ * <p>
+ * An instance is not thread-safe.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+public class ClassFileOptimizer {
+
+  /**
+   * Name of the attribute with the names of the local variables.
+   */
+  public static final String LOCAL_VARIABLE_TABLE = LocalVariableAttribute.tag;
+
+  /**
+   * Name of the attribute with the generic types of the local variables.
+   */
+  public static final String LOCAL_VARIABLE_TYPE_TABLE = LocalVariableTypeAttribute.tag;
+
+  /**
+   * Name of the attribute with the source mapping of e.g. JSP or Kotlin inline functions.
+   */
+  public static final String SOURCE_DEBUG_EXTENSION = "SourceDebugExtension";
+
+  /**
+   * The debug attributes not required at runtime.
+   */
+  public static final List<String> DEBUG_ATTRIBUTES = Collections.unmodifiableList(
+          Arrays.asList(LOCAL_VARIABLE_TABLE, LOCAL_VARIABLE_TYPE_TABLE, SOURCE_DEBUG_EXTENSION));
+
+  private final boolean compactConstantPool;
+
+  private final Set<String> strippedAttributes;
+
+  private int classes;
+
+  private long bytesBefore;
+
+  private long bytesAfter;
+
+  /**
+   * Creates an optimizer.
+   *
+   * @param compactConstantPool whether or not to remove the unused constant pool entries
+   * @param strippedAttributes names of the attributes to remove and maybe {@code null}
+   */
+  public ClassFileOptimizer(final boolean compactConstantPool,
+                            final Collection<String> strippedAttributes) {
+    this.compactConstantPool = compactConstantPool;
+    this.strippedAttributes = null == strippedAttributes ? Collections.<String>emptySet()
+            : new LinkedHashSet<>(strippedAttributes);
+  }
+
+  /**
+   * Writes the optimized class file of the passed class into the passed directory.
+   *
+   * @param ctClass must not be {@code null}
+   * @param directoryName must not be {@code null}
+   *
+   * @throws IOException if the class file could not be written
+   * @throws CannotCompileException if the class could not be converted to bytecode
+   * @see CtClass#writeFile(String)
+   */
+  public void writeFile(final CtClass ctClass, final String directoryName)
+          throws IOException, CannotCompileException {
+    final byte[] optimized = optimize(ctClass.toBytecode());
+    final File classFile = new File(directoryName,
+                                    ctClass.getName().replace('.', File.separatorChar) + ".class");
+    final File parent = classFile.getParentFile();
+    if (!parent.isDirectory() && !parent.mkdirs()) {
+      throw new IOException("Could not create directory " + parent);
+    }
+    Files.write(classFile.toPath(), optimized);
+  }
+
+  /**
+   * Optimizes the passed class file.
+   *
+   * @param bytecode must not be {@code null}
+   *
+   * @return never {@code null}
+   *
+   * @throws IOException if the passed bytecode is invalid
+   */
+  public byte[] optimize(final byte[] bytecode) throws IOException {
+    final ClassFile classFile = new ClassFile(new DataInputStream(
+            new ByteArrayInputStream(bytecode)));
+    for (final String attribute : strippedAttributes) {
+      classFile.removeAttribute(attribute);
+      for (final FieldInfo field : classFile.getFields()) {
+        field.removeAttribute(attribute);
+      }
+      for (final MethodInfo method : classFile.getMethods()) {
+        method.removeAttribute(attribute);
+        final CodeAttribute code = method.getCodeAttribute();
+        if (null != code) {
+          removeAttribute(code.getAttributes(), attribute);
+        }
+      }
+    }
+    if (compactConstantPool) {
+      classFile.compact();
+    }
+    final ByteArrayOutputStream out = new ByteArrayOutputStream(bytecode.length);
+    classFile.write(new DataOutputStream(out));
+    final byte[] optimized = out.toByteArray();
+    ++classes;
+    bytesBefore += bytecode.length;
+    bytesAfter += optimized.length;
+    return optimized;
+  }
+
+  private static void removeAttribute(final List<AttributeInfo> attributes, final String name) {
+    for (final Iterator<AttributeInfo> iterator = attributes.iterator(); iterator.hasNext();) {
+      if (name.equals(iterator.next().getName())) {
+        iterator.remove();
+      }
+    }
+  }
+
+  /**
+   * Returns the number of optimized classes.
+   *
+   * @return {@code 0} or more
+   */
+  public int getClasses() {
+    return classes;
+  }
+
+  /**
+   * Returns the sum of the sizes of the class files before the optimization.
+   *
+   * @return bytes
+   */
+  public long getBytesBefore() {
+    return bytesBefore;
+  }
+
+  /**
+   * Returns the sum of the sizes of the optimized class files.
+   *
+   * @return bytes
+   */
+  public long getBytesAfter() {
+    return bytesAfter;
+  }
+
+  /**
+   * Returns the names of the removed attributes.
+   *
+   * @return never {@code null}
+   */
+  public List<String> getStrippedAttributes() {
+    return new ArrayList<>(strippedAttributes);
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.util.Map;
+
+import javassist.ClassPath;
+
+/**
+ * {@link ClassPath} of class files in memory.
+ *
+ * <p>
+ * The class files are read from the passed map on each lookup, so later changes of the map are
+ * visible.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+final class ClassFilesPath implements ClassPath {
+
+  private final Map<String, byte[]> classFiles;
+
+  /**
+   * Creates a class path.
+   *
+   * @param classFiles the class files by full qualified class name and must not be {@code null}
+   */
+  ClassFilesPath(final Map<String, byte[]> classFiles) {
+    this.classFiles = classFiles;
+  }
+
+  @Override
+  public InputStream openClassfile(final String classname) {
+    final byte[] classFile = classFiles.get(classname);
+    return null == classFile ? null : new ByteArrayInputStream(classFile);
+  }
+
+  @Override
+  public URL find(final String classname) {
+    final byte[] classFile = classFiles.get(classname);
+    if (null == classFile) {
+      return null;
+    }
+    try {
+      return new URL(null,
+                     "memory:/" + classname.replace('.', '/') + ".class",
+                     new ClassFileHandler(classFile));
+    } catch (final MalformedURLException e) {
+      return null;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "memory:" + classFiles.size() + " classes";
+  }
+
+  /**
+   * Opens the class file of an URL returned by {@link #find(String)}.
+   */
+  private static final class ClassFileHandler extends URLStreamHandler {
+
+    private final byte[] classFile;
+
+    private ClassFileHandler(final byte[] classFile) {
+      this.classFile = classFile;
+    }
+
+    @Override
+    protected URLConnection openConnection(final URL url) {
+      return new URLConnection(url) {
+
+        @Override
+        public void connect() {
+          // nothing to connect
+        }
+
+        @Override
+        public InputStream getInputStream() {
+          return new ByteArrayInputStream(classFile);
+        }
+      };
+    }
+  }
+}
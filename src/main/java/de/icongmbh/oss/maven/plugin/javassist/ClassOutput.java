@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import java.io.IOException;
+
+import javassist.CannotCompileException;
+import javassist.CtClass;
+
+/**
+ * Destination of the classes transformed by the {@link JavassistTransformerExecutor}, e.g. a
+ * directory or the memory.
+ *
+ * @since 2.1.0
+ */
+interface ClassOutput {
+
+  /**
+   * Writes the passed transformed class.
+   *
+   * @param transformedClass must not be {@code null}
+   *
+   * @return the size of the written class file in bytes
+   *
+   * @throws CannotCompileException if the class could not be converted to bytecode
+   * @throws IOException if the class could not be written
+   */
+  long write(CtClass transformedClass) throws CannotCompileException, IOException;
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import javassist.CtClass;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the estimated memory of the classes loaded by one transformation under a budget.
+ *
+ * <p>
+ * The memory of a loaded class is estimated by {@value #MEMORY_PER_CLASS_FILE_BYTE} times the size
+ * of its class file. Before a class is loaded that would exceed the budget, the classes loaded so
+ * far are detached from their {@link javassist.ClassPool}, so the garbage collector can free them.
+ * The classes are detached only after they are written. A detached class is loaded again from its
+ * class file if another class requires it.
+ * </p>
+ * <p>
+ * An instance is not thread-safe.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+final class ClassPoolBudget {
+
+  /**
+   * Estimated bytes of memory per byte of a class file, covering the parsed constant pool, the
+   * members and the code attributes.
+   */
+  static final int MEMORY_PER_CLASS_FILE_BYTE = 8;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ClassPoolBudget.class);
+
+  private final long budget;
+
+  private final List<CtClass> batch = new ArrayList<>();
+
+  private long residentBytes;
+
+  private int detachedClasses;
+
+  /**
+   * Creates a budget.
+   *
+   * @param budget the estimated memory in bytes the loaded classes must not exceed
+   */
+  ClassPoolBudget(final long budget) {
+    this.budget = budget;
+  }
+
+  /**
+   * Reserves the estimated memory of the passed class and detaches the loaded classes if the
+   * budget would be exceeded.
+   *
+   * @param classDirectory must not be {@code null}
+   * @param className full qualified class name and must not be {@code null}
+   */
+  void reserve(final String classDirectory, final String className) {
+    final long estimate = estimate(classDirectory, className);
+    if (residentBytes + estimate > budget && !batch.isEmpty()) {
+      flush();
+    }
+    residentBytes += estimate;
+  }
+
+  /**
+   * Adds a loaded class to the current batch, detached by the next {@link #flush()}.
+   *
+   * @param loadedClass must not be {@code null}
+   */
+  void add(final CtClass loadedClass) {
+    batch.add(loadedClass);
+  }
+
+  /**
+   * Detaches all classes of the current batch.
+   */
+  void flush() {
+    for (final CtClass loadedClass : batch) {
+      loadedClass.detach();
+    }
+    LOGGER.debug("{} classes of about {} bytes detached", batch.size(), residentBytes);
+    detachedClasses += batch.size();
+    batch.clear();
+    residentBytes = 0L;
+  }
+
+  /**
+   * The number of classes detached so far.
+   *
+   * @return not negative
+   */
+  int getDetachedClasses() {
+    return detachedClasses;
+  }
+
+  /**
+   * Estimates the memory of the passed class by the size of its class file.
+   *
+   * @param classDirectory must not be {@code null}
+   * @param className full qualified class name and must not be {@code null}
+   *
+   * @return {@code 0} if the class file doesn't exist
+   */
+  static long estimate(final String classDirectory, final String className) {
+    return MEMORY_PER_CLASS_FILE_BYTE
+           * new File(classDirectory, className.replace('.', File.separatorChar) + ".class")
+               .length();
+  }
+}
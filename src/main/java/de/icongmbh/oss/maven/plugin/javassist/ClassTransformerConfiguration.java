@@ -16,7 +16,11 @@
 
 package de.icongmbh.oss.maven.plugin.javassist;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Properties;
+import java.util.TreeSet;
 
 import org.apache.maven.plugins.annotations.Parameter;
 
@@ -116,4 +120,32 @@ public class ClassTransformerConfiguration {
   public void setProperties(final Properties properties) {
     this.properties = (null == properties) ? new Properties() : (Properties)properties.clone();
   }
+
+  /**
+   * Returns a fingerprint of the class name and the properties, which changes with any change of
+   * this configuration.
+   *
+   * @return hex encoded SHA-256 digest and never {@code null}
+   * @since 2.1.0
+   */
+  public String getFingerprint() {
+    final Properties configuredProperties = getProperties();
+    final StringBuilder content = new StringBuilder(String.valueOf(className).trim());
+    for (final String name : new TreeSet<>(configuredProperties.stringPropertyNames())) {
+      content.append('\n').append(name).append('=')
+        .append(configuredProperties.getProperty(name));
+    }
+    try {
+      final byte[] digest = MessageDigest.getInstance("SHA-256")
+        .digest(content.toString().getBytes(StandardCharsets.UTF_8));
+      final StringBuilder fingerprint = new StringBuilder(digest.length * 2);
+      for (final byte value : digest) {
+        fingerprint.append(Character.forDigit((value >> 4) & 0xF, 16));
+        fingerprint.append(Character.forDigit(value & 0xF, 16));
+      }
+      return fingerprint.toString();
+    } catch (final NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e.getMessage(), e);
+    }
+  }
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.codehaus.plexus.util.Scanner;
+import org.sonatype.plexus.build.incremental.BuildContext;
+
+/**
+ * Provides the names of the classes compiled by the last incremental build.
+ *
+ * <p>
+ * The maven-compiler-plugin lists the class files it created in {@value #CREATED_FILES} in a
+ * directory per execution below {@code maven-status/maven-compiler-plugin/compile} respectively
+ * {@code testCompile} of the build directory. An IDE like Eclipse provides the changed files by
+ * its {@link BuildContext} instead.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+final class CompiledClassnames {
+
+  /**
+   * Name of the file listing the class files created by the maven-compiler-plugin.
+   */
+  static final String CREATED_FILES = "createdFiles.lst";
+
+  private static final String CLASS_FILE_SUFFIX = ".class";
+
+  private CompiledClassnames() {
+    // private constructor for utility class
+  }
+
+  /**
+   * Reads the classes created by all executions of the maven-compiler-plugin.
+   *
+   * @param statusDirectory the status directory of the compile or testCompile goal, e.g.
+   *         {@code target/maven-status/maven-compiler-plugin/compile}, and must not be
+   *         {@code null}
+   * @param classDirectory directory of the compiled classes and must not be {@code null}
+   *
+   * @return full qualified names of the still existing classes or {@code null} if no execution
+   *         listed its created files
+   *
+   * @throws IOException if a list could not be read
+   */
+  static List<String> readCreatedClassnames(final File statusDirectory,
+                                            final File classDirectory) throws IOException {
+    final File[] executionDirectories = statusDirectory.listFiles(File::isDirectory);
+    List<String> classFiles = null;
+    for (final File executionDirectory : null == executionDirectories ? new File[0]
+            : executionDirectories) {
+      final File createdFiles = new File(executionDirectory, CREATED_FILES);
+      if (!createdFiles.isFile()) {
+        continue;
+      }
+      if (null == classFiles) {
+        classFiles = new ArrayList<>();
+      }
+      for (final String line : Files.readAllLines(createdFiles.toPath(),
+                                                  StandardCharsets.UTF_8)) {
+        addClassFile(classFiles, classDirectory, line.trim());
+      }
+    }
+    return null == classFiles ? null
+            : ClassnameExtractor.listClassnames(classDirectory,
+                                                classFiles.toArray(new String[classFiles.size()]));
+  }
+
+  /**
+   * Scans the classes changed since the last incremental build of the passed build context.
+   *
+   * @param buildContext must not be {@code null}
+   * @param classDirectory directory of the compiled classes and must not be {@code null}
+   *
+   * @return full qualified names of the changed classes or {@code null} if the build is not
+   *         incremental
+   *
+   * @throws IOException if a class file name could not be resolved
+   */
+  static List<String> scanChangedClassnames(final BuildContext buildContext,
+                                            final File classDirectory) throws IOException {
+    if (!buildContext.isIncremental()) {
+      return null;
+    }
+    final Scanner scanner = buildContext.newScanner(classDirectory);
+    scanner.setIncludes(new String[] {"**/*" + CLASS_FILE_SUFFIX});
+    scanner.scan();
+    final String[] includedFiles = scanner.getIncludedFiles();
+    return ClassnameExtractor.listClassnames(classDirectory,
+                                             null == includedFiles ? new String[0]
+                                                     : includedFiles);
+  }
+
+  private static void addClassFile(final List<String> classFiles,
+                                   final File classDirectory,
+                                   final String classFile) {
+    if (classFile.endsWith(CLASS_FILE_SUFFIX) && new File(classDirectory, classFile).isFile()) {
+      classFiles.add(classFile);
+    }
+  }
+}
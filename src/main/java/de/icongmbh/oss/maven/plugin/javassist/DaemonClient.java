@@ -0,0 +1,159 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ProcessBuilder.Redirect;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Forwards transformations to the {@link TransformationDaemon} of a state directory and starts the
+ * daemon if none is running.
+ *
+ * @since 2.1.0
+ */
+final class DaemonClient {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(DaemonClient.class);
+
+  private static final long START_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30L);
+
+  private static final long START_POLL_MILLIS = 50L;
+
+  private final File stateDirectory;
+
+  private final List<File> daemonClassPath;
+
+  private final long idleMinutes;
+
+  /**
+   * Creates a client.
+   *
+   * @param stateDirectory directory of the {@value TransformationDaemon#STATE_FILE_NAME} and
+   *         must not be {@code null}
+   * @param daemonClassPath class path of a started daemon and must not be {@code null}
+   * @param idleMinutes time without request after that a started daemon stops
+   */
+  DaemonClient(final File stateDirectory,
+               final List<File> daemonClassPath,
+               final long idleMinutes) {
+    this.stateDirectory = stateDirectory;
+    this.daemonClassPath = new ArrayList<>(daemonClassPath);
+    this.idleMinutes = idleMinutes;
+  }
+
+  /**
+   * Forwards the passed request to the running daemon or to a started one.
+   *
+   * @param request must not be {@code null}
+   *
+   * @return number of transformed classes
+   *
+   * @throws IOException if the daemon could not be reached or the transformation failed
+   */
+  int transform(final DaemonRequest request) throws IOException {
+    Properties state = TransformationDaemon.readState(stateFile());
+    Socket socket = connect(state);
+    if (null == socket) {
+      state = start();
+      socket = connect(state);
+      if (null == socket) {
+        throw new IOException("Transformation daemon not reachable");
+      }
+    }
+    try {
+      final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+              socket.getOutputStream()));
+      final byte[] token = state.getProperty(TransformationDaemon.TOKEN_PROPERTY_NAME, "")
+          .getBytes(StandardCharsets.US_ASCII);
+      out.writeInt(token.length);
+      out.write(token);
+      request.write(out);
+      out.flush();
+      final DataInputStream in = new DataInputStream(new BufferedInputStream(
+              socket.getInputStream()));
+      return DaemonRequest.readResponse(in);
+    } finally {
+      socket.close();
+    }
+  }
+
+  private File stateFile() {
+    return new File(stateDirectory, TransformationDaemon.STATE_FILE_NAME);
+  }
+
+  private static Socket connect(final Properties state) {
+    if (null == state) {
+      return null;
+    }
+    try {
+      final int port = Integer.parseInt(state.getProperty(TransformationDaemon.PORT_PROPERTY_NAME,
+                                                          "-1"));
+      return new Socket(InetAddress.getLoopbackAddress(), port);
+    } catch (final IOException | IllegalArgumentException e) {
+      // stopped daemon
+      return null;
+    }
+  }
+
+  private Properties start() throws IOException {
+    final File stateFile = stateFile();
+    Files.deleteIfExists(stateFile.toPath());
+    Files.createDirectories(stateDirectory.toPath());
+    final String classPath = ForkClient.joinClassPath(daemonClassPath);
+    final ProcessBuilder processBuilder = new ProcessBuilder(ForkClient.javaExecutable(),
+                                                             "-cp",
+                                                             classPath,
+                                                             TransformationDaemon.class.getName(),
+                                                             stateDirectory.getAbsolutePath(),
+                                                             String.valueOf(idleMinutes));
+    processBuilder.redirectErrorStream(true);
+    processBuilder.redirectOutput(Redirect.appendTo(new File(stateDirectory, "daemon.log")));
+    final Process process = processBuilder.start();
+    LOGGER.info("Transformation daemon started in {}", stateDirectory);
+    final long deadline = System.currentTimeMillis() + START_TIMEOUT_MILLIS;
+    while (System.currentTimeMillis() < deadline && process.isAlive()) {
+      final Properties state = TransformationDaemon.readState(stateFile);
+      if (null != state) {
+        return state;
+      }
+      try {
+        Thread.sleep(START_POLL_MILLIS);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+    throw new IOException("Transformation daemon not started, see "
+                          + new File(stateDirectory, "daemon.log"));
+  }
+}
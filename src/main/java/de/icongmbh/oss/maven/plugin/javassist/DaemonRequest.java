@@ -0,0 +1,350 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Transformation forwarded to the {@link TransformationDaemon}.
+ *
+ * <p>
+ * The request is written as plain strings and numbers, no object is deserialized. A string or a
+ * list longer than {@value #MAX_LENGTH} is rejected.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+final class DaemonRequest {
+
+  /**
+   * Maximum length of a string in bytes and of a list in elements.
+   */
+  static final int MAX_LENGTH = 16 * 1024 * 1024;
+
+  private final String projectId;
+
+  private final List<String> classPath;
+
+  private final List<ClassTransformerConfiguration> transformers;
+
+  private final List<String> inputDirectories;
+
+  private final List<List<String>> classNames;
+
+  private final List<String> dependencyIndexFiles;
+
+  private final List<String> outputDirectories;
+
+  private final List<String> pristineClassDirectories;
+
+  private final String projectBasedir;
+
+  private final long memoryBudget;
+
+  /**
+   * Creates a request transforming the input directories in place.
+   *
+   * @param projectId identifies the project and must not be {@code null}
+   * @param classPath class path of the project including the input directories and must not
+   *         be {@code null}
+   * @param transformers must not be {@code null}
+   * @param inputDirectories the directories to transform in place and must not be
+   *         {@code null}
+   * @param classNames the classes to transform per input directory, a {@code null} element to
+   *         transform all classes of the directory, and must not be {@code null}
+   * @param dependencyIndexFiles the {@link ClassDependencyIndex} file per input directory, a
+   *         {@code null} element for none, and must not be {@code null}
+   * @param memoryBudget see {@link JavassistTransformerExecutor#setMemoryBudget(long)}
+   */
+  DaemonRequest(final String projectId,
+                final List<String> classPath,
+                final List<ClassTransformerConfiguration> transformers,
+                final List<String> inputDirectories,
+                final List<List<String>> classNames,
+                final List<String> dependencyIndexFiles,
+                final long memoryBudget) {
+    this(projectId,
+         classPath,
+         transformers,
+         inputDirectories,
+         classNames,
+         dependencyIndexFiles,
+         Collections.<String>nCopies(inputDirectories.size(), null),
+         Collections.<String>nCopies(inputDirectories.size(), null),
+         null,
+         memoryBudget);
+  }
+
+  /**
+   * Creates a request.
+   *
+   * @param projectId identifies the project and must not be {@code null}
+   * @param classPath class path of the project including the input directories and must not
+   *         be {@code null}
+   * @param transformers must not be {@code null}
+   * @param inputDirectories the directories to transform in place and must not be
+   *         {@code null}
+   * @param classNames the classes to transform per input directory, a {@code null} element to
+   *         transform all classes of the directory, and must not be {@code null}
+   * @param dependencyIndexFiles the {@link ClassDependencyIndex} file per input directory, a
+   *         {@code null} element for none, and must not be {@code null}
+   * @param outputDirectories the directory the transformed classes are written to per input
+   *         directory, a {@code null} element to transform in place, and must not be {@code null}
+   * @param pristineClassDirectories the directory of the {@link PristineClassStore} per input
+   *         directory, a {@code null} element for none, and must not be {@code null}
+   * @param projectBasedir passed to the {@link ProjectBasedirAware} transformers and maybe
+   *         {@code null}
+   * @param memoryBudget see {@link JavassistTransformerExecutor#setMemoryBudget(long)}
+   */
+  DaemonRequest(final String projectId,
+                final List<String> classPath,
+                final List<ClassTransformerConfiguration> transformers,
+                final List<String> inputDirectories,
+                final List<List<String>> classNames,
+                final List<String> dependencyIndexFiles,
+                final List<String> outputDirectories,
+                final List<String> pristineClassDirectories,
+                final String projectBasedir,
+                final long memoryBudget) {
+    this.projectId = projectId;
+    this.classPath = classPath;
+    this.transformers = transformers;
+    this.inputDirectories = inputDirectories;
+    this.classNames = classNames;
+    this.dependencyIndexFiles = dependencyIndexFiles;
+    this.outputDirectories = outputDirectories;
+    this.pristineClassDirectories = pristineClassDirectories;
+    this.projectBasedir = projectBasedir;
+    this.memoryBudget = memoryBudget;
+  }
+
+  String getProjectId() {
+    return projectId;
+  }
+
+  List<String> getClassPath() {
+    return Collections.unmodifiableList(classPath);
+  }
+
+  List<ClassTransformerConfiguration> getTransformers() {
+    return Collections.unmodifiableList(transformers);
+  }
+
+  List<String> getInputDirectories() {
+    return Collections.unmodifiableList(inputDirectories);
+  }
+
+  List<List<String>> getClassNames() {
+    return Collections.unmodifiableList(classNames);
+  }
+
+  List<String> getDependencyIndexFiles() {
+    return Collections.unmodifiableList(dependencyIndexFiles);
+  }
+
+  List<String> getOutputDirectories() {
+    return Collections.unmodifiableList(outputDirectories);
+  }
+
+  List<String> getPristineClassDirectories() {
+    return Collections.unmodifiableList(pristineClassDirectories);
+  }
+
+  // maybe null
+  String getProjectBasedir() {
+    return projectBasedir;
+  }
+
+  long getMemoryBudget() {
+    return memoryBudget;
+  }
+
+  void write(final DataOutputStream out) throws IOException {
+    writeString(out, projectId);
+    writeStrings(out, classPath);
+    out.writeInt(transformers.size());
+    for (final ClassTransformerConfiguration transformer : transformers) {
+      writeString(out, transformer.getClassName());
+      final Properties properties = transformer.getProperties();
+      final List<String> names = new ArrayList<>(properties.stringPropertyNames());
+      out.writeInt(names.size());
+      for (final String name : names) {
+        writeString(out, name);
+        writeString(out, properties.getProperty(name));
+      }
+    }
+    writeStrings(out, inputDirectories);
+    out.writeInt(classNames.size());
+    for (final List<String> directoryClassNames : classNames) {
+      out.writeBoolean(null != directoryClassNames);
+      if (null != directoryClassNames) {
+        writeStrings(out, directoryClassNames);
+      }
+    }
+    writeOptionalStrings(out, dependencyIndexFiles);
+    writeOptionalStrings(out, outputDirectories);
+    writeOptionalStrings(out, pristineClassDirectories);
+    out.writeBoolean(null != projectBasedir);
+    if (null != projectBasedir) {
+      writeString(out, projectBasedir);
+    }
+    out.writeLong(memoryBudget);
+  }
+
+  static DaemonRequest read(final DataInputStream in) throws IOException {
+    final String projectId = readString(in);
+    final List<String> classPath = readStrings(in);
+    final int transformerCount = readLength(in);
+    final List<ClassTransformerConfiguration> transformers = new ArrayList<>(
+            Math.min(transformerCount, 1024));
+    for (int index = 0; index < transformerCount; ++index) {
+      final ClassTransformerConfiguration transformer = new ClassTransformerConfiguration();
+      transformer.setClassName(readString(in));
+      final Properties properties = new Properties();
+      final int propertyCount = readLength(in);
+      for (int property = 0; property < propertyCount; ++property) {
+        properties.setProperty(readString(in), readString(in));
+      }
+      transformer.setProperties(properties);
+      transformers.add(transformer);
+    }
+    final List<String> inputDirectories = readStrings(in);
+    final int directoryCount = readLength(in);
+    final List<List<String>> classNames = new ArrayList<>(Math.min(directoryCount, 1024));
+    for (int index = 0; index < directoryCount; ++index) {
+      classNames.add(in.readBoolean() ? readStrings(in) : null);
+    }
+    final List<String> dependencyIndexFiles = readOptionalStrings(in);
+    final List<String> outputDirectories = readOptionalStrings(in);
+    final List<String> pristineClassDirectories = readOptionalStrings(in);
+    final String projectBasedir = in.readBoolean() ? readString(in) : null;
+    return new DaemonRequest(projectId,
+                             classPath,
+                             transformers,
+                             inputDirectories,
+                             classNames,
+                             dependencyIndexFiles,
+                             outputDirectories,
+                             pristineClassDirectories,
+                             projectBasedir,
+                             in.readLong());
+  }
+
+  /**
+   * Writes the result of a request.
+   *
+   * @param out must not be {@code null}
+   * @param successful whether or not the transformation succeeded
+   * @param transformedClasses number of transformed classes
+   * @param message the failure and never {@code null}
+   *
+   * @throws IOException if the result could not be written
+   */
+  static void writeResponse(final DataOutputStream out,
+                            final boolean successful,
+                            final int transformedClasses,
+                            final String message) throws IOException {
+    out.writeBoolean(successful);
+    out.writeInt(transformedClasses);
+    writeString(out, message);
+  }
+
+  /**
+   * Reads the result written by {@link #writeResponse(DataOutputStream, boolean, int, String)}.
+   *
+   * @param in must not be {@code null}
+   *
+   * @return number of transformed classes
+   *
+   * @throws IOException if the result could not be read or the transformation failed
+   */
+  static int readResponse(final DataInputStream in) throws IOException {
+    final boolean successful = in.readBoolean();
+    final int transformedClasses = in.readInt();
+    final String message = readString(in);
+    if (!successful) {
+      throw new IOException("Transformation failed: " + message);
+    }
+    return transformedClasses;
+  }
+
+  static void writeString(final DataOutputStream out, final String value) throws IOException {
+    final byte[] bytes = String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  static String readString(final DataInputStream in) throws IOException {
+    final byte[] bytes = new byte[readLength(in)];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void writeStrings(final DataOutputStream out, final Collection<String> values)
+          throws IOException {
+    out.writeInt(values.size());
+    for (final String value : values) {
+      writeString(out, value);
+    }
+  }
+
+  private static List<String> readStrings(final DataInputStream in) throws IOException {
+    final int size = readLength(in);
+    final List<String> values = new ArrayList<>(Math.min(size, 1024));
+    for (int index = 0; index < size; ++index) {
+      values.add(readString(in));
+    }
+    return values;
+  }
+
+  private static void writeOptionalStrings(final DataOutputStream out,
+                                           final Collection<String> values)
+          throws IOException {
+    out.writeInt(values.size());
+    for (final String value : values) {
+      out.writeBoolean(null != value);
+      if (null != value) {
+        writeString(out, value);
+      }
+    }
+  }
+
+  private static List<String> readOptionalStrings(final DataInputStream in) throws IOException {
+    final int size = readLength(in);
+    final List<String> values = new ArrayList<>(Math.min(size, 1024));
+    for (int index = 0; index < size; ++index) {
+      values.add(in.readBoolean() ? readString(in) : null);
+    }
+    return values;
+  }
+
+  private static int readLength(final DataInputStream in) throws IOException {
+    final int length = in.readInt();
+    if (length < 0 || length > MAX_LENGTH) {
+      throw new IOException("Invalid length " + length);
+    }
+    return length;
+  }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import javassist.CannotCompileException;
+import javassist.CtClass;
+import javassist.build.JavassistBuildException;
+import javassist.expr.Cast;
+import javassist.expr.Expr;
+import javassist.expr.ExprEditor;
+import javassist.expr.FieldAccess;
+import javassist.expr.Handler;
+import javassist.expr.MethodCall;
+import javassist.expr.NewExpr;
+
+/**
+ * Base class for class transformation logic that edits expressions inside method bodies.
+ *
+ * <p>
+ * Implementations contribute callbacks for the expressions they are interested in instead of
+ * calling {@link CtClass#instrument(ExprEditor)} on their own. Consecutive configured instances
+ * of different classes are merged by the {@link JavassistTransformerExecutor}: each method body is
+ * walked only once per class and each expression is passed to all transformers that accepted the
+ * class (see {@link #shouldTransform(CtClass)}), in order of configuration, until one of them has
+ * replaced it. Implementations therefore replace an expression by {@link #replace(Expr, String)} or
+ * call {@link #setEdited()} after editing it otherwise, e.g. by the
+ * {@link MethodCallReplacementCache}.
+ * </p>
+ * <p>
+ * Unlike separately applied transformers, a merged transformer does not see the code a previous
+ * transformer has replaced an expression with, neither the original expression nor the
+ * expressions inside the replacement. Configure another kind of transformer in between to apply
+ * transformers one after the other.
+ * </p>
+ *
+ * @see ExprEditor
+ * @since 2.1.0
+ */
+public abstract class ExprEditorClassTransformer extends ClassTransformer {
+
+  private boolean edited;
+
+  /**
+   * Edits a method call expression.
+   *
+   * @param methodCall never {@code null}
+   *
+   * @throws CannotCompileException if the replacement could not be compiled
+   * @see ExprEditor#edit(MethodCall)
+   */
+  public void edit(final MethodCall methodCall) throws CannotCompileException {
+    //
+  }
+
+  /**
+   * Edits a field access expression.
+   *
+   * @param fieldAccess never {@code null}
+   *
+   * @throws CannotCompileException if the replacement could not be compiled
+   * @see ExprEditor#edit(FieldAccess)
+   */
+  public void edit(final FieldAccess fieldAccess) throws CannotCompileException {
+    //
+  }
+
+  /**
+   * Edits an object creation expression.
+   *
+   * @param newExpr never {@code null}
+   *
+   * @throws CannotCompileException if the replacement could not be compiled
+   * @see ExprEditor#edit(NewExpr)
+   */
+  public void edit(final NewExpr newExpr) throws CannotCompileException {
+    //
+  }
+
+  /**
+   * Edits a cast expression.
+   *
+   * @param cast never {@code null}
+   *
+   * @throws CannotCompileException if the replacement could not be compiled
+   * @see ExprEditor#edit(Cast)
+   */
+  public void edit(final Cast cast) throws CannotCompileException {
+    //
+  }
+
+  /**
+   * Edits a catch clause.
+   *
+   * @param handler never {@code null}
+   *
+   * @throws CannotCompileException if the replacement could not be compiled
+   * @see ExprEditor#edit(Handler)
+   */
+  public void edit(final Handler handler) throws CannotCompileException {
+    //
+  }
+
+  /**
+   * Replaces the passed expression by the passed statement and records the edit.
+   *
+   * @param expr the expression passed to one of the {@code edit} methods and never {@code null}
+   * @param statement the Javassist source of the replacement and never {@code null}
+   *
+   * @throws CannotCompileException if the replacement could not be compiled
+   * @see Expr#replace(String)
+   * @see #setEdited()
+   */
+  protected final void replace(final Expr expr, final String statement)
+          throws CannotCompileException {
+    expr.replace(statement);
+    edited = true;
+  }
+
+  /**
+   * Records that the expression currently passed to one of the {@code edit} methods is edited, so
+   * it is not passed to the following merged transformers.
+   */
+  protected final void setEdited() {
+    edited = true;
+  }
+
+  /**
+   * Indicates whether the expression last passed to one of the {@code edit} methods is edited and
+   * resets the indication.
+   *
+   * @return {@code true} if {@link #replace(Expr, String)} or {@link #setEdited()} was called
+   */
+  final boolean clearEdited() {
+    final boolean wasEdited = edited;
+    edited = false;
+    return wasEdited;
+  }
+
+  /**
+   * Called after all expressions of the passed class have been dispatched to this instance.
+   *
+   * @param transformedClass never {@code null}
+   *
+   * @throws JavassistBuildException if the transformation could not be completed
+   */
+  public void afterInstrument(final CtClass transformedClass) throws JavassistBuildException {
+    //
+  }
+
+  /**
+   * Walks all method bodies of the passed class and dispatches each expression to this instance.
+   *
+   * <p>
+   * This method is only used if this transformer is not merged with other instances of
+   * {@link ExprEditorClassTransformer} by the {@link JavassistTransformerExecutor}.
+   * </p>
+   *
+   * @param classToTransform maybe {@code null}
+   *
+   * @throws JavassistBuildException if the instrumentation failed
+   * @see #afterInstrument(CtClass)
+   */
+  @Override
+  public void applyTransformations(final CtClass classToTransform) throws JavassistBuildException {
+    if (null == classToTransform) {
+      return;
+    }
+    try {
+      classToTransform.instrument(new ExprEditorDispatcher(this));
+    } catch (final CannotCompileException e) {
+      throw new JavassistBuildException(e);
+    }
+    afterInstrument(classToTransform);
+  }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import javassist.CannotCompileException;
+import javassist.expr.Cast;
+import javassist.expr.ExprEditor;
+import javassist.expr.FieldAccess;
+import javassist.expr.Handler;
+import javassist.expr.MethodCall;
+import javassist.expr.NewExpr;
+
+/**
+ * {@link ExprEditor} that dispatches each expression to one or more
+ * {@link ExprEditorClassTransformer} instances.
+ *
+ * <p>
+ * The expression is passed to the transformers in order until one of them reports it as edited,
+ * see {@link ExprEditorClassTransformer#setEdited()}; an edited expression must not be edited
+ * again.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+final class ExprEditorDispatcher extends ExprEditor {
+
+  private final ExprEditorClassTransformer[] transformers;
+
+  ExprEditorDispatcher(final ExprEditorClassTransformer... transformers) {
+    this.transformers = transformers;
+  }
+
+  @Override
+  public void edit(final MethodCall methodCall) throws CannotCompileException {
+    for (final ExprEditorClassTransformer transformer : transformers) {
+      transformer.clearEdited();
+      transformer.edit(methodCall);
+      if (transformer.clearEdited()) {
+        return;
+      }
+    }
+  }
+
+  @Override
+  public void edit(final FieldAccess fieldAccess) throws CannotCompileException {
+    for (final ExprEditorClassTransformer transformer : transformers) {
+      transformer.clearEdited();
+      transformer.edit(fieldAccess);
+      if (transformer.clearEdited()) {
+        return;
+      }
+    }
+  }
+
+  @Override
+  public void edit(final NewExpr newExpr) throws CannotCompileException {
+    for (final ExprEditorClassTransformer transformer : transformers) {
+      transformer.clearEdited();
+      transformer.edit(newExpr);
+      if (transformer.clearEdited()) {
+        return;
+      }
+    }
+  }
+
+  @Override
+  public void edit(final Cast cast) throws CannotCompileException {
+    for (final ExprEditorClassTransformer transformer : transformers) {
+      transformer.clearEdited();
+      transformer.edit(cast);
+      if (transformer.clearEdited()) {
+        return;
+      }
+    }
+  }
+
+  @Override
+  public void edit(final Handler handler) throws CannotCompileException {
+    for (final ExprEditorClassTransformer transformer : transformers) {
+      transformer.clearEdited();
+      transformer.edit(handler);
+      if (transformer.clearEdited()) {
+        return;
+      }
+    }
+  }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javassist.CannotCompileException;
+import javassist.CtClass;
+import javassist.build.IClassTransformer;
+import javassist.build.JavassistBuildException;
+
+/**
+ * Merges several {@link ExprEditorClassTransformer} instances into one
+ * {@link IClassTransformer}, so each class is instrumented only once.
+ *
+ * <p>
+ * The stamp of each transformer is still checked and applied separately by the
+ * {@link JavassistTransformerExecutor}; see {@link #getTransformers()} and
+ * {@link #getAcceptedTransformers()}.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+final class ExprEditorTransformerChain implements IClassTransformer {
+
+  private static final ExprEditorClassTransformer[] NONE = new ExprEditorClassTransformer[0];
+
+  private final JavassistTransformerExecutor executor;
+
+  private final ExprEditorClassTransformer[] transformers;
+
+  private ExprEditorClassTransformer[] acceptedTransformers = NONE;
+
+  /**
+   * Creates a chain of the passed transformers.
+   *
+   * @param executor used to check the stamps of each transformer and must not be {@code null}
+   * @param transformers must not be {@code null} or contain {@code null} elements
+   */
+  ExprEditorTransformerChain(final JavassistTransformerExecutor executor,
+                             final List<ExprEditorClassTransformer> transformers) {
+    this.executor = executor;
+    this.transformers = transformers.toArray(new ExprEditorClassTransformer[transformers.size()]);
+  }
+
+  /**
+   * Returns all transformers of this chain.
+   *
+   * @return never {@code null}
+   */
+  ExprEditorClassTransformer[] getTransformers() {
+    return transformers;
+  }
+
+  /**
+   * Returns the transformers that accepted the class passed to the last call of
+   * {@link #shouldTransform(CtClass)}.
+   *
+   * @return never {@code null} but maybe empty
+   */
+  ExprEditorClassTransformer[] getAcceptedTransformers() {
+    return acceptedTransformers;
+  }
+
+  /**
+   * Selects all transformers of this chain that have not stamped the passed class and should
+   * transform it.
+   *
+   * @param candidateClass must not be {@code null}
+   *
+   * @return {@code true} if at least one transformer accepted the class
+   *
+   * @throws JavassistBuildException by {@link IClassTransformer#shouldTransform(CtClass)}
+   */
+  @Override
+  public boolean shouldTransform(final CtClass candidateClass) throws JavassistBuildException {
+    final List<ExprEditorClassTransformer> accepted = new ArrayList<>(transformers.length);
+    for (final ExprEditorClassTransformer transformer : transformers) {
+      if (!executor.hasStamp(transformer, candidateClass)
+          && transformer.shouldTransform(candidateClass)) {
+        accepted.add(transformer);
+      }
+    }
+    acceptedTransformers = accepted.isEmpty() ? NONE
+            : accepted.toArray(new ExprEditorClassTransformer[accepted.size()]);
+    return acceptedTransformers.length > 0;
+  }
+
+  /**
+   * Walks all method bodies of the passed class once and dispatches each expression to the
+   * accepted transformers.
+   *
+   * @param classToTransform must not be {@code null}
+   *
+   * @throws JavassistBuildException if the instrumentation failed
+   */
+  @Override
+  public void applyTransformations(final CtClass classToTransform) throws JavassistBuildException {
+    try {
+      classToTransform.instrument(new ExprEditorDispatcher(acceptedTransformers));
+    } catch (final CannotCompileException e) {
+      throw new JavassistBuildException(e);
+    }
+    for (final ExprEditorClassTransformer transformer : acceptedTransformers) {
+      transformer.afterInstrument(classToTransform);
+    }
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder names = new StringBuilder();
+    for (final ExprEditorClassTransformer transformer : transformers) {
+      if (names.length() > 0) {
+        names.append(", ");
+      }
+      names.append(transformer.getClass().getName());
+    }
+    return names.toString();
+  }
+
+}
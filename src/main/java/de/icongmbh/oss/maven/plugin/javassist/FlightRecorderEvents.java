@@ -0,0 +1,195 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.ParseException;
+
+import jdk.jfr.Category;
+import jdk.jfr.Configuration;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+
+/**
+ * Java Flight Recorder events of the phases of a transformation.
+ *
+ * <p>
+ * Must only be used if {@link FlightRecorderSupport#isAvailable()}.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+final class FlightRecorderEvents {
+
+  private static final String CATEGORY = "Javassist Maven Plugin";
+
+  private static final String NAME_PREFIX = "de.icongmbh.javassist.";
+
+  private static final String[] EVENT_NAMES = {NAME_PREFIX + "ClassDiscovery",
+    NAME_PREFIX + "ClassPoolGet", NAME_PREFIX + "InitializeClass", NAME_PREFIX + "ShouldTransform",
+    NAME_PREFIX + "ApplyTransformations", NAME_PREFIX + "Stamping", NAME_PREFIX + "WriteFile"};
+
+  private FlightRecorderEvents() {
+    // static only
+  }
+
+  static boolean isAvailable() {
+    return FlightRecorder.isAvailable();
+  }
+
+  static boolean isRecording() {
+    return FlightRecorder.isInitialized()
+           && !FlightRecorder.getFlightRecorder().getRecordings().isEmpty();
+  }
+
+  /**
+   * Creates and begins the event of the passed phase.
+   *
+   * @param phase must not be {@code null}
+   * @param transformerName maybe {@code null}
+   *
+   * @return never {@code null}
+   *
+   * @throws IllegalArgumentException if no event exists for the passed phase
+   */
+  static Object begin(final TransformationPhase phase, final String transformerName) {
+    final TransformationEvent event;
+    switch (phase) {
+      case SCANNING:
+        event = new ClassDiscoveryEvent();
+        break;
+      case CLASS_POOL_GET:
+        event = new ClassPoolGetEvent();
+        break;
+      case INITIALIZE_CLASS:
+        event = new InitializeClassEvent();
+        break;
+      case SHOULD_TRANSFORM:
+        event = new ShouldTransformEvent();
+        break;
+      case APPLY_TRANSFORMATIONS:
+        event = new ApplyTransformationsEvent();
+        break;
+      case STAMPING:
+        event = new StampingEvent();
+        break;
+      case WRITE_FILE:
+        event = new WriteFileEvent();
+        break;
+      default:
+        throw new IllegalArgumentException("No event for the phase " + phase);
+    }
+    event.transformer = transformerName;
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Ends and commits the passed event.
+   *
+   * @param event returned by {@link #begin(TransformationPhase, String)} and must not be
+   *         {@code null}
+   * @param className maybe {@code null}
+   */
+  static void commit(final Object event, final String className) {
+    final TransformationEvent transformationEvent = (TransformationEvent)event;
+    transformationEvent.end();
+    if (transformationEvent.shouldCommit()) {
+      transformationEvent.className = className;
+      transformationEvent.commit();
+    }
+  }
+
+  static Object startRecording(final String name) {
+    Recording recording;
+    try {
+      recording = new Recording(Configuration.getConfiguration("default"));
+    } catch (final IOException | ParseException e) {
+      recording = new Recording();
+    }
+    recording.setName(name);
+    for (final String eventName : EVENT_NAMES) {
+      recording.enable(eventName).withoutThreshold();
+    }
+    recording.start();
+    return recording;
+  }
+
+  static void stopRecording(final Object recording, final File recordingFile) throws IOException {
+    try (Recording flightRecording = (Recording)recording) {
+      flightRecording.stop();
+      flightRecording.dump(recordingFile.toPath());
+    }
+  }
+
+  @Category(CATEGORY)
+  abstract static class TransformationEvent extends Event {
+
+    @Label("Class Name")
+    String className;
+
+    @Label("Transformer")
+    String transformer;
+  }
+
+  @Name(NAME_PREFIX + "ClassDiscovery")
+  @Label("Class Discovery")
+  @Description("Searching the next class file")
+  static final class ClassDiscoveryEvent extends TransformationEvent {
+  }
+
+  @Name(NAME_PREFIX + "ClassPoolGet")
+  @Label("ClassPool Resolution")
+  @Description("Loading a class by ClassPool.get")
+  static final class ClassPoolGetEvent extends TransformationEvent {
+  }
+
+  @Name(NAME_PREFIX + "InitializeClass")
+  @Label("Initialize Class")
+  @Description("Checking the supertypes are on the class path before the transformation")
+  static final class InitializeClassEvent extends TransformationEvent {
+  }
+
+  @Name(NAME_PREFIX + "ShouldTransform")
+  @Label("Should Transform")
+  @Description("Checking the stamp and IClassTransformer.shouldTransform")
+  static final class ShouldTransformEvent extends TransformationEvent {
+  }
+
+  @Name(NAME_PREFIX + "ApplyTransformations")
+  @Label("Apply Transformations")
+  @Description("IClassTransformer.applyTransformations")
+  static final class ApplyTransformationsEvent extends TransformationEvent {
+  }
+
+  @Name(NAME_PREFIX + "Stamping")
+  @Label("Stamping")
+  @Description("Applying the stamp to the class and its modified nested classes")
+  static final class StampingEvent extends TransformationEvent {
+  }
+
+  @Name(NAME_PREFIX + "WriteFile")
+  @Label("Write Class File")
+  @Description("Writing the class and its modified nested classes")
+  static final class WriteFileEvent extends TransformationEvent {
+  }
+}
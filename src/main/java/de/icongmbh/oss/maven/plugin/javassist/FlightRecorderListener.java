@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist;
+
+/**
+ * Emits a Java Flight Recorder event per {@link TransformationPhase}.
+ *
+ * <p>
+ * Must only be used if {@link FlightRecorderSupport#isAvailable()}.
+ * </p>
+ *
+ * @see FlightRecorderEvents
+ * @since 2.1.0
+ */
+final class FlightRecorderListener implements TransformationListener {
+
+  private String transformerName;
+
+  private Object event;
+
+  @Override
+  public void transformerStarted(final String name, final String inputDirectory) {
+    transformerName = name;
+  }
+
+  @Override
+  public void phaseStarted(final TransformationPhase phase, final String className) {
+    event = FlightRecorderEvents.begin(phase, transformerName);
+  }
+
+  @Override
+  public void phaseFinished(final TransformationPhase phase,
+                            final String className,
+                            final long nanos) {
+    // the last scanning phase finds no class anymore
+    if (null != event && null != className) {
+      FlightRecorderEvents.commit(event, className);
+    }
+    event = null;
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Guards the access to the Java Flight Recorder API.
+ *
+ * <p>
+ * The API ({@code jdk.jfr}) is not available on all Java 8 runtimes. This class does not reference
+ * it, so it can be loaded on each runtime; {@link FlightRecorderEvents} is only used if
+ * {@link #isAvailable()}.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+final class FlightRecorderSupport {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(FlightRecorderSupport.class);
+
+  private static final boolean AVAILABLE = lookupFlightRecorder();
+
+  private FlightRecorderSupport() {
+    // static only
+  }
+
+  /**
+   * Indicates whether the Java Flight Recorder API is available on this runtime.
+   *
+   * @return {@code true} if the API is available
+   */
+  static boolean isAvailable() {
+    return AVAILABLE;
+  }
+
+  /**
+   * Indicates whether at least one flight recording is running, so events should be emitted.
+   *
+   * @return {@code false} if the API is not available or no recording is running
+   */
+  static boolean isRecording() {
+    return AVAILABLE && FlightRecorderEvents.isRecording();
+  }
+
+  /**
+   * Starts a recording of the plugin events and the default JVM events.
+   *
+   * @param name name of the recording and must not be {@code null}
+   *
+   * @return the recording or {@code null} if the API is not available
+   */
+  static Object startRecording(final String name) {
+    if (!AVAILABLE) {
+      LOGGER.warn("Java Flight Recorder is not available on this runtime; nothing recorded.");
+      return null;
+    }
+    return FlightRecorderEvents.startRecording(name);
+  }
+
+  /**
+   * Stops the passed recording and dumps it to the passed file.
+   *
+   * @param recording returned by {@link #startRecording(String)} and maybe {@code null}
+   * @param recordingFile must not be {@code null}
+   *
+   * @throws IOException if the recording could not be written
+   */
+  static void stopRecording(final Object recording, final File recordingFile) throws IOException {
+    if (null == recording) {
+      return;
+    }
+    final File parent = recordingFile.getAbsoluteFile().getParentFile();
+    if (null != parent && !parent.isDirectory() && !parent.mkdirs()) {
+      throw new IOException("Could not create directory " + parent);
+    }
+    FlightRecorderEvents.stopRecording(recording, recordingFile);
+  }
+
+  private static boolean lookupFlightRecorder() {
+    try {
+      Class.forName("jdk.jfr.FlightRecorder", false, FlightRecorderSupport.class.getClassLoader());
+      return FlightRecorderEvents.isAvailable();
+    } catch (final ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Transforms a {@link DaemonRequest} in a forked JVM running {@link ForkedTransformation}.
+ *
+ * <p>
+ * The standard error of the forked JVM is forwarded line by line to the log of the build.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+final class ForkClient {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ForkClient.class);
+
+  private final List<File> classPath;
+
+  private final List<String> jvmArgs;
+
+  /**
+   * Creates a client.
+   *
+   * @param classPath class path of the forked JVM and must not be {@code null}
+   * @param jvmArgs further arguments of the forked JVM, e.g. {@code -Xmx4g}, and must not be
+   *         {@code null}
+   */
+  ForkClient(final List<File> classPath, final List<String> jvmArgs) {
+    this.classPath = new ArrayList<>(classPath);
+    this.jvmArgs = new ArrayList<>(jvmArgs);
+  }
+
+  /**
+   * Forks a JVM transforming the passed request and waits for its end.
+   *
+   * @param request must not be {@code null}
+   *
+   * @return number of transformed classes
+   *
+   * @throws IOException if the JVM could not be forked or the transformation failed
+   * @throws InterruptedException if the current thread is interrupted while waiting
+   */
+  int transform(final DaemonRequest request) throws IOException, InterruptedException {
+    final List<String> command = new ArrayList<>();
+    command.add(javaExecutable());
+    command.addAll(jvmArgs);
+    command.add("-cp");
+    command.add(joinClassPath(classPath));
+    command.add(ForkedTransformation.class.getName());
+    final Process process = new ProcessBuilder(command).start();
+    final Thread logForwarder = new Thread(() -> forwardLog(process), "javassist-fork-log");
+    logForwarder.setDaemon(true);
+    logForwarder.start();
+    try {
+      try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+              process.getOutputStream()))) {
+        request.write(out);
+      }
+      try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+              process.getInputStream()))) {
+        return DaemonRequest.readResponse(in);
+      }
+    } catch (final IOException e) {
+      if (process.waitFor() != 0) {
+        throw new IOException("Forked JVM exited with " + process.exitValue() + ": "
+                              + e.getMessage(), e);
+      }
+      throw e;
+    } finally {
+      process.waitFor();
+      logForwarder.join();
+    }
+  }
+
+  private static void forwardLog(final Process process) {
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+            process.getErrorStream(), Charset.defaultCharset()))) {
+      String line = reader.readLine();
+      while (null != line) {
+        LOGGER.info("{}", line);
+        line = reader.readLine();
+      }
+    } catch (final IOException e) {
+      LOGGER.warn("Log of the forked JVM lost: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Returns the {@code java} executable of the current JVM.
+   *
+   * @return never {@code null}
+   */
+  static String javaExecutable() {
+    return new File(new File(System.getProperty("java.home"), "bin"), "java").getAbsolutePath();
+  }
+
+  /**
+   * Joins the passed files by the path separator of the platform.
+   *
+   * @param classPath must not be {@code null}
+   *
+   * @return never {@code null}
+   */
+  static String joinClassPath(final List<File> classPath) {
+    final StringBuilder joined = new StringBuilder();
+    for (final File classPathElement : classPath) {
+      if (joined.length() > 0) {
+        joined.append(File.pathSeparatorChar);
+      }
+      joined.append(classPathElement.getAbsolutePath());
+    }
+    return joined.toString();
+  }
+}
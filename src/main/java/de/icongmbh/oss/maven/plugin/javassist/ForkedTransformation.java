@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Entry point of a JVM forked by {@link ForkClient} to transform one {@link DaemonRequest}.
+ *
+ * <p>
+ * The request is read from the standard input and the result is written to the standard output.
+ * Everything else, e.g. the log and the output of the transformers, goes to the standard error,
+ * which is forwarded to the log of the build.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+public final class ForkedTransformation {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ForkedTransformation.class);
+
+  private ForkedTransformation() {
+    // no instances
+  }
+
+  /**
+   * Transforms the request read from the standard input and exits.
+   *
+   * @param args not used
+   *
+   * @throws IOException if the result could not be written
+   */
+  public static void main(final String[] args) throws IOException {
+    final PrintStream resultStream = System.out;
+    System.setOut(System.err);
+    final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(resultStream));
+    int status = 0;
+    try {
+      final DaemonRequest request = DaemonRequest.read(new DataInputStream(
+              new BufferedInputStream(System.in)));
+      try (ProjectTransformation project = new ProjectTransformation(request)) {
+        DaemonRequest.writeResponse(out, true, project.transform(request), "");
+      }
+    } catch (final Exception e) {
+      LOGGER.error("Transformation failed", e);
+      DaemonRequest.writeResponse(out, false, 0, String.valueOf(e));
+      status = 1;
+    }
+    out.flush();
+    // threads started by transformers must not keep the JVM alive
+    System.exit(status);
+  }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import static java.lang.Thread.currentThread;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import javassist.build.IClassTransformer;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures the configured {@link IClassTransformer} instances on the compiled classes of the
+ * project.
+ *
+ * <p>
+ * The transformers are instantiated and configured like by the {@code javassist} goal. Each
+ * transformer runs {@link #warmupIterations} times and then {@link #measurementIterations} times
+ * in memory on all classes; nothing is written to disk. The classes per second, the allocation per
+ * class and the slowest classes are logged per transformer. Run the goal on classes not
+ * transformed before, e.g. {@code mvn compile javassist:bench}.
+ * </p>
+ *
+ * @since 2.1.0
+ * @see TransformerBenchmark
+ */
+// @formatter:off
+@Mojo(name = "bench", requiresDependencyResolution = ResolutionScope.COMPILE_PLUS_RUNTIME)
+// @formatter:on
+public class JavassistBenchMojo extends AbstractJavassistMojo {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(JavassistBenchMojo.class);
+
+  /**
+   * The number of iterations to warm up the JVM before measuring.
+   *
+   * <pre>
+   * {@code
+   * ...
+   * <configuration>
+   *   <warmupIterations>3</warmupIterations>
+   * </configuration>
+   * ...
+   * }
+   * </pre>
+   */
+  @Parameter(defaultValue = "3", property = "javassist.bench.warmupIterations", required = false)
+  private int warmupIterations;
+
+  /**
+   * The number of measured iterations.
+   *
+   * <pre>
+   * {@code
+   * ...
+   * <configuration>
+   *   <measurementIterations>5</measurementIterations>
+   * </configuration>
+   * ...
+   * }
+   * </pre>
+   */
+  // @formatter:off
+  @Parameter(defaultValue = "5", property = "javassist.bench.measurementIterations",
+             required = false)
+  // @formatter:on
+  private int measurementIterations;
+
+  /**
+   * The number of the slowest classes logged per transformer.
+   */
+  @Parameter(defaultValue = "10", property = "javassist.bench.topClasses", required = false)
+  private int topClasses;
+
+  @Override
+  public void execute() throws MojoExecutionException {
+    if (isSkip()) {
+      LOGGER.info("Skipping executing.");
+      return;
+    }
+
+    final ClassLoader originalContextClassLoader = currentThread().getContextClassLoader();
+    try {
+      final List<URL> classPath = new ArrayList<URL>();
+      for (final String runtimeResource : getProject().getRuntimeClasspathElements()) {
+        classPath.add(resolveUrl(runtimeResource));
+      }
+      final List<String> inputDirectories = new ArrayList<>();
+      inputDirectories.add(computeInputDirectory());
+      if (getIncludeTestClasses()) {
+        inputDirectories.add(computeTestInputDirectory());
+      }
+      for (final String inputDirectory : inputDirectories) {
+        classPath.add(resolveUrl(inputDirectory));
+      }
+      loadAdditionalClassPath(classPath);
+
+      final IClassTransformer[] transformers = instantiateTransformerClasses(
+              currentThread().getContextClassLoader(), getTransformerClasses());
+      final TransformerBenchmark benchmark = new TransformerBenchmark(
+              new JavassistTransformerExecutor(), warmupIterations, measurementIterations,
+              topClasses);
+      for (final IClassTransformer transformer : transformers) {
+        for (final String inputDirectory : inputDirectories) {
+          log(benchmark.run(transformer, inputDirectory));
+        }
+      }
+    } catch (final Exception e) {
+      getLog().error(e.getMessage(), e);
+      throw new MojoExecutionException(e.getMessage(), e);
+    } finally {
+      currentThread().setContextClassLoader(originalContextClassLoader);
+    }
+  }
+
+  private void log(final TransformerBenchmark.Result result) {
+    LOGGER.info("{} on {}", result.getTransformerName(), result.getInputDirectory());
+    LOGGER.info("  {} classes: {} transformed, {} stamped, {} failed",
+                result.getClasses(),
+                result.getTransformed(),
+                result.getStamped(),
+                result.getFailed());
+    if (result.getStamped() > 0) {
+      LOGGER.warn("  {} classes are already stamped; run the goal on classes not transformed"
+                  + " before", result.getStamped());
+    }
+    final long allocatedBytesPerClass = result.getAllocatedBytesPerClass();
+    LOGGER.info("  {} classes/s, {} allocated per class",
+                String.format(Locale.ROOT, "%.1f", result.getClassesPerSecond()),
+                allocatedBytesPerClass < 0 ? "n/a" : allocatedBytesPerClass + " bytes");
+    for (final TransformerBenchmark.ClassTiming timing : result.getSlowestClasses()) {
+      LOGGER.info("  {} ms {}",
+                  String.format(Locale.ROOT, "%10.3f", timing.getNanos() / 1_000_000d),
+                  timing.getClassName());
+    }
+  }
+
+  /**
+   * The number of iterations to warm up the JVM before measuring.
+   *
+   * @return {@code 0} or more
+   */
+  public int getWarmupIterations() {
+    return warmupIterations;
+  }
+
+  /**
+   * The number of measured iterations.
+   *
+   * @return maybe less than {@code 1}, which is treated as {@code 1}
+   */
+  public int getMeasurementIterations() {
+    return measurementIterations;
+  }
+}
@@ -19,25 +19,32 @@ package de.icongmbh.oss.maven.plugin.javassist;
 import static java.lang.Thread.currentThread;
 
 import java.io.File;
-import java.net.MalformedURLException;
+import java.io.IOException;
+import java.math.BigInteger;
 import java.net.URL;
-import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Properties;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import javassist.build.IClassTransformer;
 
-import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.artifact.Artifact;
 import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
-import org.apache.maven.project.MavenProject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.sonatype.plexus.build.incremental.BuildContext;
 
 /**
  * Maven plugin that will apply <a
@@ -77,331 +84,729 @@ import org.slf4j.LoggerFactory;
 @Mojo(name = "javassist", defaultPhase = LifecyclePhase.PROCESS_CLASSES,
       requiresDependencyResolution = ResolutionScope.COMPILE_PLUS_RUNTIME)
 // @formatter:on
-public class JavassistMojo extends AbstractMojo {
+public class JavassistMojo extends AbstractJavassistMojo {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(JavassistMojo.class);
 
-  private static final Class<IClassTransformer> TRANSFORMER_TYPE = IClassTransformer.class;
+  /**
+   * Whether or not to write a report with the timings and sizes of all transformations to
+   * {@link #reportFile}.
+   *
+   * <pre>
+   * {@code
+   * ...
+   * <configuration>
+   *   <report>true</report>
+   * </configuration>
+   * ...
+   * }
+   * </pre>
+   *
+   * @since 2.1.0
+   */
+  @Parameter(defaultValue = "false", property = "javassist.report", required = false)
+  private boolean report;
 
+  /**
+   * The report file; written as CSV if the name ends with {@code .csv}, otherwise as JSON.
+   *
+   * @since 2.1.0
+   * @see TransformationReport
+   */
   // @formatter:off
-  @Parameter(defaultValue = "${project}", property = "javassist.project", required = true,
-             readonly = true)
+  @Parameter(defaultValue = "${project.build.directory}/javassist-report.json",
+             property = "javassist.reportFile", required = false)
   // @formatter:on
-  private MavenProject project;
+  private File reportFile;
 
   /**
-   * Skips all processing performed by this goal.
+   * The number of the slowest classes listed in the report.
+   *
+   * @since 2.1.0
+   */
+  @Parameter(defaultValue = "10", property = "javassist.reportTopClasses", required = false)
+  private int reportTopClasses;
+
+  /**
+   * Whether or not to record the execution by the Java Flight Recorder into
+   * {@link #flightRecordingFile}.
+   *
+   * <p>
+   * The recording contains the default JVM events and the events of the plugin (category
+   * &quot;Javassist Maven Plugin&quot;). The plugin events are also emitted into recordings started
+   * otherwise, e.g. by {@code -XX:StartFlightRecording} in {@code MAVEN_OPTS}. Ignored if the Java
+   * Flight Recorder is not available.
+   * </p>
    *
    * <pre>
    * {@code
    * ...
    * <configuration>
-   *   <skip>false</skip>
+   *   <flightRecording>true</flightRecording>
    * </configuration>
    * ...
    * }
    * </pre>
+   *
+   * @since 2.1.0
    */
-  @Parameter(defaultValue = "false", property = "javassist.skip", required = false)
-  private boolean skip;
+  @Parameter(defaultValue = "false", property = "javassist.flightRecording", required = false)
+  private boolean flightRecording;
 
   /**
-   * Whether or not to include test classes to be processed by declared transformers.
+   * The file the flight recording is dumped to.
+   *
+   * @since 2.1.0
+   */
+  // @formatter:off
+  @Parameter(defaultValue = "${project.build.directory}/javassist.jfr",
+             property = "javassist.flightRecordingFile", required = false)
+  // @formatter:on
+  private File flightRecordingFile;
+
+  /**
+   * Whether or not to compare the bytecode size of each method before and after each transformer
+   * and to warn about methods crossing a size threshold of the JIT compiler.
    *
    * <pre>
    * {@code
    * ...
    * <configuration>
-   *   <includeTestClasses>false</includeTestClasses>
+   *   <methodSizeAnalysis>true</methodSizeAnalysis>
    * </configuration>
    * ...
    * }
    * </pre>
+   *
+   * @since 2.1.0
+   * @see MethodSizeAnalyzer
    */
-  @Parameter(defaultValue = "true", property = "javassist.includeTestClasses", required = true)
-  private Boolean includeTestClasses;
+  @Parameter(defaultValue = "false", property = "javassist.methodSizeAnalysis", required = false)
+  private boolean methodSizeAnalysis;
 
   /**
-   * Configure one or more class transformer.
+   * Whether or not to fail the build if a transformer lets a method grow over
+   * {@value MethodSizeAnalyzer#HUGE_METHOD_LIMIT} bytes, which are not compiled by the JIT
+   * compiler. Enables the {@link #methodSizeAnalysis}.
+   *
+   * @since 2.1.0
+   */
+  @Parameter(defaultValue = "false", property = "javassist.failOnHugeMethod", required = false)
+  private boolean failOnHugeMethod;
+
+  /**
+   * Whether or not to remove the unused constant pool entries of the transformed classes.
    *
    * <pre>
    * {@code
    * ...
    * <configuration>
-   *   <transformerClasses>
-   *     <transformerClass>
-   *      <className>
-   *       de.icongmbh.oss.maven.plugin.javassist.example.transformer.MethodCallClassTransformer
-   *      </className>
-   *     </transformerClass>
-   *   </transformerClasses>
+   *   <compactConstantPool>true</compactConstantPool>
    * </configuration>
    * ...
    * }
    * </pre>
+   *
+   * @since 2.1.0
+   * @see ClassFileOptimizer
    */
-  @Parameter(property = "javassist.transformerClasses", required = true)
-  private ClassTransformerConfiguration[] transformerClasses;
+  @Parameter(defaultValue = "false", property = "javassist.compactConstantPool", required = false)
+  private boolean compactConstantPool;
 
   /**
-   * Allows to customize the build directory of the project, used for both finding classes to
-   * transform and output them once transformed.
+   * The names of the attributes to remove from the transformed classes, their fields, methods and
+   * code, e.g. the debug attributes not required at runtime.
+   *
+   * <pre>
+   * {@code
+   * ...
+   * <configuration>
+   *   <stripAttributes>
+   *     <stripAttribute>LocalVariableTable</stripAttribute>
+   *     <stripAttribute>LocalVariableTypeTable</stripAttribute>
+   *     <stripAttribute>SourceDebugExtension</stripAttribute>
+   *   </stripAttributes>
+   * </configuration>
+   * ...
+   * }
+   * </pre>
+   *
+   * @since 2.1.0
+   * @see ClassFileOptimizer#DEBUG_ATTRIBUTES
+   */
+  @Parameter(property = "javassist.stripAttributes", required = false)
+  private String[] stripAttributes;
+
+  /**
+   * Whether or not to keep the untransformed bytes of the transformed classes in
+   * {@link #pristineClassDirectory}.
    *
    * <p>
-   * The path must be either absolute or relative to project base directory.
+   * A transformer skips the classes it has already transformed. With this option enabled, the
+   * classes transformed by a transformer whose configuration changed since the last build are
+   * restored from the kept bytes and transformed again, without compiling them again. The option
+   * is enabled by {@link #incremental} as well.
    * </p>
    *
    * <pre>
    * {@code
    * ...
    * <configuration>
-   *   <buildDir>bin/classes</buildDir>
+   *   <keepPristineClasses>true</keepPristineClasses>
    * </configuration>
    * ...
    * }
    * </pre>
+   *
+   * @since 2.1.0
+   * @see PristineClassStore
    */
-  @Parameter(defaultValue = "target/classes", property = "javassist.buildDir", required = false)
-  private String buildDir;
+  @Parameter(defaultValue = "false", property = "javassist.keepPristineClasses", required = false)
+  private boolean keepPristineClasses;
+
+  /**
+   * The directory of the untransformed classes kept by {@link #keepPristineClasses}.
+   *
+   * @since 2.1.0
+   */
+  // @formatter:off
+  @Parameter(defaultValue = "${project.build.directory}/javassist-pristine",
+             property = "javassist.pristineClassDirectory", required = false)
+  // @formatter:on
+  private File pristineClassDirectory;
 
   /**
-   * Allows to customize the build directory of the tests of the project, used for both finding
-   * classes to transform and output them once transformed.
+   * Whether or not to transform only the classes compiled by the last incremental build instead
+   * of all classes of the build directories.
    *
    * <p>
-   * The path must be either absolute or relative to project base directory.
+   * The classes are taken from the changes reported by the IDE (e.g. m2e) or from the class files
+   * listed by the maven-compiler-plugin in {@code maven-status/maven-compiler-plugin}. All classes
+   * are transformed if neither is available. The classes referencing the compiled classes are
+   * transformed too, see {@link ClassDependencyIndex}. They are already stamped, so this option
+   * enables {@link #keepPristineClasses} to restore and transform them again.
    * </p>
    *
    * <pre>
    * {@code
    * ...
    * <configuration>
-   *   <testBuildDir>bin/test-classes</testBuildDir>
+   *   <incremental>true</incremental>
    * </configuration>
    * ...
    * }
    * </pre>
+   *
+   * @since 2.1.0
+   */
+  @Parameter(defaultValue = "false", property = "javassist.incremental", required = false)
+  private boolean incremental;
+
+  @Component
+  private BuildContext buildContext;
+
+  /**
+   * Whether or not to forward the transformation to a daemon process, which keeps the
+   * transformers and the classes of the dependencies of recent builds in memory.
+   *
+   * <p>
+   * The daemon is started if none is running for the plugin version and stops after
+   * {@link #daemonIdleMinutes}. It is only reachable from the local host by the token it writes to
+   * {@link #daemonDirectory}. The transformation runs in the build if the daemon can't be reached
+   * or if a report, a flight recording, the method size analysis, the class file optimization or
+   * the pristine classes are configured.
+   * </p>
+   *
+   * <pre>
+   * {@code
+   * ...
+   * <configuration>
+   *   <daemon>true</daemon>
+   * </configuration>
+   * ...
+   * }
+   * </pre>
+   *
+   * @since 2.1.0
+   * @see TransformationDaemon
+   */
+  @Parameter(defaultValue = "false", property = "javassist.daemon", required = false)
+  private boolean daemon;
+
+  /**
+   * The directory of the state files and the log of the daemons.
+   *
+   * @since 2.1.0
    */
   // @formatter:off
-  @Parameter(defaultValue = "target/test-classes", property = "javassist.testBuildDir",
-          required = false)
+  @Parameter(defaultValue = "${user.home}/.m2/javassist-daemon",
+             property = "javassist.daemonDirectory", required = false)
   // @formatter:on
-  private String testBuildDir;
+  private File daemonDirectory;
+
+  /**
+   * The time in minutes without transformation after that a daemon stops.
+   *
+   * @since 2.1.0
+   */
+  @Parameter(defaultValue = "30", property = "javassist.daemonIdleMinutes", required = false)
+  private int daemonIdleMinutes;
+
+  /**
+   * Whether or not to transform the classes in a forked JVM started with {@link #jvmArgs}, so the
+   * heap and the garbage collector of the transformation don't depend on the settings of Maven.
+   *
+   * <p>
+   * Like the {@link #daemon}, the transformation runs in the build if a report, a flight
+   * recording, the method size analysis, the class file optimization or the pristine classes are
+   * configured. The {@link #daemon} takes precedence if both are enabled.
+   * </p>
+   *
+   * <pre>
+   * {@code
+   * ...
+   * <configuration>
+   *   <fork>true</fork>
+   *   <jvmArgs>
+   *     <jvmArg>-Xmx4g</jvmArg>
+   *     <jvmArg>-XX:+UseParallelGC</jvmArg>
+   *   </jvmArgs>
+   * </configuration>
+   * ...
+   * }
+   * </pre>
+   *
+   * @since 2.1.0
+   * @see ForkedTransformation
+   */
+  @Parameter(defaultValue = "false", property = "javassist.fork", required = false)
+  private boolean fork;
+
+  /**
+   * The arguments of the forked JVM, e.g. the heap size, the garbage collector or {@code -XX}
+   * flags.
+   *
+   * @since 2.1.0
+   */
+  @Parameter(property = "javassist.jvmArgs", required = false)
+  private String[] jvmArgs;
+
+  /**
+   * The number of JVMs forked in parallel by {@link #fork}, each transforming a shard of the
+   * classes with its own heap.
+   *
+   * <p>
+   * A nested class is always transformed by the JVM of its outer class.
+   * </p>
+   *
+   * <pre>
+   * {@code
+   * ...
+   * <configuration>
+   *   <fork>true</fork>
+   *   <forkCount>4</forkCount>
+   * </configuration>
+   * ...
+   * }
+   * </pre>
+   *
+   * @since 2.1.0
+   * @see ShardedForkClient
+   */
+  @Parameter(defaultValue = "1", property = "javassist.forkCount", required = false)
+  private int forkCount;
+
+  /**
+   * Whether or not to shard the classes of the {@link #forkCount} JVMs by package instead of by
+   * outer class, e.g. to keep transformers with package-wide caches efficient.
+   *
+   * @since 2.1.0
+   */
+  @Parameter(defaultValue = "false", property = "javassist.shardByPackage", required = false)
+  private boolean shardByPackage;
+
+  /**
+   * The estimated memory in megabytes the classes loaded by one transformer may occupy at the same
+   * time, or {@code 0} to keep all classes loaded until the transformer finished.
+   *
+   * <p>
+   * The memory of a class is estimated by the size of its class file. Use it if a few huge, e.g.
+   * generated, classes exceed the heap.
+   * </p>
+   *
+   * <pre>
+   * {@code
+   * ...
+   * <configuration>
+   *   <memoryBudgetMb>512</memoryBudgetMb>
+   * </configuration>
+   * ...
+   * }
+   * </pre>
+   *
+   * @since 2.1.0
+   * @see ClassPoolBudget
+   */
+  @Parameter(defaultValue = "0", property = "javassist.memoryBudgetMb", required = false)
+  private long memoryBudgetMb;
+
+  /**
+   * The number of classes, mostly of the dependencies, cached by the class pool of one
+   * transformer. The least recently used unmodified classes exceeding the number are loaded again
+   * if they are required later, so the heap stays stable across the modules of large builds.
+   *
+   * <pre>
+   * {@code
+   * ...
+   * <configuration>
+   *   <classCacheSize>1024</classCacheSize>
+   * </configuration>
+   * ...
+   * }
+   * </pre>
+   *
+   * @since 2.1.0
+   * @see BoundedClassPool
+   */
+  @Parameter(defaultValue = "4096", property = "javassist.classCacheSize", required = false)
+  private int classCacheSize;
+
+  @Parameter(defaultValue = "${plugin}", readonly = true, required = false)
+  private PluginDescriptor pluginDescriptor;
 
   @Override
   public void execute() throws MojoExecutionException {
-    if (skip) {
+    if (isSkip()) {
       LOGGER.info("Skipping executing.");
       return;
     }
 
     final ClassLoader originalContextClassLoader = currentThread().getContextClassLoader();
+    // includes the set up of the class path in the wall time
+    final TransformationReport transformationReport = report
+            ? new TransformationReport(reportTopClasses) : null;
+    final MethodSizeAnalyzer methodSizeAnalyzer = methodSizeAnalysis || failOnHugeMethod
+            ? new MethodSizeAnalyzer() : null;
+    final Object recording = flightRecording && null != flightRecordingFile
+            ? FlightRecorderSupport.startRecording("javassist-maven-plugin") : null;
 
     try {
       final List<URL> classPath = new ArrayList<URL>();
 
-      for (final String runtimeResource : project.getRuntimeClasspathElements()) {
+      for (final String runtimeResource : getProject().getRuntimeClasspathElements()) {
         classPath.add(resolveUrl(runtimeResource));
       }
 
-      final String inputDirectory = (null == buildDir) ? project.getBuild().getOutputDirectory()
-              : computeDir(buildDir);
+      final String inputDirectory = computeInputDirectory();
 
       classPath.add(resolveUrl(inputDirectory));
 
       loadAdditionalClassPath(classPath);
 
-      final JavassistTransformerExecutor executor = new JavassistTransformerExecutor();
+      String testInputDirectory = computeTestInputDirectory();
+
+      if (isOutOfProcessApplicable()
+          && transformOutOfProcess(inputDirectory, testInputDirectory)) {
+        return;
+      }
 
-      String testInputDirectory = (null == testBuildDir)
-              ? project.getBuild().getTestOutputDirectory() : computeDir(testBuildDir);
+      final JavassistTransformerExecutor executor = new JavassistTransformerExecutor();
+      if (null != transformationReport) {
+        executor.addTransformationListener(transformationReport);
+      }
+      if (null != methodSizeAnalyzer) {
+        executor.addTransformationListener(methodSizeAnalyzer);
+      }
+      final ClassFileOptimizer classFileOptimizer = compactConstantPool
+          || (null != stripAttributes && stripAttributes.length > 0)
+              ? new ClassFileOptimizer(compactConstantPool,
+                                       null == stripAttributes ? null
+                                               : Arrays.asList(stripAttributes))
+              : null;
+      executor.setClassFileOptimizer(classFileOptimizer);
+      executor.setMemoryBudget(memoryBudget());
+      executor.setClassCacheSize(classCacheSize);
 
       executor.setTransformerClasses(instantiateTransformerClasses(
                                                                    currentThread()
                                                                      .getContextClassLoader(),
-                                                                   transformerClasses));
+                                                                   getTransformerClasses()));
+      final Map<String, String> fingerprints = isPristineClassStoreEnabled()
+              ? PristineClassStore.fingerprints(getTransformerClasses()) : null;
+      executor.setPristineClassStore(createPristineClassStore("classes", fingerprints));
+      executor.setClassNames(compiledClassnames("compile", inputDirectory));
+      executor.setClassDependencyIndex(createClassDependencyIndex("classes"));
       executor.setInputDirectory(inputDirectory);
       executor.setOutputDirectory(inputDirectory);
       executor.execute();
 
-      if (includeTestClasses) {
+      if (getIncludeTestClasses()) {
         classPath.add(resolveUrl(testInputDirectory));
+        executor.setPristineClassStore(createPristineClassStore("test-classes", fingerprints));
+        executor.setClassNames(compiledClassnames("testCompile", testInputDirectory));
+        executor.setClassDependencyIndex(createClassDependencyIndex("test-classes"));
         executor.setInputDirectory(testInputDirectory);
         executor.setOutputDirectory(testInputDirectory);
         executor.execute();
       }
 
+      if (null != classFileOptimizer) {
+        LOGGER.info("{} class files optimized from {} to {} bytes",
+                    classFileOptimizer.getClasses(),
+                    classFileOptimizer.getBytesBefore(),
+                    classFileOptimizer.getBytesAfter());
+      }
+
+      if (null != transformationReport && null != reportFile) {
+        transformationReport.finish();
+        transformationReport.write(reportFile);
+        LOGGER.info("Transformation report written to {}", reportFile);
+      }
+
     } catch (final Exception e) {
       getLog().error(e.getMessage(), e);
       throw new MojoExecutionException(e.getMessage(), e);
     } finally {
+      stopFlightRecording(recording);
       currentThread().setContextClassLoader(originalContextClassLoader);
     }
+    checkMethodSizes(methodSizeAnalyzer);
   }
 
-  private void loadAdditionalClassPath(final List<URL> classPath) {
-    if (classPath.isEmpty()) {
-      return;
+  private boolean isOutOfProcessApplicable() {
+    if (!daemon && !fork) {
+      return false;
+    }
+    if (report || flightRecording || methodSizeAnalysis || failOnHugeMethod || compactConstantPool
+        || (null != stripAttributes && stripAttributes.length > 0)) {
+      LOGGER.info("Transformation kept in the build with report, flight recording, method size "
+                  + "analysis or class file optimization");
+      return false;
     }
-    final ClassLoader contextClassLoader = currentThread().getContextClassLoader();
+    if (null == pluginDescriptor || null == pluginDescriptor.getPluginArtifact()
+        || null == pluginDescriptor.getPluginArtifact().getFile()
+        || (daemon && null == daemonDirectory)) {
+      LOGGER.info("Transformation kept in the build, the class path of the plugin is unknown");
+      return false;
+    }
+    return true;
+  }
 
-    // @formatter:off
-    final URLClassLoader pluginClassLoader = URLClassLoader.newInstance(
-            classPath.toArray(new URL[classPath.size()]), contextClassLoader);
-    // @formatter:on
+  /**
+   * Forwards the transformation to the daemon of the plugin class path or to a forked JVM.
+   *
+   * @return {@code false} if the daemon or the forked JVM failed and the classes are not
+   *         transformed
+   */
+  private boolean transformOutOfProcess(final String inputDirectory,
+                                        final String testInputDirectory) throws Exception {
+    final DaemonRequest request = createRequest(inputDirectory, testInputDirectory);
+    final List<File> pluginClassPath = pluginClassPath();
+    final String target = daemon ? "the daemon"
+        : forkCount > 1 ? forkCount + " forked JVMs" : "a forked JVM";
+    final long startTime = System.nanoTime();
+    try {
+      final int transformedClasses;
+      if (daemon) {
+        transformedClasses = new DaemonClient(daemonStateDirectory(pluginClassPath),
+                                              pluginClassPath,
+                                              daemonIdleMinutes).transform(request);
+      } else {
+        final ForkClient forkClient = new ForkClient(pluginClassPath,
+                                                     null == jvmArgs
+                                                         ? Collections.<String>emptyList()
+                                                         : Arrays.asList(jvmArgs));
+        transformedClasses = forkCount > 1
+            ? new ShardedForkClient(forkClient, forkCount, shardByPackage).transform(request)
+            : forkClient.transform(request);
+      }
+      LOGGER.info("{} classes transformed by {} in {} ms",
+                  transformedClasses,
+                  target,
+                  TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+      return true;
+    } catch (final IOException e) {
+      LOGGER.warn("Transformation by {} failed, transforming in the build: {}",
+                  target,
+                  e.getMessage());
+      return false;
+    }
+  }
 
-    currentThread().setContextClassLoader(pluginClassLoader);
+  private DaemonRequest createRequest(final String inputDirectory,
+                                      final String testInputDirectory) throws Exception {
+    final List<String> classPath = new ArrayList<>(getProject().getRuntimeClasspathElements());
+    final List<String> inputDirectories = new ArrayList<>();
+    final List<List<String>> classNames = new ArrayList<>();
+    final List<String> dependencyIndexFiles = new ArrayList<>();
+    final List<String> pristineClassDirectories = new ArrayList<>();
+    inputDirectories.add(inputDirectory);
+    classNames.add(compiledClassnames("compile", inputDirectory));
+    dependencyIndexFiles.add(dependencyIndexFile("classes"));
+    pristineClassDirectories.add(pristineClassDirectory("classes"));
+    if (getIncludeTestClasses()) {
+      inputDirectories.add(testInputDirectory);
+      classNames.add(compiledClassnames("testCompile", testInputDirectory));
+      dependencyIndexFiles.add(dependencyIndexFile("test-classes"));
+      pristineClassDirectories.add(pristineClassDirectory("test-classes"));
+    }
+    for (final String directory : inputDirectories) {
+      if (!classPath.contains(directory)) {
+        classPath.add(directory);
+      }
+    }
+    return new DaemonRequest(getProject().getId() + "@" + getProject().getBasedir(),
+                             classPath,
+                             Arrays.asList(getTransformerClasses()),
+                             inputDirectories,
+                             classNames,
+                             dependencyIndexFiles,
+                             Collections.<String>nCopies(inputDirectories.size(), null),
+                             pristineClassDirectories,
+                             getProject().getBasedir().getAbsolutePath(),
+                             memoryBudget());
   }
 
-  private String computeDir(String dir) {
-    File dirFile = new File(dir);
-    if (dirFile.isAbsolute()) {
-      return dirFile.getAbsolutePath();
-    } else {
-      return new File(project.getBasedir(), buildDir).getAbsolutePath();
+  private long memoryBudget() {
+    return memoryBudgetMb * 1024L * 1024L;
+  }
+
+  private List<File> pluginClassPath() {
+    final List<File> pluginClassPath = new ArrayList<>();
+    pluginClassPath.add(pluginDescriptor.getPluginArtifact().getFile());
+    for (final Artifact artifact : pluginDescriptor.getArtifacts()) {
+      if (null != artifact.getFile() && !pluginClassPath.contains(artifact.getFile())) {
+        pluginClassPath.add(artifact.getFile());
+      }
     }
+    return pluginClassPath;
   }
 
   /**
-   * Instantiates and configures the passed transformer classes.
-   *
-   * @param contextClassLoader maybe {@code null}
-   * @param transformerClasses maybe {@code null}
-   * @return array of passed transformer class name instances and never {@code null} but maybe
-   *         empty.
-   * @throws Exception by
-   *           {@link #instantiateTransformerClass(ClassLoader, ClassTransformerConfiguration)} and
-   *           {@link #configureTransformerInstance(IClassTransformer, Properties)}
-   * @see #instantiateTransformerClass(ClassLoader, ClassTransformerConfiguration)
-   * @see #configureTransformerInstance(IClassTransformer, Properties)
+   * Returns the state directory of the daemons of the passed class path, so a changed plugin or
+   * plugin dependency starts a further daemon.
    */
-  // @formatter:off
-  protected IClassTransformer[] instantiateTransformerClasses(
-          final ClassLoader contextClassLoader,
-          final ClassTransformerConfiguration... transformerClasses) throws Exception {
-    // @formatter:on
-    if (null == transformerClasses || transformerClasses.length <= 0) {
-      throw new MojoExecutionException("Invalid transformer classes passed");
+  private File daemonStateDirectory(final List<File> daemonClassPath)
+          throws NoSuchAlgorithmException {
+    final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+    for (final File classPathElement : daemonClassPath) {
+      final String stamp = classPathElement.getAbsolutePath() + File.pathSeparator
+                           + classPathElement.lastModified() + File.pathSeparator
+                           + classPathElement.length() + File.pathSeparator;
+      digest.update(stamp.getBytes(StandardCharsets.UTF_8));
     }
-    final List<IClassTransformer> transformerInstances = new LinkedList<IClassTransformer>();
-    for (ClassTransformerConfiguration transformerClass : transformerClasses) {
-      final IClassTransformer transformerInstance = instantiateTransformerClass(contextClassLoader,
-                                                                                transformerClass);
-      configureTransformerInstance(transformerInstance, transformerClass.getProperties());
-      transformerInstances.add(transformerInstance);
+    final String hash = new BigInteger(1, digest.digest()).toString(16);
+    return new File(daemonDirectory, hash.substring(0, Math.min(16, hash.length())));
+  }
+
+  private String dependencyIndexFile(final String name) {
+    if (!incremental) {
+      return null;
     }
-    return transformerInstances.toArray(new IClassTransformer[transformerInstances.size()]);
+    return new File(getProject().getBuild().getDirectory(),
+                    "javassist-dependencies/" + name + ".properties").getAbsolutePath();
   }
 
   /**
-   * Instantiate the class passed by {@link ClassTransformerConfiguration} configuration object.
-   *
-   * @param contextClassLoader maybe {@code null}
-   * @param transformerClass must not be {@code null}
-   *
-   * @return new instance of passed transformer class name and never {@code null}
-   *
-   * @throws ClassNotFoundException by {@code transformerClass} {@link Class#forName(String)}.
-   * @throws InstantiationException by {@code transformerClass} {@link Class#forName(String)}.
-   * @throws IllegalAccessException by {@code transformerClass} {@link Class#forName(String)}.
-   * @throws MojoExecutionException if passed {@code transformerClass} is {@code null} or invalid
-   *
-   * @see Class#forName(String, boolean, ClassLoader)
+   * Returns the classes compiled by the last incremental build or {@code null} to transform all
+   * classes.
    */
-  // @formatter:off
-  protected IClassTransformer instantiateTransformerClass(
-          final ClassLoader contextClassLoader,
-          final ClassTransformerConfiguration transformerClass) throws ClassNotFoundException,
-                                                                       InstantiationException,
-                                                                       IllegalAccessException,
-                                                                       MojoExecutionException {
-    // @formatter:on
-    if (null == transformerClass || null == transformerClass.getClassName()
-        || transformerClass.getClassName().trim().isEmpty()) {
-      throw new MojoExecutionException("Invalid transformer class name passed");
+  private List<String> compiledClassnames(final String compilerGoal, final String classDirectory)
+          throws IOException {
+    if (!incremental) {
+      return null;
     }
-    final Class<?> transformerClassInstance = Class.forName(transformerClass.getClassName().trim(),
-                                                            true,
-                                                            contextClassLoader);
-    if (TRANSFORMER_TYPE.isAssignableFrom(transformerClassInstance)) {
-      return TRANSFORMER_TYPE.cast(transformerClassInstance.newInstance());
+    final File directory = new File(classDirectory);
+    List<String> classNames = null == buildContext ? null
+            : CompiledClassnames.scanChangedClassnames(buildContext, directory);
+    if (null == classNames) {
+      final File statusDirectory = new File(getProject().getBuild().getDirectory(),
+                                            "maven-status/maven-compiler-plugin/" + compilerGoal);
+      classNames = CompiledClassnames.readCreatedClassnames(statusDirectory, directory);
+    }
+    if (null == classNames) {
+      LOGGER.info("No incremental build state found, all classes of {} are transformed",
+                  classDirectory);
     } else {
-      throw new MojoExecutionException("Transformer class must inherit from "
-                                       + TRANSFORMER_TYPE.getName());
+      LOGGER.info("{} compiled classes of {} are transformed", classNames.size(), classDirectory);
     }
+    return classNames;
   }
 
-  /**
-   * Configure the passed {@link ClassTransformer} instance using the passed {@link Properties}.
-   *
-   * @param transformerInstance maybe {@code null}
-   * @param properties maybe {@code null} or empty
-   *
-   * @throws Exception by {@link ClassTransformer#configure(Properties)}
-   */
-  protected void configureTransformerInstance(final IClassTransformer transformerInstance,
-                                              final Properties properties) throws Exception {
-    if (null == transformerInstance || !(transformerInstance instanceof ClassTransformer)) {
-      return;
+  private ClassDependencyIndex createClassDependencyIndex(final String name) throws IOException {
+    if (!incremental) {
+      return null;
     }
-    ((ClassTransformer)transformerInstance).configure(properties);
+    return new ClassDependencyIndex(new File(dependencyIndexFile(name)));
   }
 
-  private URL resolveUrl(final String resource) {
-    try {
-      return new File(resource).toURI().toURL();
-    } catch (final MalformedURLException e) {
-      throw new RuntimeException(e.getMessage(), e);
+  private boolean isPristineClassStoreEnabled() {
+    return keepPristineClasses || incremental;
+  }
+
+  private PristineClassStore createPristineClassStore(final String name,
+                                                      final Map<String, String> fingerprints) {
+    final String directory = pristineClassDirectory(name);
+    if (null == fingerprints || null == directory) {
+      return null;
     }
+    return new PristineClassStore(new File(directory), fingerprints);
   }
 
-  /**
-   * Signals whether or not to skip the plugin execution.
-   *
-   * @return {@code true} if configuration option is set otherwise {@code false}
-   */
-  public boolean isSkip() {
-    return skip;
+  private String pristineClassDirectory(final String name) {
+    if (!isPristineClassStoreEnabled() || null == pristineClassDirectory) {
+      return null;
+    }
+    return new File(pristineClassDirectory, name).getAbsolutePath();
   }
 
-  /**
-   * Whether or not to include test classes in class transformation.
-   *
-   * @return {@code true} if configuration option is set otherwise {@code false} and never
-   *         {@code null}
-   */
-  public Boolean getIncludeTestClasses() {
-    return null == includeTestClasses ? Boolean.FALSE : includeTestClasses;
+  private void checkMethodSizes(final MethodSizeAnalyzer methodSizeAnalyzer)
+          throws MojoExecutionException {
+    if (null == methodSizeAnalyzer) {
+      return;
+    }
+    for (final MethodSizeAnalyzer.Finding finding : methodSizeAnalyzer.getFindings()) {
+      LOGGER.warn("Method {}", finding);
+    }
+    final int hugeMethods = methodSizeAnalyzer.getHugeMethods().size();
+    if (failOnHugeMethod && hugeMethods > 0) {
+      throw new MojoExecutionException(hugeMethods + " method(s) grew over "
+                                       + MethodSizeAnalyzer.HUGE_METHOD_LIMIT
+                                       + " bytes and will not be compiled by the JIT compiler");
+    }
   }
 
-  /**
-   * The configured transformer classes.
-   *
-   * @return all configured transformer classes and never {@code null} but maybe empty.
-   */
-  public ClassTransformerConfiguration[] getTransformerClasses() {
-    return (null == this.transformerClasses) ? new ClassTransformerConfiguration[0]
-            : this.transformerClasses.clone();
+  private void stopFlightRecording(final Object recording) {
+    if (null == recording) {
+      return;
+    }
+    try {
+      FlightRecorderSupport.stopRecording(recording, flightRecordingFile);
+      LOGGER.info("Flight recording written to {}", flightRecordingFile);
+    } catch (final IOException e) {
+      LOGGER.warn("Flight recording could not be written to {}", flightRecordingFile, e);
+    }
   }
 
   /**
-   * The build directory of the project, used for both finding classes to
-   * transform and output them once transformed.
+   * Whether or not to write a report of all transformations.
    *
-   * @return never {@code null}
+   * @return {@code true} if configuration option is set otherwise {@code false}
+   * @since 2.1.0
    */
-  public String getBuildDir() {
-    return buildDir;
+  public boolean isReport() {
+    return report;
   }
 
   /**
-   * The build directory of the tests of the project, used for both finding
-   * classes to transform and output them once transformed.
+   * The report file.
    *
-   * @return never {@code null}
+   * @return maybe {@code null}
+   * @since 2.1.0
    */
-  public String getTestBuildDir() {
-    return testBuildDir;
+  public File getReportFile() {
+    return reportFile;
   }
 
+
 }
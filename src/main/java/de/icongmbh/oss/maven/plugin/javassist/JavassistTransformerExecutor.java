@@ -16,12 +16,26 @@
 
 package de.icongmbh.oss.maven.plugin.javassist;
 
+import java.io.DataInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
 import java.net.URLClassLoader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import javassist.CannotCompileException;
 import javassist.ClassPool;
@@ -59,6 +73,22 @@ public class JavassistTransformerExecutor {
 
   private String outputDirectory;
 
+  private final List<TransformationListener> transformationListeners = new ArrayList<>();
+
+  private ClassFileOptimizer classFileOptimizer;
+
+  private PristineClassStore pristineClassStore;
+
+  private ClassDependencyIndex classDependencyIndex;
+
+  private List<String> classNames;
+
+  private List<String> inputClassNames;
+
+  private long memoryBudget;
+
+  private int classCacheSize = BoundedClassPool.DEFAULT_CAPACITY;
+
   private static final Logger LOGGER = LoggerFactory.getLogger(JavassistTransformerExecutor.class);
 
   public JavassistTransformerExecutor() {
@@ -99,6 +129,126 @@ public class JavassistTransformerExecutor {
     return outputDirectory;
   }
 
+  /**
+   * Registers a listener to receive the events of all further transformations.
+   *
+   * @param listener must not be {@code null}
+   *
+   * @throws NullPointerException if passed {@code listener} is {@code null}
+   * @since 2.1.0
+   */
+  public void addTransformationListener(final TransformationListener listener) {
+    if (null == listener) {
+      throw new NullPointerException("listener");
+    }
+    transformationListeners.add(listener);
+  }
+
+  /**
+   * Removes a registered listener.
+   *
+   * @param listener maybe {@code null}
+   *
+   * @since 2.1.0
+   */
+  public void removeTransformationListener(final TransformationListener listener) {
+    transformationListeners.remove(listener);
+  }
+
+  /**
+   * Sets the optional final stage writing the transformed classes.
+   *
+   * @param classFileOptimizer maybe {@code null} to write the classes unchanged
+   *
+   * @since 2.1.0
+   */
+  public void setClassFileOptimizer(final ClassFileOptimizer classFileOptimizer) {
+    this.classFileOptimizer = classFileOptimizer;
+  }
+
+  /**
+   * Sets the optional store of the untransformed classes, which restores the classes affected by
+   * a changed transformer configuration before {@link #execute()} transforms them in place.
+   *
+   * @param pristineClassStore maybe {@code null} to keep no untransformed classes
+   *
+   * @since 2.1.0
+   */
+  public void setPristineClassStore(final PristineClassStore pristineClassStore) {
+    this.pristineClassStore = pristineClassStore;
+  }
+
+  /**
+   * Sets the optional index of the classes referencing each class of the input directory.
+   * <p>
+   * If the class names are restricted, {@link #execute()} updates the index by them and
+   * transforms the classes depending on them in addition. The stamped dependent classes are
+   * restored by the {@link PristineClassStore} before, otherwise they are skipped and a warning is
+   * logged. If the class names are not restricted, the index is rebuilt of all classes.
+   * </p>
+   *
+   * @param classDependencyIndex maybe {@code null} to transform the passed classes only
+   *
+   * @since 2.1.0
+   * @see #setClassNames(Collection)
+   */
+  public void setClassDependencyIndex(final ClassDependencyIndex classDependencyIndex) {
+    this.classDependencyIndex = classDependencyIndex;
+  }
+
+  /**
+   * Restricts the classes transformed by {@link #execute()} to the passed class names, e.g. the
+   * classes compiled by an incremental build, instead of all classes of the input directory.
+   * <p>
+   * The classes restored by the {@link PristineClassStore} and the classes depending on the
+   * passed classes (see {@link #setClassDependencyIndex(ClassDependencyIndex)}) are transformed
+   * in addition.
+   * </p>
+   *
+   * @param classNames full qualified class names and maybe {@code null} to transform all classes
+   *         of the input directory
+   *
+   * @since 2.1.0
+   */
+  public void setClassNames(final Collection<String> classNames) {
+    this.classNames = null == classNames ? null : new ArrayList<>(classNames);
+  }
+
+  /**
+   * Sets the estimated memory in bytes the classes loaded by one transformation may occupy at the
+   * same time.
+   * <p>
+   * Before a class is loaded that would exceed the budget, the transformed classes loaded so far
+   * are detached from the {@link ClassPool}, see {@link ClassPoolBudget}. A detached class is
+   * loaded again from its class file if a later class requires it.
+   * </p>
+   *
+   * @param memoryBudget the budget in bytes or less than {@code 1} to keep all classes loaded
+   *
+   * @since 2.1.0
+   */
+  public void setMemoryBudget(final long memoryBudget) {
+    this.memoryBudget = memoryBudget;
+  }
+
+  /**
+   * Sets the number of classes cached by the {@link ClassPool} of one transformation.
+   * <p>
+   * The least recently used unmodified classes exceeding the number, mostly classes of the
+   * dependencies, are evicted from the cache and loaded again if they are required later. All
+   * cached classes are released at the end of the transformation.
+   * </p>
+   *
+   * @param classCacheSize the number of classes or less than {@code 1} for the default of
+   *         {@value BoundedClassPool#DEFAULT_CAPACITY}
+   *
+   * @since 2.1.0
+   * @see #buildClassPool()
+   */
+  public void setClassCacheSize(final int classCacheSize) {
+    this.classCacheSize = classCacheSize;
+  }
+
   /**
    * Sets the input directory where the classes to transform will selected from.
    * <p>
@@ -122,12 +272,31 @@ public class JavassistTransformerExecutor {
 
   /**
    * Executes all configured {@link IClassTransformer}.
+   * <p>
+   * Consecutive configured {@link ExprEditorClassTransformer} instances are merged and executed
+   * together, so each class will be instrumented only once by them.
+   * </p>
+   * <p>
+   * If the classes are transformed in place, the configured {@link PristineClassStore} restores
+   * the classes affected by a changed transformer configuration first.
+   * </p>
    *
    * @see #setTransformerClasses(IClassTransformer...)
+   * @see #setPristineClassStore(PristineClassStore)
    * @see #execute(IClassTransformer)
    */
   public void execute() {
-    for (final IClassTransformer transformer : transformerInstances) {
+    final List<String> restoredClassNames = restorePristineClasses();
+    final Collection<String> dependentClassNames = updateClassDependencyIndex();
+    if (null == classNames || restoredClassNames.isEmpty() && dependentClassNames.isEmpty()) {
+      inputClassNames = classNames;
+    } else {
+      final Set<String> names = new LinkedHashSet<>(classNames);
+      names.addAll(restoredClassNames);
+      names.addAll(dependentClassNames);
+      inputClassNames = new ArrayList<>(names);
+    }
+    for (final IClassTransformer transformer : chainExprEditorTransformers(transformerInstances)) {
       execute(transformer);
     }
   }
@@ -137,7 +306,8 @@ public class JavassistTransformerExecutor {
    *
    * <p>
    * This method uses {@link #getInputDirectory() } and {@link #getOutputDirectory() } and calls
-   * {@link #transform(IClassTransformer, String, String)}.
+   * {@link #transform(IClassTransformer, String, String)} or, if the class names are restricted,
+   * {@link #transform(IClassTransformer, String, String, Iterator)}.
    * </p>
    * <p>
    * If the passed {@code transformer} is {@code null} nothing will transformed.
@@ -149,9 +319,17 @@ public class JavassistTransformerExecutor {
    * @see #getInputDirectory()
    * @see #getOutputDirectory()
    * @see #transform(IClassTransformer, String, String)
+   * @see #setClassNames(Collection)
    */
   protected void execute(final IClassTransformer transformer) {
-    transform(transformer, getInputDirectory(), getOutputDirectory());
+    if (null == inputClassNames) {
+      transform(transformer, getInputDirectory(), getOutputDirectory());
+    } else {
+      transform(transformer,
+                getInputDirectory(),
+                getOutputDirectory(),
+                inputClassNames.iterator());
+    }
   }
 
   /**
@@ -230,7 +408,7 @@ public class JavassistTransformerExecutor {
    * @param classNames could be {@code null} or empty. If it is {@code null} or empty
    *         nothing will be transformed.
    *
-   * @see #initializeClass(ClassPool, CtClass)
+   * @see #initializeClass(ClassPool, CtClass, Set)
    * @see IClassTransformer#shouldTransform(CtClass)
    * @see IClassTransformer#applyTransformations(CtClass)
    */
@@ -248,53 +426,179 @@ public class JavassistTransformerExecutor {
       return;
     }
     final String inDirectory = inputDir.trim();
+    final ClassPool classPool = buildClassPool();
     try {
-      final ClassPool classPool = configureClassPool(buildClassPool(), inDirectory);
+      configureClassPool(classPool, inDirectory);
       final String outDirectory = evaluateOutputDirectory(outputDir, inDirectory);
-      int classCounter = 0;
-      while (classNames.hasNext()) {
-        final String className = classNames.next();
-        if (null == className) {
-          continue;
+      final ClassOutput output = transformedClass -> {
+        writeFile(transformedClass, outDirectory);
+        return new File(outDirectory,
+                        transformedClass.getName().replace('.', File.separatorChar) + ".class")
+          .length();
+      };
+      transform(transformer, classPool, inDirectory, outDirectory, classNames, output);
+    } catch (final NotFoundException e) {
+      throw new RuntimeException(e.getMessage(), e);
+    } finally {
+      if (classPool instanceof BoundedClassPool) {
+        ((BoundedClassPool)classPool).release();
+      }
+    }
+  }
+
+  /**
+   * Transforms the passed class files in memory by all configured {@link IClassTransformer}, like
+   * {@link #execute()} but without reading or writing any file.
+   * <p>
+   * The passed classes are loaded from the passed class files and all further classes from the
+   * passed {@link ClassPool}. Nested classes modified by their outer class must be passed with it.
+   * </p>
+   *
+   * @param classFiles the class files by full qualified class name and must not be {@code null}
+   * @param dependencyClassPool the kept {@link ClassPool} of the dependencies and must not be
+   *         {@code null}
+   *
+   * @return the class files of the transformed classes by full qualified class name and never
+   *         {@code null}
+   *
+   * @see ClassBytesTransformer
+   * @since 2.1.0
+   */
+  Map<String, byte[]> transform(final Map<String, byte[]> classFiles,
+                                final ClassPool dependencyClassPool) {
+    final Map<String, byte[]> currentClassFiles = new HashMap<>(classFiles);
+    final Map<String, byte[]> transformedClassFiles = new LinkedHashMap<>();
+    final ClassOutput output = transformedClass -> {
+      final byte[] bytecode = null == classFileOptimizer ? transformedClass.toBytecode()
+          : classFileOptimizer.optimize(transformedClass.toBytecode());
+      transformedClassFiles.put(transformedClass.getName(), bytecode);
+      return bytecode.length;
+    };
+    for (final IClassTransformer transformer : chainExprEditorTransformers(transformerInstances)) {
+      if (null == transformer) {
+        continue;
+      }
+      final BoundedClassPool classPool = new BoundedClassPool(dependencyClassPool,
+                                                              classCacheSize);
+      classPool.childFirstLookup = true;
+      classPool.appendClassPath(new ClassFilesPath(currentClassFiles));
+      try {
+        transform(transformer, classPool, null, null, classFiles.keySet().iterator(), output);
+      } finally {
+        classPool.release();
+      }
+      // the next transformer continues with the transformed classes
+      currentClassFiles.putAll(transformedClassFiles);
+    }
+    return transformedClassFiles;
+  }
+
+  /**
+   * Transforms each class of the passed class names loaded by the passed {@link ClassPool} and
+   * passes the transformed classes and their modified nested classes to the passed output.
+   *
+   * @param inDirectory the directory of the class files or {@code null} if the class files are not
+   *         stored in a directory
+   * @param outDirectory the directory the passed output writes to or {@code null} if the classes
+   *         are kept in memory
+   */
+  private void transform(final IClassTransformer transformer,
+                         final ClassPool classPool,
+                         final String inDirectory,
+                         final String outDirectory,
+                         final Iterator<String> classNames,
+                         final ClassOutput output) {
+    final TransformationListeners listeners = createTransformationListeners();
+    listeners.transformerStarted(getName(transformer), inDirectory);
+    final ClassPoolBudget classPoolBudget = memoryBudget > 0L && null != inDirectory
+        ? new ClassPoolBudget(memoryBudget) : null;
+    final Set<String> foundTypes = new HashSet<>();
+    int classCounter = 0;
+    listeners.startPhase(TransformationPhase.SCANNING);
+    while (classNames.hasNext()) {
+      final String className = classNames.next();
+      listeners.classDiscovered(className);
+      if (null == className) {
+        listeners.startPhase(TransformationPhase.SCANNING);
+        continue;
+      }
+      boolean transformed = false;
+      try {
+        if (null != classPoolBudget) {
+          classPoolBudget.reserve(inDirectory, className);
         }
-        try {
-          LOGGER.debug("Got class name {}", className);
-          classPool.importPackage(className);
-          final CtClass candidateClass = classPool.get(className);
-          initializeClass(classPool, candidateClass);
-          if (!hasStamp(transformer, candidateClass) && transformer
-                  .shouldTransform(candidateClass)) {
-            transformer.applyTransformations(candidateClass);
-            applyStamp(transformer, candidateClass);
-            // #48
-            for (final CtClass nestedClass : candidateClass.getNestedClasses()) {
-              if (!nestedClass.isModified() || hasStamp(transformer, nestedClass)) {
-                continue;
-              }
-              final CtClass nestedCtClass = classPool.get(nestedClass.getName());
-              initializeClass(classPool, nestedCtClass);
-              applyStamp(transformer, nestedCtClass);
-              nestedCtClass.writeFile(outDirectory);
+        listeners.startPhase(TransformationPhase.CLASS_POOL_GET);
+        classPool.importPackage(className);
+        final CtClass candidateClass = classPool.get(className);
+        if (null != classPoolBudget) {
+          classPoolBudget.add(candidateClass);
+        }
+        listeners.classLoaded(candidateClass);
+        listeners.startPhase(TransformationPhase.INITIALIZE_CLASS);
+        initializeClass(classPool, candidateClass, foundTypes);
+        listeners.endPhase(TransformationPhase.INITIALIZE_CLASS);
+        listeners.startPhase(TransformationPhase.SHOULD_TRANSFORM);
+        final boolean stamped = isStamped(transformer, candidateClass);
+        final boolean accepted = !stamped && transformer.shouldTransform(candidateClass);
+        listeners.endPhase(TransformationPhase.SHOULD_TRANSFORM);
+        if (stamped) {
+          listeners.classSkippedByStamp(candidateClass);
+        }
+        if (accepted) {
+          backupPristineClass(className, inDirectory);
+          listeners.startPhase(TransformationPhase.APPLY_TRANSFORMATIONS);
+          transformer.applyTransformations(candidateClass);
+          listeners.classTransformed(candidateClass);
+          listeners.startPhase(TransformationPhase.STAMPING);
+          stamp(transformer, candidateClass);
+          listeners.endPhase(TransformationPhase.STAMPING);
+          // #48
+          for (final CtClass nestedClass : candidateClass.getNestedClasses()) {
+            if (null != classPoolBudget) {
+              classPoolBudget.add(nestedClass);
+            }
+            if (!nestedClass.isModified() || isStamped(transformer, nestedClass)) {
+              continue;
             }
-            candidateClass.writeFile(outDirectory);
-            LOGGER.debug("Class {} instrumented by {}", className, getName(transformer));
-            ++classCounter;
+            final String nestedClassName = nestedClass.getName();
+            backupPristineClass(nestedClassName, inDirectory);
+            listeners.startPhase(TransformationPhase.STAMPING);
+            final CtClass nestedCtClass = classPool.get(nestedClassName);
+            initializeClass(classPool, nestedCtClass, foundTypes);
+            stamp(transformer, nestedCtClass);
+            listeners.endPhase(TransformationPhase.STAMPING);
+            listeners.startPhase(TransformationPhase.WRITE_FILE);
+            listeners.classWritten(nestedClassName, outDirectory, output.write(nestedCtClass));
           }
-        } catch (final NotFoundException e) {
-          LOGGER.warn("Class {} could not be resolved due to dependencies not found on "
-                      + "current classpath (usually your class depends on \"provided\""
-                      + " scoped dependencies).", className);
-        } catch (final IOException | CannotCompileException | JavassistBuildException ex) {
-          // EOFException → IOException...
-          LOGGER.error("Class {} could not be instrumented due to initialize FAILED.",
-                       className,
-                       ex);
+          listeners.startPhase(TransformationPhase.WRITE_FILE);
+          listeners.classWritten(className, outDirectory, output.write(candidateClass));
+          ++classCounter;
+          transformed = true;
         }
+      } catch (final NotFoundException e) {
+        listeners.classFailed(e);
+        LOGGER.warn("Class {} could not be resolved due to dependencies not found on "
+                    + "current classpath (usually your class depends on \"provided\""
+                    + " scoped dependencies): {}", className, e.getMessage());
+      } catch (final IOException | CannotCompileException | JavassistBuildException ex) {
+        listeners.classFailed(ex);
+        // EOFException → IOException...
+        LOGGER.error("Class {} could not be instrumented due to initialize FAILED.",
+                     className,
+                     ex);
       }
-      LOGGER.info("#{} classes instrumented by {}", classCounter, getName(transformer));
-    } catch (final NotFoundException e) {
-      throw new RuntimeException(e.getMessage(), e);
+      listeners.classFinished(transformed);
+      listeners.startPhase(TransformationPhase.SCANNING);
+    }
+    listeners.endPhase(TransformationPhase.SCANNING);
+    if (null != classPoolBudget) {
+      classPoolBudget.flush();
+      LOGGER.info("{} classes detached to keep the class pool under {} bytes",
+                  classPoolBudget.getDetachedClasses(),
+                  memoryBudget);
     }
+    listeners.transformerFinished(classCounter);
+    LOGGER.info("#{} classes instrumented by {}", classCounter, getName(transformer));
   }
 
   /**
@@ -318,14 +622,19 @@ public class JavassistTransformerExecutor {
 
   /**
    * Creates a new instance of a {@link ClassPool}.
+   * <p>
+   * The pool is isolated from the JVM-wide {@link ClassPool#getDefault()}, caches at most the
+   * configured number of classes and is released at the end of the transformation.
+   * </p>
    *
    * @return never {@code null}
    *
    * @since 1.2.0
+   * @see #setClassCacheSize(int)
    */
   protected ClassPool buildClassPool() {
     // create new classpool for transform; don't blow up the default
-    return new ClassPool(ClassPool.getDefault());
+    return new BoundedClassPool(classCacheSize);
   }
 
   /**
@@ -455,12 +764,6 @@ public class JavassistTransformerExecutor {
     } catch (NotFoundException e) {
       hasStamp = false;
     }
-    if (LOGGER.isDebugEnabled()) {
-      LOGGER.debug("Stamp {}{} found in class {}",
-                   createStampFieldName(transformer),
-                   (hasStamp ? "" : " NOT"),
-                   candidateClass.getName());
-    }
     return hasStamp;
   }
 
@@ -477,7 +780,18 @@ public class JavassistTransformerExecutor {
    * @return never {@code null} or empty.
    */
   private String createStampFieldName(final IClassTransformer transformer) {
-    return STAMP_FIELD_NAME + transformer.getClass().getName().replaceAll("\\W", "_");
+    return createStampFieldName(transformer.getClass().getName());
+  }
+
+  /**
+   * Creates the name of the stamp field of the transformer with the passed class name.
+   *
+   * @param transformerClassName must not be {@code null}
+   *
+   * @return never {@code null} or empty.
+   */
+  static String createStampFieldName(final String transformerClassName) {
+    return STAMP_FIELD_NAME + transformerClassName.replaceAll("\\W", "_");
   }
 
   /**
@@ -508,32 +822,225 @@ public class JavassistTransformerExecutor {
     return stampField;
   }
 
-  private void initializeClass(final ClassPool classPool, final CtClass candidateClass)
+  /**
+   * Merges consecutive {@link ExprEditorClassTransformer} instances into one
+   * {@link ExprEditorTransformerChain}.
+   *
+   * <p>
+   * An instance of a class already merged into the current chain starts a new chain, because
+   * instances of the same class share their stamp and would both complete the same class.
+   * </p>
+   *
+   * @param transformers must not be {@code null} but may contain {@code null} elements
+   *
+   * @return never {@code null}
+   */
+  private List<IClassTransformer> chainExprEditorTransformers(
+          final IClassTransformer... transformers) {
+    final List<IClassTransformer> chained = new ArrayList<>(transformers.length);
+    final List<ExprEditorClassTransformer> exprEditorTransformers = new ArrayList<>();
+    for (final IClassTransformer transformer : transformers) {
+      if (transformer instanceof ExprEditorClassTransformer) {
+        if (containsClass(exprEditorTransformers, transformer.getClass())) {
+          addExprEditorTransformers(chained, exprEditorTransformers);
+        }
+        exprEditorTransformers.add((ExprEditorClassTransformer)transformer);
+        continue;
+      }
+      addExprEditorTransformers(chained, exprEditorTransformers);
+      chained.add(transformer);
+    }
+    addExprEditorTransformers(chained, exprEditorTransformers);
+    return chained;
+  }
+
+  private static boolean containsClass(final List<ExprEditorClassTransformer> transformers,
+                                       final Class<?> transformerClass) {
+    for (final ExprEditorClassTransformer transformer : transformers) {
+      if (transformer.getClass() == transformerClass) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void addExprEditorTransformers(final List<IClassTransformer> chained,
+                                         final List<ExprEditorClassTransformer> transformers) {
+    if (transformers.size() == 1) {
+      chained.add(transformers.get(0));
+    } else if (transformers.size() > 1) {
+      chained.add(new ExprEditorTransformerChain(this, transformers));
+    }
+    transformers.clear();
+  }
+
+  /**
+   * Indicates whether a class holds the stamp of the passed transformer or, in case of a
+   * {@link ExprEditorTransformerChain}, the stamps of all chained transformers.
+   */
+  private boolean isStamped(final IClassTransformer transformer, final CtClass candidateClass) {
+    if (!(transformer instanceof ExprEditorTransformerChain)) {
+      return hasStamp(transformer, candidateClass);
+    }
+    for (final IClassTransformer chained : ((ExprEditorTransformerChain)transformer)
+            .getTransformers()) {
+      if (!hasStamp(chained, candidateClass)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Applies the stamp of the passed transformer or, in case of a
+   * {@link ExprEditorTransformerChain}, the missing stamps of all transformers that accepted the
+   * class.
+   */
+  private void stamp(final IClassTransformer transformer, final CtClass candidateClass)
+          throws CannotCompileException {
+    if (!(transformer instanceof ExprEditorTransformerChain)) {
+      applyStamp(transformer, candidateClass);
+      return;
+    }
+    for (final IClassTransformer chained : ((ExprEditorTransformerChain)transformer)
+            .getAcceptedTransformers()) {
+      if (!hasStamp(chained, candidateClass)) {
+        applyStamp(chained, candidateClass);
+      }
+    }
+  }
+
+  /**
+   * Checks all supertypes of the passed class are on the class path, without loading them.
+   * <p>
+   * The supertypes are loaded by Javassist on demand only, e.g. if a transformer accepts the
+   * class. Missing supertypes, usually of {@code provided} scoped dependencies, are reported
+   * before the class is transformed. The supertype chain is walked by reading the names of the
+   * superclass and the interfaces from the class files found on the class path, without creating
+   * a {@link CtClass}. The types of the {@code java.} packages and the already found supertypes are
+   * not looked up again. Other packages, including {@code javax.}, are looked up, because they are
+   * often provided by the runtime environment only.
+   * </p>
+   *
+   * @throws NotFoundException with the name of the first missing supertype
+   */
+  private void initializeClass(final ClassPool classPool,
+                               final CtClass candidateClass,
+                               final Set<String> foundTypes)
           throws NotFoundException {
-    debugClassFile(candidateClass.getClassFile2());
-    // TODO hack to initialize class to avoid further NotFoundException (what's the right way of
-    // doing this?)
-    candidateClass.subtypeOf(classPool.get(Object.class.getName()));
+    final Deque<String> superTypes = new ArrayDeque<>();
+    addSuperTypes(superTypes, candidateClass.getClassFile2());
+    while (!superTypes.isEmpty()) {
+      final String superType = superTypes.pop();
+      if (superType.startsWith("java.") || foundTypes.contains(superType)) {
+        continue;
+      }
+      final URL classFileUrl = classPool.find(superType);
+      if (null == classFileUrl) {
+        throw new NotFoundException(superType);
+      }
+      foundTypes.add(superType);
+      try (InputStream classFile = classFileUrl.openStream()) {
+        addSuperTypes(superTypes, new ClassFile(new DataInputStream(classFile)));
+      } catch (final IOException e) {
+        throw new NotFoundException(superType, e);
+      }
+    }
+  }
+
+  private static void addSuperTypes(final Deque<String> superTypes, final ClassFile classFile) {
+    superTypes.addAll(Arrays.asList(classFile.getInterfaces()));
+    if (null != classFile.getSuperclass()) {
+      superTypes.add(classFile.getSuperclass());
+    }
+  }
+
+  private List<String> restorePristineClasses() {
+    final String inDirectory = getInputDirectory();
+    if (null == pristineClassStore || null == inDirectory || inDirectory.trim().isEmpty()
+        || !evaluateOutputDirectory(getOutputDirectory(), inDirectory).equals(inDirectory.trim())) {
+      return Collections.emptyList();
+    }
+    try {
+      return pristineClassStore.restore(inDirectory.trim());
+    } catch (final IOException e) {
+      throw new RuntimeException(e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Updates the index by the restricted class names and restores the stamped classes depending on
+   * them.
+   */
+  private Collection<String> updateClassDependencyIndex() {
+    final String inDirectory = getInputDirectory();
+    if (null == classDependencyIndex || null == inDirectory || inDirectory.trim().isEmpty()) {
+      return Collections.emptyList();
+    }
+    try {
+      final Set<String> dependentClassNames = classDependencyIndex.refresh(inDirectory.trim(),
+                                                                           classNames);
+      if (null == classNames) {
+        return Collections.emptyList();
+      }
+      if (null != pristineClassStore && !dependentClassNames.isEmpty()
+          && evaluateOutputDirectory(getOutputDirectory(), inDirectory)
+            .equals(inDirectory.trim())) {
+        pristineClassStore.restore(inDirectory.trim(), dependentClassNames);
+      } else if (!dependentClassNames.isEmpty()) {
+        LOGGER.warn("The {} classes depending on the passed classes are skipped if already "
+                    + "transformed, keep the pristine classes to transform them again",
+                    dependentClassNames.size());
+      }
+      LOGGER.info("{} classes depend on the {} passed classes",
+                  dependentClassNames.size(),
+                  classNames.size());
+      return dependentClassNames;
+    } catch (final IOException e) {
+      throw new RuntimeException(e.getMessage(), e);
+    }
+  }
+
+  private void backupPristineClass(final String className, final String inDirectory)
+          throws IOException {
+    if (null != pristineClassStore && null != inDirectory) {
+      pristineClassStore.backup(className, inDirectory);
+    }
+  }
+
+  private void writeFile(final CtClass transformedClass, final String outDirectory)
+          throws CannotCompileException, IOException {
+    if (null == classFileOptimizer) {
+      transformedClass.writeFile(outDirectory);
+    } else {
+      classFileOptimizer.writeFile(transformedClass, outDirectory);
+    }
   }
 
   private String getName(IClassTransformer transformer) {
+    if (transformer instanceof ExprEditorTransformerChain) {
+      return transformer.toString();
+    }
     return transformer.getClass().getName();
   }
 
-  private void debugClassFile(final ClassFile classFile) {
-    if (!LOGGER.isDebugEnabled()) {
-      return;
+  /**
+   * Creates the dispatcher to all registered listeners, a {@link FlightRecorderListener} while a
+   * flight recording is running and a listener logging the events if debug logging is enabled.
+   */
+  private TransformationListeners createTransformationListeners() {
+    final boolean flightRecording = FlightRecorderSupport.isRecording();
+    if (transformationListeners.isEmpty() && !flightRecording && !LOGGER.isDebugEnabled()) {
+      return TransformationListeners.NONE;
+    }
+    final List<TransformationListener> listeners = new ArrayList<>(transformationListeners);
+    if (flightRecording) {
+      listeners.add(new FlightRecorderListener());
     }
-    LOGGER.debug(" - class: {}", classFile.getName());
-    LOGGER.debug(" -- Java version: {}.{}",
-                 classFile.getMajorVersion(),
-                 classFile.getMinorVersion());
-    LOGGER.debug(" -- interface: {} abstract: {} final: {}",
-                 classFile.isInterface(),
-                 classFile.isAbstract(),
-                 classFile.isFinal());
-    LOGGER.debug(" -- extends class: {}", classFile.getSuperclass());
-    LOGGER.debug(" -- implements interfaces: {}", Arrays.deepToString(classFile.getInterfaces()));
+    if (LOGGER.isDebugEnabled()) {
+      listeners.add(new DebugLoggingListener());
+    }
+    return TransformationListeners.of(listeners);
   }
 
   private void debugClassLoader(final ClassPool classPool) {
@@ -551,4 +1058,56 @@ public class JavassistTransformerExecutor {
     }
   }
 
+  /**
+   * Logs the events of the transformation on debug level.
+   */
+  private static final class DebugLoggingListener implements TransformationListener {
+
+    private String transformerName;
+
+    @Override
+    public void transformerStarted(final String name, final String inputDirectory) {
+      transformerName = name;
+    }
+
+    @Override
+    public void classDiscovered(final String className, final long nanos) {
+      if (null != className) {
+        LOGGER.debug("Got class name {}", className);
+      }
+    }
+
+    @Override
+    public void classLoaded(final CtClass candidateClass, final long nanos) {
+      final ClassFile classFile = candidateClass.getClassFile2();
+      if (null == classFile) {
+        return;
+      }
+      LOGGER.debug(" - class: {}", classFile.getName());
+      LOGGER.debug(" -- Java version: {}.{}",
+                   classFile.getMajorVersion(),
+                   classFile.getMinorVersion());
+      LOGGER.debug(" -- interface: {} abstract: {} final: {}",
+                   classFile.isInterface(),
+                   classFile.isAbstract(),
+                   classFile.isFinal());
+      LOGGER.debug(" -- extends class: {}", classFile.getSuperclass());
+      LOGGER.debug(" -- implements interfaces: {}",
+                   Arrays.deepToString(classFile.getInterfaces()));
+    }
+
+    @Override
+    public void classSkippedByStamp(final CtClass candidateClass) {
+      LOGGER.debug("Stamp of {} found in class {}", transformerName, candidateClass.getName());
+    }
+
+    @Override
+    public void classWritten(final String className,
+                             final File classFile,
+                             final long bytes,
+                             final long nanos) {
+      LOGGER.debug("Class {} instrumented by {}", className, transformerName);
+    }
+  }
+
 }
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import static java.lang.Thread.currentThread;
+
+import java.io.File;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javassist.ClassPool;
+import javassist.LoaderClassPath;
+import javassist.NotFoundException;
+import javassist.build.IClassTransformer;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Watches the build directories and transforms the classes written by the compiler or the IDE
+ * until the build is stopped, e.g. by Ctrl+C.
+ *
+ * <p>
+ * The transformers are instantiated and configured like by the {@code javassist} goal and kept in
+ * memory, like the classes of the dependencies loaded by Javassist; the classes of the watched and
+ * other class directories are loaded again by each transformation. All classes are transformed
+ * once at the start, afterwards only the changed classes. The classes written by the goal itself
+ * don't trigger a further transformation. Start the goal after compiling, e.g.
+ * {@code mvn compile javassist:watch}.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+// @formatter:off
+@Mojo(name = "watch", requiresDependencyResolution = ResolutionScope.COMPILE_PLUS_RUNTIME)
+// @formatter:on
+public class JavassistWatchMojo extends AbstractJavassistMojo {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(JavassistWatchMojo.class);
+
+  private static final long POLL_MILLIS = 1000L;
+
+  /**
+   * The time in milliseconds without further write after a write, before the changed classes are
+   * transformed.
+   *
+   * <pre>
+   * {@code
+   * ...
+   * <configuration>
+   *   <debounceMillis>100</debounceMillis>
+   * </configuration>
+   * ...
+   * }
+   * </pre>
+   */
+  @Parameter(defaultValue = "100", property = "javassist.watch.debounceMillis", required = false)
+  private long debounceMillis;
+
+  @Override
+  public void execute() throws MojoExecutionException {
+    if (isSkip()) {
+      LOGGER.info("Skipping executing.");
+      return;
+    }
+
+    final ClassLoader originalContextClassLoader = currentThread().getContextClassLoader();
+    try {
+      final List<URL> classPath = new ArrayList<URL>();
+      final Set<String> classDirectories = new LinkedHashSet<>();
+      final List<File> jarFiles = new ArrayList<>();
+      for (final String runtimeResource : getProject().getRuntimeClasspathElements()) {
+        classPath.add(resolveUrl(runtimeResource));
+        final File file = new File(runtimeResource);
+        if (file.isDirectory()) {
+          classDirectories.add(file.getAbsolutePath());
+        } else if (file.isFile()) {
+          jarFiles.add(file);
+        }
+      }
+      final List<String> inputDirectories = new ArrayList<>();
+      inputDirectories.add(computeInputDirectory());
+      if (getIncludeTestClasses()) {
+        inputDirectories.add(computeTestInputDirectory());
+      }
+      for (final String inputDirectory : inputDirectories) {
+        classPath.add(resolveUrl(inputDirectory));
+        classDirectories.add(new File(inputDirectory).getAbsolutePath());
+      }
+      loadAdditionalClassPath(classPath);
+
+      final IClassTransformer[] transformers = instantiateTransformerClasses(
+              currentThread().getContextClassLoader(), getTransformerClasses());
+      watch(inputDirectories,
+            transformers,
+            createDependencyClassPool(originalContextClassLoader, jarFiles),
+            new ArrayList<>(classDirectories));
+    } catch (final InterruptedException e) {
+      currentThread().interrupt();
+      LOGGER.info("Watching stopped.");
+    } catch (final Exception e) {
+      getLog().error(e.getMessage(), e);
+      throw new MojoExecutionException(e.getMessage(), e);
+    } finally {
+      currentThread().setContextClassLoader(originalContextClassLoader);
+    }
+  }
+
+  /**
+   * Creates the kept {@link ClassPool} of the classes not changing while watching: the plugin and
+   * the JAR files of the project. The class directories are not part of this pool, because their
+   * classes are written again while watching.
+   */
+  private static BoundedClassPool createDependencyClassPool(final ClassLoader pluginClassLoader,
+                                                            final List<File> jarFiles) {
+    final BoundedClassPool dependencyClassPool = new BoundedClassPool(
+            BoundedClassPool.DEFAULT_CAPACITY);
+    dependencyClassPool.appendSystemPath();
+    for (final File jarFile : jarFiles) {
+      try {
+        dependencyClassPool.appendClassPath(jarFile.getAbsolutePath());
+      } catch (final NotFoundException e) {
+        LOGGER.warn("Class path element {} ignored: {}", jarFile, e.getMessage());
+      }
+    }
+    dependencyClassPool.appendClassPath(new LoaderClassPath(pluginClassLoader));
+    return dependencyClassPool;
+  }
+
+  private void watch(final List<String> inputDirectories,
+                     final IClassTransformer[] transformers,
+                     final BoundedClassPool dependencyClassPool,
+                     final List<String> classDirectories) throws Exception {
+    final JavassistTransformerExecutor executor = new WarmClassPoolExecutor(dependencyClassPool,
+                                                                            classDirectories);
+    executor.setTransformerClasses(transformers);
+    try (ClassDirectoryWatcher watcher = new ClassDirectoryWatcher(inputDirectories,
+                                                                   debounceMillis)) {
+      executor.addTransformationListener(new TransformationListener() {
+
+        @Override
+        public void classWritten(final String className,
+                                 final File classFile,
+                                 final long bytes,
+                                 final long nanos) {
+          watcher.ignore(classFile);
+        }
+      });
+      for (final String inputDirectory : inputDirectories) {
+        transform(executor, inputDirectory, null);
+      }
+      LOGGER.info("Watching {} for changed classes, stop with Ctrl+C", inputDirectories);
+      while (!currentThread().isInterrupted()) {
+        final Map<String, Set<String>> changes = watcher.awaitChanges(POLL_MILLIS);
+        for (final Map.Entry<String, Set<String>> change : changes.entrySet()) {
+          transform(executor, change.getKey(), change.getValue());
+        }
+      }
+    } finally {
+      dependencyClassPool.release();
+    }
+  }
+
+  private void transform(final JavassistTransformerExecutor executor,
+                         final String inputDirectory,
+                         final Set<String> classNames) {
+    final long startTime = System.nanoTime();
+    executor.setInputDirectory(inputDirectory);
+    executor.setOutputDirectory(inputDirectory);
+    executor.setClassNames(classNames);
+    executor.execute();
+    LOGGER.info("{} classes of {} processed in {} ms",
+                null == classNames ? "All" : classNames.size(),
+                inputDirectory,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+  }
+
+  /**
+   * The debounce time in milliseconds.
+   *
+   * @return maybe less than {@code 1}
+   */
+  public long getDebounceMillis() {
+    return debounceMillis;
+  }
+}
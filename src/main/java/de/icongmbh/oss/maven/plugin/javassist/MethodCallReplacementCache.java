@@ -0,0 +1,342 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javassist.CannotCompileException;
+import javassist.CtClass;
+import javassist.CtMethod;
+import javassist.NotFoundException;
+import javassist.bytecode.AccessFlag;
+import javassist.bytecode.Bytecode;
+import javassist.bytecode.CodeAttribute;
+import javassist.bytecode.ConstPool;
+import javassist.bytecode.LocalVariableAttribute;
+import javassist.bytecode.MethodInfo;
+import javassist.bytecode.Opcode;
+import javassist.expr.ExprEditor;
+import javassist.expr.MethodCall;
+
+/**
+ * Replaces method calls by Javassist statements and compiles each statement only once per class
+ * and called method.
+ *
+ * <p>
+ * {@link MethodCall#replace(String)} lexes, parses and compiles the statement at each call site.
+ * This cache replaces the first matching call site the same way. From the second call site of the
+ * same method within the same class on, the statement is compiled once into a private static
+ * synthetic bridge method of the class and each further call site is re-bound by rewriting the
+ * invoke instruction in place to call this bridge. The bridge takes the target object (if any) and
+ * the arguments of the call, so {@code $0}, {@code $1..n}, {@code $$}, {@code $args}, {@code $_},
+ * {@code $r}, {@code $sig}, {@code $type}, {@code $class} and {@code $proceed} keep their meaning.
+ * </p>
+ * <p>
+ * A call site is re-bound to the bridge only if the statement names no local variable of the
+ * calling method (see its {@code LocalVariableTable}), because such a name is resolved to the local
+ * variable in place but to a field or class in the bridge. Statements which can not be compiled
+ * into a bridge (e.g. because they access {@code this}) and calls via {@code invokespecial} or
+ * within interfaces are always replaced in place.
+ * </p>
+ * <p>
+ * An instance is not thread-safe and caches the bridges of the last class only.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+public class MethodCallReplacementCache {
+
+  /**
+   * Name prefix of the generated bridge methods.
+   */
+  public static final String BRIDGE_METHOD_NAME_PREFIX = "__javassist_replacement$";
+
+  // marks a statement/call combination replaced once in place
+  private static final String NOT_COMPILED = "";
+
+  // marks a statement/call combination which can't be compiled into a bridge
+  private static final String NO_BRIDGE = "-";
+
+  private CtClass currentClass;
+
+  private final Map<Key, String> bridges = new HashMap<>();
+
+  private int bridgeCounter;
+
+  /**
+   * Replaces the passed method call by the passed Javassist statement.
+   *
+   * @param methodCall must not be {@code null}
+   * @param statement must not be {@code null}
+   *
+   * @throws CannotCompileException if the statement could not be compiled
+   * @see MethodCall#replace(String)
+   */
+  public void replace(final MethodCall methodCall, final String statement)
+          throws CannotCompileException {
+    final CtClass enclosingClass = methodCall.getEnclosingClass();
+    if (enclosingClass != currentClass) {
+      currentClass = enclosingClass;
+      bridges.clear();
+      bridgeCounter = 0;
+    }
+    final MethodInfo callerInfo = methodCall.where().getMethodInfo();
+    final CodeAttribute callerCode = callerInfo.getCodeAttribute();
+    final int position = methodCall.indexOfBytecode();
+    final byte[] code = callerCode.getCode();
+    final int opcode = code[position] & 0xff;
+    if (enclosingClass.isInterface()
+        || (Opcode.INVOKEVIRTUAL != opcode && Opcode.INVOKEINTERFACE != opcode
+            && Opcode.INVOKESTATIC != opcode)) {
+      methodCall.replace(statement);
+      return;
+    }
+    final int methodrefIndex = ((code[position + 1] & 0xff) << 8) | (code[position + 2] & 0xff);
+    final Key key = new Key(statement, opcode, methodrefIndex);
+    String bridgeName = bridges.get(key);
+    if (null == bridgeName) {
+      // first call site
+      bridges.put(key, NOT_COMPILED);
+      methodCall.replace(statement);
+      return;
+    }
+    if (NOT_COMPILED.equals(bridgeName)) {
+      bridgeName = createBridge(enclosingClass, callerInfo.getConstPool(), opcode, methodrefIndex,
+                                statement);
+      bridges.put(key, bridgeName);
+    }
+    if (NO_BRIDGE.equals(bridgeName) || namesLocalVariable(statement, callerCode)) {
+      methodCall.replace(statement);
+      return;
+    }
+    final ConstPool constPool = callerInfo.getConstPool();
+    final int bridgeIndex = constPool
+            .addMethodrefInfo(constPool.addClassInfo(enclosingClass.getName()),
+                              bridgeName,
+                              bridgeDescriptor(constPool, opcode, methodrefIndex));
+    code[position] = (byte)Opcode.INVOKESTATIC;
+    code[position + 1] = (byte)(bridgeIndex >>> 8);
+    code[position + 2] = (byte)bridgeIndex;
+    if (Opcode.INVOKEINTERFACE == opcode) {
+      code[position + 3] = (byte)Opcode.NOP;
+      code[position + 4] = (byte)Opcode.NOP;
+    }
+  }
+
+  /**
+   * Indicates whether an identifier of the passed statement, not preceded by a {@code '.'} and not
+   * within a string or character literal, is the name of a local variable of the passed code.
+   */
+  private static boolean namesLocalVariable(final String statement,
+                                            final CodeAttribute callerCode) {
+    final LocalVariableAttribute localVariables = (LocalVariableAttribute)callerCode
+            .getAttribute(LocalVariableAttribute.tag);
+    if (null == localVariables || 0 == localVariables.tableLength()) {
+      return false;
+    }
+    final Set<String> localVariableNames = new HashSet<>();
+    for (int index = 0; index < localVariables.tableLength(); ++index) {
+      localVariableNames.add(localVariables.variableName(index));
+    }
+    char previous = ' ';
+    int index = 0;
+    while (index < statement.length()) {
+      final char character = statement.charAt(index);
+      if ('"' == character || '\'' == character) {
+        index = skipLiteral(statement, index);
+        previous = character;
+      } else if (Character.isJavaIdentifierStart(character)) {
+        int end = index + 1;
+        while (end < statement.length() && Character.isJavaIdentifierPart(statement.charAt(end))) {
+          ++end;
+        }
+        if ('.' != previous && localVariableNames.contains(statement.substring(index, end))) {
+          return true;
+        }
+        index = end;
+        previous = 'a';
+      } else {
+        if (!Character.isWhitespace(character)) {
+          previous = character;
+        }
+        ++index;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the index after the string or character literal starting at the passed index.
+   */
+  private static int skipLiteral(final String statement, final int start) {
+    final char quote = statement.charAt(start);
+    int index = start + 1;
+    while (index < statement.length() && quote != statement.charAt(index)) {
+      index += '\\' == statement.charAt(index) ? 2 : 1;
+    }
+    return index + 1;
+  }
+
+  private String createBridge(final CtClass enclosingClass,
+                              final ConstPool constPool,
+                              final int opcode,
+                              final int methodrefIndex,
+                              final String statement) {
+    final String bridgeName = nextBridgeName(enclosingClass);
+    final String bridgeDescriptor = bridgeDescriptor(constPool, opcode, methodrefIndex);
+    final MethodInfo bridgeInfo = new MethodInfo(constPool, bridgeName, bridgeDescriptor);
+    bridgeInfo.setAccessFlags(AccessFlag.PRIVATE | AccessFlag.STATIC | AccessFlag.SYNTHETIC);
+    final Bytecode bytecode = new Bytecode(constPool);
+    final int locals = addLoadParameters(bytecode, bridgeDescriptor);
+    bytecode.addOpcode(opcode);
+    bytecode.addIndex(methodrefIndex);
+    if (Opcode.INVOKEINTERFACE == opcode) {
+      bytecode.add(locals);
+      bytecode.add(0);
+    }
+    final char returnType = bridgeDescriptor.charAt(bridgeDescriptor.indexOf(')') + 1);
+    bytecode.addOpcode(returnOpcode(returnType));
+    bytecode.setMaxLocals(locals);
+    bytecode.setMaxStack(Math.max(locals, 2));
+    bridgeInfo.setCodeAttribute(bytecode.toCodeAttribute());
+    try {
+      final CtMethod bridge = CtMethod.make(bridgeInfo, enclosingClass);
+      enclosingClass.addMethod(bridge);
+      try {
+        bridge.instrument(new ExprEditor() {
+          @Override
+          public void edit(final MethodCall methodCall) throws CannotCompileException {
+            methodCall.replace(statement);
+          }
+        });
+        return bridgeName;
+      } catch (final CannotCompileException e) {
+        enclosingClass.removeMethod(bridge);
+        return NO_BRIDGE;
+      }
+    } catch (final CannotCompileException | NotFoundException e) {
+      return NO_BRIDGE;
+    }
+  }
+
+  private String nextBridgeName(final CtClass enclosingClass) {
+    String bridgeName;
+    do {
+      bridgeName = BRIDGE_METHOD_NAME_PREFIX + bridgeCounter++;
+    } while (null != enclosingClass.getClassFile2().getMethod(bridgeName));
+    return bridgeName;
+  }
+
+  private static String bridgeDescriptor(final ConstPool constPool,
+                                         final int opcode,
+                                         final int methodrefIndex) {
+    final String descriptor = Opcode.INVOKEINTERFACE == opcode
+            ? constPool.getInterfaceMethodrefType(methodrefIndex)
+            : constPool.getMethodrefType(methodrefIndex);
+    if (Opcode.INVOKESTATIC == opcode) {
+      return descriptor;
+    }
+    final String owner = Opcode.INVOKEINTERFACE == opcode
+            ? constPool.getInterfaceMethodrefClassName(methodrefIndex)
+            : constPool.getMethodrefClassName(methodrefIndex);
+    final String ownerDescriptor = owner.charAt(0) == '[' ? owner.replace('.', '/')
+            : 'L' + owner.replace('.', '/') + ';';
+    return "(" + ownerDescriptor + descriptor.substring(1);
+  }
+
+  private static int addLoadParameters(final Bytecode bytecode, final String descriptor) {
+    int slot = 0;
+    int index = 1;
+    while (descriptor.charAt(index) != ')') {
+      final char type = descriptor.charAt(index);
+      int end = index;
+      while (descriptor.charAt(end) == '[') {
+        ++end;
+      }
+      if (descriptor.charAt(end) == 'L') {
+        end = descriptor.indexOf(';', end);
+      }
+      if (end > index) {
+        // object or array
+        bytecode.addAload(slot++);
+      } else if (type == 'J') {
+        bytecode.addLload(slot);
+        slot += 2;
+      } else if (type == 'D') {
+        bytecode.addDload(slot);
+        slot += 2;
+      } else if (type == 'F') {
+        bytecode.addFload(slot++);
+      } else {
+        bytecode.addIload(slot++);
+      }
+      index = end + 1;
+    }
+    return slot;
+  }
+
+  private static int returnOpcode(final char returnType) {
+    switch (returnType) {
+      case 'V':
+        return Opcode.RETURN;
+      case 'J':
+        return Opcode.LRETURN;
+      case 'D':
+        return Opcode.DRETURN;
+      case 'F':
+        return Opcode.FRETURN;
+      case 'L':
+      case '[':
+        return Opcode.ARETURN;
+      default:
+        return Opcode.IRETURN;
+    }
+  }
+
+  private static final class Key {
+
+    private final String statement;
+
+    private final int opcode;
+
+    private final int methodrefIndex;
+
+    private Key(final String statement, final int opcode, final int methodrefIndex) {
+      this.statement = statement;
+      this.opcode = opcode;
+      this.methodrefIndex = methodrefIndex;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      final Key other = (Key)obj;
+      return opcode == other.opcode && methodrefIndex == other.methodrefIndex
+             && statement.equals(other.statement);
+    }
+
+    @Override
+    public int hashCode() {
+      return (31 * opcode + methodrefIndex) * 31 + statement.hashCode();
+    }
+  }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javassist.CtClass;
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.CodeAttribute;
+import javassist.bytecode.MethodInfo;
+
+/**
+ * Compares the bytecode size of each method before and after each transformer and collects the
+ * methods crossing a size threshold of the HotSpot JIT compiler.
+ *
+ * <p>
+ * Transformations make methods bigger. A method growing over {@value #MAX_INLINE_SIZE} bytes
+ * ({@code -XX:MaxInlineSize}) is no longer inlined if it is not hot, over
+ * {@value #FREQ_INLINE_SIZE} bytes ({@code -XX:FreqInlineSize}) it is not inlined at all and over
+ * {@value #HUGE_METHOD_LIMIT} bytes ({@code -XX:HugeMethodLimit}) it is not compiled at all and
+ * stays interpreted. The thresholds are the defaults of the JVM.
+ * </p>
+ * <p>
+ * An instance is not thread-safe.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+public class MethodSizeAnalyzer implements TransformationListener {
+
+  /**
+   * Maximum bytecode size of a method to be inlined if not hot.
+   */
+  public static final int MAX_INLINE_SIZE = 35;
+
+  /**
+   * Maximum bytecode size of a hot method to be inlined.
+   */
+  public static final int FREQ_INLINE_SIZE = 325;
+
+  /**
+   * Maximum bytecode size of a method to be compiled.
+   */
+  public static final int HUGE_METHOD_LIMIT = 8000;
+
+  private static final int[] THRESHOLDS = {MAX_INLINE_SIZE, FREQ_INLINE_SIZE, HUGE_METHOD_LIMIT};
+
+  private final Map<String, Integer> sizesBefore = new HashMap<>();
+
+  private final List<Finding> findings = new ArrayList<>();
+
+  private String transformerName;
+
+  @Override
+  public void transformerStarted(final String name, final String inputDirectory) {
+    transformerName = name;
+  }
+
+  @Override
+  public void classLoaded(final CtClass candidateClass, final long nanos) {
+    sizesBefore.clear();
+    final ClassFile classFile = candidateClass.getClassFile2();
+    if (null == classFile) {
+      return;
+    }
+    for (final MethodInfo method : classFile.getMethods()) {
+      final CodeAttribute code = method.getCodeAttribute();
+      if (null != code) {
+        sizesBefore.put(key(method), code.getCodeLength());
+      }
+    }
+  }
+
+  @Override
+  public void classTransformed(final CtClass transformedClass, final long nanos) {
+    final ClassFile classFile = transformedClass.getClassFile2();
+    if (null == classFile) {
+      return;
+    }
+    for (final MethodInfo method : classFile.getMethods()) {
+      final CodeAttribute code = method.getCodeAttribute();
+      if (null == code) {
+        continue;
+      }
+      final Integer before = sizesBefore.get(key(method));
+      // methods added by the transformer start at 0
+      final int sizeBefore = null == before ? 0 : before;
+      final int sizeAfter = code.getCodeLength();
+      for (final int threshold : THRESHOLDS) {
+        if (sizeBefore <= threshold && sizeAfter > threshold) {
+          findings.add(new Finding(transformerName, transformedClass.getName(), method.getName()
+                                   + method.getDescriptor(), sizeBefore, sizeAfter, threshold));
+        }
+      }
+    }
+    sizesBefore.clear();
+  }
+
+  /**
+   * Returns all methods which crossed a threshold in order of the transformations.
+   *
+   * @return never {@code null}
+   */
+  public List<Finding> getFindings() {
+    return Collections.unmodifiableList(findings);
+  }
+
+  /**
+   * Returns the methods grown over {@value #HUGE_METHOD_LIMIT} bytes.
+   *
+   * @return never {@code null}
+   */
+  public List<Finding> getHugeMethods() {
+    final List<Finding> hugeMethods = new ArrayList<>();
+    for (final Finding finding : findings) {
+      if (HUGE_METHOD_LIMIT == finding.threshold) {
+        hugeMethods.add(finding);
+      }
+    }
+    return hugeMethods;
+  }
+
+  private static String key(final MethodInfo method) {
+    return method.getName() + method.getDescriptor();
+  }
+
+  /**
+   * A method crossed a threshold by a transformer.
+   */
+  public static final class Finding {
+
+    private final String transformerName;
+
+    private final String className;
+
+    private final String method;
+
+    private final int sizeBefore;
+
+    private final int sizeAfter;
+
+    private final int threshold;
+
+    private Finding(final String transformerName,
+                    final String className,
+                    final String method,
+                    final int sizeBefore,
+                    final int sizeAfter,
+                    final int threshold) {
+      this.transformerName = transformerName;
+      this.className = className;
+      this.method = method;
+      this.sizeBefore = sizeBefore;
+      this.sizeAfter = sizeAfter;
+      this.threshold = threshold;
+    }
+
+    /**
+     * Returns the name of the transformer.
+     *
+     * @return maybe {@code null}
+     */
+    public String getTransformerName() {
+      return transformerName;
+    }
+
+    /**
+     * Returns the name of the class.
+     *
+     * @return never {@code null}
+     */
+    public String getClassName() {
+      return className;
+    }
+
+    /**
+     * Returns the name and descriptor of the method.
+     *
+     * @return never {@code null}
+     */
+    public String getMethod() {
+      return method;
+    }
+
+    /**
+     * Returns the bytecode size before the transformation.
+     *
+     * @return {@code 0} for methods added by the transformer
+     */
+    public int getSizeBefore() {
+      return sizeBefore;
+    }
+
+    /**
+     * Returns the bytecode size after the transformation.
+     *
+     * @return bytes
+     */
+    public int getSizeAfter() {
+      return sizeAfter;
+    }
+
+    /**
+     * Returns the crossed threshold.
+     *
+     * @return {@link #MAX_INLINE_SIZE}, {@link #FREQ_INLINE_SIZE} or {@link #HUGE_METHOD_LIMIT}
+     */
+    public int getThreshold() {
+      return threshold;
+    }
+
+    @Override
+    public String toString() {
+      return className + '.' + method + " grew from " + sizeBefore + " to " + sizeAfter
+             + " bytes over " + threshold + " bytes by " + transformerName;
+    }
+  }
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.FieldInfo;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.filefilter.SuffixFileFilter;
+import org.apache.commons.io.filefilter.TrueFileFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the untransformed bytes of every class rewritten in place by the
+ * {@link JavassistTransformerExecutor}.
+ *
+ * <p>
+ * A stamped class is skipped by its transformer, so a changed configuration of a transformer has
+ * no effect on the already transformed classes until they are compiled again. This store records
+ * the fingerprint of the configuration of each transformer (see
+ * {@link ClassTransformerConfiguration#getFingerprint()}). Before the next transformation
+ * {@link #restore(String)} copies the untransformed bytes back over all classes holding the stamp
+ * of a transformer whose fingerprint changed or which is no longer configured. These classes are
+ * transformed again by all transformers, all others keep their stamps and are skipped.
+ * </p>
+ * <p>
+ * Only the default stamps (see {@link JavassistTransformerExecutor#applyStamp}) are recognized.
+ * An instance is bound to one class directory and is not thread-safe.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+public class PristineClassStore {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PristineClassStore.class);
+
+  private static final String FINGERPRINTS_FILE_NAME = "fingerprints.properties";
+
+  private static final String CLASS_FILE_SUFFIX = ".class";
+
+  private final File directory;
+
+  private final Map<String, String> fingerprints;
+
+  /**
+   * Creates a store in the passed directory.
+   *
+   * @param directory directory of the untransformed class files and the fingerprints and must
+   *         not be {@code null}
+   * @param fingerprints the fingerprint of the current configuration per full qualified class
+   *         name of the transformers and must not be {@code null}
+   *
+   * @throws NullPointerException if passed {@code directory} or {@code fingerprints} is
+   *         {@code null}
+   */
+  public PristineClassStore(final File directory, final Map<String, String> fingerprints) {
+    if (null == directory) {
+      throw new NullPointerException("directory");
+    }
+    this.directory = directory;
+    this.fingerprints = new LinkedHashMap<>();
+    for (final Map.Entry<String, String> fingerprint : fingerprints.entrySet()) {
+      this.fingerprints.put(JavassistTransformerExecutor.createStampFieldName(fingerprint.getKey()),
+                            fingerprint.getValue());
+    }
+  }
+
+  /**
+   * Creates the fingerprints of the passed configurations. The fingerprints of multiple
+   * configurations of the same transformer class are combined, because they share one stamp.
+   *
+   * @param configurations must not be {@code null}
+   *
+   * @return the fingerprint per full qualified class name of the transformers and never
+   *         {@code null}
+   */
+  public static Map<String, String> fingerprints(
+          final ClassTransformerConfiguration... configurations) {
+    final Map<String, String> fingerprints = new LinkedHashMap<>();
+    for (final ClassTransformerConfiguration configuration : configurations) {
+      final String className = String.valueOf(configuration.getClassName()).trim();
+      final String fingerprint = configuration.getFingerprint();
+      final String previous = fingerprints.get(className);
+      fingerprints.put(className, null == previous ? fingerprint : previous + "," + fingerprint);
+    }
+    return fingerprints;
+  }
+
+  /**
+   * Keeps the bytes of the passed class in the passed directory if it holds no stamp, so it was
+   * not transformed yet.
+   *
+   * <p>
+   * A class compiled again replaces its stored bytes.
+   * </p>
+   *
+   * @param className full qualified name of the class and must not be {@code null}
+   * @param classDirectory must not be {@code null}
+   *
+   * @throws IOException if the class could not be read or stored
+   */
+  public void backup(final String className, final String classDirectory) throws IOException {
+    final File classFile = classFile(new File(classDirectory), className);
+    if (!classFile.isFile()) {
+      return;
+    }
+    final byte[] bytecode = Files.readAllBytes(classFile.toPath());
+    if (!readStamps(new ByteArrayInputStream(bytecode)).isEmpty()) {
+      return;
+    }
+    final File pristineFile = classFile(directory, className);
+    FileUtils.forceMkdirParent(pristineFile);
+    Files.write(pristineFile.toPath(), bytecode);
+  }
+
+  /**
+   * Restores the untransformed bytes of all classes in the passed directory holding the stamp of
+   * a transformer whose fingerprint changed since the last call and records the current
+   * fingerprints.
+   *
+   * @param classDirectory must not be {@code null}
+   *
+   * @return full qualified names of the restored classes and never {@code null}
+   *
+   * @throws IOException if a class could not be restored or the fingerprints not be written
+   */
+  public List<String> restore(final String classDirectory) throws IOException {
+    final Set<String> changedStamps = changedStamps(readFingerprints());
+    final List<String> restored = new ArrayList<>();
+    if (!changedStamps.isEmpty() && directory.isDirectory()) {
+      final Iterator<File> pristineFiles = FileUtils
+              .iterateFiles(directory,
+                            new SuffixFileFilter(CLASS_FILE_SUFFIX),
+                            TrueFileFilter.INSTANCE);
+      final String directoryPath = directory.getAbsolutePath();
+      while (pristineFiles.hasNext()) {
+        final File pristineFile = pristineFiles.next();
+        final String relativePath = pristineFile.getAbsolutePath()
+                .substring(directoryPath.length() + 1);
+        final File classFile = new File(classDirectory, relativePath);
+        if (!classFile.isFile()) {
+          Files.delete(pristineFile.toPath());
+          continue;
+        }
+        if (containsAny(readStamps(classFile), changedStamps)) {
+          Files.copy(pristineFile.toPath(),
+                     classFile.toPath(),
+                     StandardCopyOption.REPLACE_EXISTING);
+          restored.add(ClassnameExtractor.extractClassNameFromFile(new File(classDirectory),
+                                                                   classFile));
+        }
+      }
+    }
+    writeFingerprints();
+    if (!restored.isEmpty()) {
+      LOGGER.info("{} classes restored due to changed transformer configuration",
+                  restored.size());
+    }
+    return restored;
+  }
+
+  /**
+   * Restores the untransformed bytes of the passed classes in the passed directory, e.g. of the
+   * classes depending on a changed class (see {@link ClassDependencyIndex}), if they are stamped.
+   *
+   * @param classDirectory must not be {@code null}
+   * @param classNames full qualified class names and must not be {@code null}
+   *
+   * @return full qualified names of the restored classes and never {@code null}
+   *
+   * @throws IOException if a class could not be restored
+   */
+  public List<String> restore(final String classDirectory, final Collection<String> classNames)
+          throws IOException {
+    final List<String> restored = new ArrayList<>();
+    for (final String className : classNames) {
+      final File pristineFile = classFile(directory, className);
+      final File classFile = classFile(new File(classDirectory), className);
+      if (pristineFile.isFile() && classFile.isFile() && !readStamps(classFile).isEmpty()) {
+        Files.copy(pristineFile.toPath(), classFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        restored.add(className);
+      }
+    }
+    return restored;
+  }
+
+  private Set<String> changedStamps(final Properties previousFingerprints) {
+    final Set<String> changedStamps = new HashSet<>();
+    for (final String stamp : previousFingerprints.stringPropertyNames()) {
+      if (!previousFingerprints.getProperty(stamp).equals(fingerprints.get(stamp))) {
+        changedStamps.add(stamp);
+      }
+    }
+    return changedStamps;
+  }
+
+  private Properties readFingerprints() throws IOException {
+    final Properties previousFingerprints = new Properties();
+    final File fingerprintsFile = new File(directory, FINGERPRINTS_FILE_NAME);
+    if (fingerprintsFile.isFile()) {
+      try (InputStream in = Files.newInputStream(fingerprintsFile.toPath())) {
+        previousFingerprints.load(in);
+      }
+    }
+    return previousFingerprints;
+  }
+
+  private void writeFingerprints() throws IOException {
+    final Properties currentFingerprints = new Properties();
+    currentFingerprints.putAll(fingerprints);
+    FileUtils.forceMkdir(directory);
+    final File fingerprintsFile = new File(directory, FINGERPRINTS_FILE_NAME);
+    try (OutputStream out = Files.newOutputStream(fingerprintsFile.toPath())) {
+      currentFingerprints.store(out, "fingerprints of the transformer configurations per stamp");
+    }
+  }
+
+  private static Set<String> readStamps(final File classFile) throws IOException {
+    try (InputStream in = Files.newInputStream(classFile.toPath())) {
+      return readStamps(in);
+    }
+  }
+
+  private static Set<String> readStamps(final InputStream in) throws IOException {
+    final ClassFile classFile = new ClassFile(new DataInputStream(in));
+    final Set<String> stamps = new HashSet<>();
+    for (final FieldInfo field : classFile.getFields()) {
+      if (field.getName().startsWith(JavassistTransformerExecutor.STAMP_FIELD_NAME)) {
+        stamps.add(field.getName());
+      }
+    }
+    return stamps;
+  }
+
+  private static boolean containsAny(final Set<String> stamps, final Collection<String> changed) {
+    for (final String stamp : stamps) {
+      if (changed.contains(stamp)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static File classFile(final File classDirectory, final String className) {
+    return new File(classDirectory, className.replace('.', File.separatorChar) + CLASS_FILE_SUFFIX);
+  }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import java.io.File;
+import java.util.Properties;
+
+/**
+ * Transformer receiving the base directory of the transformed project, e.g. to resolve relative
+ * paths of its configuration.
+ *
+ * <p>
+ * The plugin passes the base directory before {@link ClassTransformer#configure(Properties)}
+ * is called. It is neither part of the configured properties nor of the fingerprint of the
+ * transformer, so moving the project does not invalidate already transformed classes.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+public interface ProjectBasedirAware {
+
+  /**
+   * Passes the base directory of the transformed project.
+   *
+   * @param projectBasedir never {@code null}
+   */
+  void setProjectBasedir(File projectBasedir);
+}
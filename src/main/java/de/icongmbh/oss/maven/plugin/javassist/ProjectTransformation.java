@@ -0,0 +1,192 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javassist.ClassPool;
+import javassist.NotFoundException;
+import javassist.build.IClassTransformer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Class loader, transformers and classes of the dependencies of one project, created by a
+ * {@link DaemonRequest} and reused for further requests of the same project.
+ *
+ * <p>
+ * An instance is not thread-safe.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+final class ProjectTransformation implements Closeable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ProjectTransformation.class);
+
+  private final URLClassLoader classLoader;
+
+  private final Map<File, String> jarFiles = new LinkedHashMap<>();
+
+  private final BoundedClassPool dependencyClassPool;
+
+  private final JavassistTransformerExecutor executor;
+
+  private int transformedClasses;
+
+  /**
+   * Loads the class path and instantiates the transformers of the passed request.
+   *
+   * @param request must not be {@code null}
+   *
+   * @throws Exception if a transformer could not be instantiated or configured
+   */
+  ProjectTransformation(final DaemonRequest request) throws Exception {
+    final List<URL> urls = new ArrayList<>();
+    final List<String> classDirectories = new ArrayList<>();
+    dependencyClassPool = new BoundedClassPool(BoundedClassPool.DEFAULT_CAPACITY);
+    dependencyClassPool.appendSystemPath();
+    for (final String classPathElement : request.getClassPath()) {
+      final File file = new File(classPathElement);
+      urls.add(file.toURI().toURL());
+      if (file.isDirectory()) {
+        classDirectories.add(file.getAbsolutePath());
+      } else if (file.isFile()) {
+        jarFiles.put(file, stamp(file));
+        appendClassPath(dependencyClassPool, file);
+      }
+    }
+    classLoader = new URLClassLoader(urls.toArray(new URL[urls.size()]),
+                                     ProjectTransformation.class.getClassLoader());
+    executor = new WarmClassPoolExecutor(dependencyClassPool, classDirectories);
+    executor.setTransformerClasses(instantiate(classLoader,
+                                               request.getTransformers(),
+                                               request.getProjectBasedir()));
+    executor.addTransformationListener(new TransformationListener() {
+
+      @Override
+      public void transformerFinished(final String transformerName,
+                                      final int classes,
+                                      final long nanos) {
+        transformedClasses += classes;
+      }
+    });
+  }
+
+  /**
+   * Transforms the input directories of the passed request in place or into their output
+   * directories.
+   *
+   * @param request must not be {@code null}
+   *
+   * @return number of transformed classes
+   *
+   * @throws IOException if a dependency index could not be read
+   */
+  int transform(final DaemonRequest request) throws IOException {
+    final Thread currentThread = Thread.currentThread();
+    final ClassLoader originalContextClassLoader = currentThread.getContextClassLoader();
+    currentThread.setContextClassLoader(classLoader);
+    transformedClasses = 0;
+    try {
+      final List<String> inputDirectories = request.getInputDirectories();
+      final Map<String, String> fingerprints = PristineClassStore.fingerprints(
+              request.getTransformers().toArray(new ClassTransformerConfiguration[0]));
+      for (int index = 0; index < inputDirectories.size(); ++index) {
+        executor.setInputDirectory(inputDirectories.get(index));
+        executor.setOutputDirectory(request.getOutputDirectories().get(index));
+        executor.setClassNames(request.getClassNames().get(index));
+        final String dependencyIndexFile = request.getDependencyIndexFiles().get(index);
+        executor.setClassDependencyIndex(null == dependencyIndexFile ? null
+                : new ClassDependencyIndex(new File(dependencyIndexFile)));
+        final String pristineClassDirectory = request.getPristineClassDirectories().get(index);
+        executor.setPristineClassStore(null == pristineClassDirectory ? null
+                : new PristineClassStore(new File(pristineClassDirectory), fingerprints));
+        executor.execute();
+      }
+    } finally {
+      currentThread.setContextClassLoader(originalContextClassLoader);
+    }
+    return transformedClasses;
+  }
+
+  /**
+   * Indicates whether a JAR file of the class path changed since the creation.
+   *
+   * @return {@code true} if this instance must not be used anymore
+   */
+  boolean isStale() {
+    for (final Map.Entry<File, String> jarFile : jarFiles.entrySet()) {
+      if (!jarFile.getValue().equals(stamp(jarFile.getKey()))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public void close() {
+    dependencyClassPool.release();
+    try {
+      classLoader.close();
+    } catch (final IOException e) {
+      LOGGER.warn("Class loader could not be closed: {}", e.getMessage());
+    }
+  }
+
+  private static String stamp(final File file) {
+    return file.lastModified() + ":" + file.length();
+  }
+
+  private static void appendClassPath(final ClassPool classPool, final File file) {
+    try {
+      classPool.appendClassPath(file.getAbsolutePath());
+    } catch (final NotFoundException e) {
+      LOGGER.warn("Class path element {} ignored: {}", file, e.getMessage());
+    }
+  }
+
+  private static IClassTransformer[] instantiate(
+          final ClassLoader classLoader,
+          final List<ClassTransformerConfiguration> configurations,
+          final String projectBasedir) throws Exception {
+    final IClassTransformer[] transformers = new IClassTransformer[configurations.size()];
+    for (int index = 0; index < transformers.length; ++index) {
+      final ClassTransformerConfiguration configuration = configurations.get(index);
+      final Class<?> transformerClass = Class.forName(configuration.getClassName().trim(),
+                                                      true,
+                                                      classLoader);
+      transformers[index] = TransformerInstances.newInstance(
+              transformerClass.asSubclass(IClassTransformer.class));
+      if (transformers[index] instanceof ProjectBasedirAware && null != projectBasedir) {
+        ((ProjectBasedirAware)transformers[index]).setProjectBasedir(new File(projectBasedir));
+      }
+      if (transformers[index] instanceof ClassTransformer) {
+        ((ClassTransformer)transformers[index]).configure(configuration.getProperties());
+      }
+    }
+    return transformers;
+  }
+}
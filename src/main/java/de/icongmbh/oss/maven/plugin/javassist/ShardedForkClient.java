@@ -0,0 +1,315 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.ToLongFunction;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Transforms a {@link DaemonRequest} by several forked JVMs in parallel, each transforming a
+ * shard of the classes with its own heap and {@link javassist.ClassPool}.
+ *
+ * <p>
+ * The classes are grouped by their outer class or by their package, so a nested class is always
+ * transformed together with its outer class, and the groups are balanced by the size of their
+ * class files. The
+ * {@link ClassDependencyIndex} is updated once by this client before the classes are sharded, the
+ * forked JVMs don't use it. The classes to transform again are restored by the
+ * {@link PristineClassStore} of this client too, the forked JVMs only keep the untransformed
+ * bytes of the classes they transform.
+ * </p>
+ * <p>
+ * The forked JVMs don't write into the input directories, which the other JVMs read at the same
+ * time, but each into its own staging directory. The transformed class files are moved into the
+ * input directories after all JVMs succeeded, so each JVM resolves the untransformed classes of
+ * the other shards only and a failed transformation leaves the input directories unchanged.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+final class ShardedForkClient {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ShardedForkClient.class);
+
+  private final ForkClient forkClient;
+
+  private final int shards;
+
+  private final boolean byPackage;
+
+  /**
+   * Creates a client.
+   *
+   * @param forkClient starts each forked JVM and must not be {@code null}
+   * @param shards number of forked JVMs and greater than {@code 0}
+   * @param byPackage whether the classes are sharded by package instead of by outer class
+   */
+  ShardedForkClient(final ForkClient forkClient, final int shards, final boolean byPackage) {
+    this.forkClient = forkClient;
+    this.shards = shards;
+    this.byPackage = byPackage;
+  }
+
+  /**
+   * Forks the JVMs transforming the shards of the passed request and waits for their end.
+   *
+   * @param request must not be {@code null}
+   *
+   * @return number of transformed classes of all shards
+   *
+   * @throws IOException if a JVM could not be forked or a transformation failed
+   * @throws InterruptedException if the current thread is interrupted while waiting
+   */
+  int transform(final DaemonRequest request) throws IOException, InterruptedException {
+    final List<String> inputDirectories = request.getInputDirectories();
+    final List<List<List<String>>> shardClassNames = new ArrayList<>();
+    for (int shard = 0; shard < shards; ++shard) {
+      shardClassNames.add(new ArrayList<List<String>>());
+    }
+    final Map<String, String> fingerprints = PristineClassStore.fingerprints(
+            request.getTransformers().toArray(new ClassTransformerConfiguration[0]));
+    for (int index = 0; index < inputDirectories.size(); ++index) {
+      final String inputDirectory = inputDirectories.get(index);
+      final String pristineClassDirectory = request.getPristineClassDirectories().get(index);
+      final PristineClassStore pristineClassStore = null == pristineClassDirectory ? null
+          : new PristineClassStore(new File(pristineClassDirectory), fingerprints);
+      final ToLongFunction<String> classSize = className -> ClassPoolBudget
+          .estimate(inputDirectory, className);
+      final List<List<String>> partitions = partition(
+              resolveClassNames(inputDirectory,
+                                request.getClassNames().get(index),
+                                request.getDependencyIndexFiles().get(index),
+                                pristineClassStore),
+              shards,
+              byPackage,
+              classSize);
+      for (int shard = 0; shard < shards; ++shard) {
+        shardClassNames.get(shard).add(partitions.get(shard));
+      }
+    }
+    final List<String> noDependencyIndexFiles = Collections.nCopies(inputDirectories.size(),
+                                                                    null);
+    final List<File> stagingDirectories = new ArrayList<>();
+    final ExecutorService executorService = Executors.newFixedThreadPool(shards);
+    try {
+      for (final String inputDirectory : inputDirectories) {
+        stagingDirectories.add(createStagingDirectory(inputDirectory));
+      }
+      final List<Future<Integer>> results = new ArrayList<>();
+      final List<List<String>> shardOutputDirectories = new ArrayList<>();
+      for (int shard = 0; shard < shards; ++shard) {
+        if (isEmpty(shardClassNames.get(shard))) {
+          continue;
+        }
+        final List<String> outputDirectories = new ArrayList<>();
+        for (final File stagingDirectory : stagingDirectories) {
+          outputDirectories.add(new File(stagingDirectory, "shard-" + shard).getAbsolutePath());
+        }
+        shardOutputDirectories.add(outputDirectories);
+        final DaemonRequest shardRequest = new DaemonRequest(request.getProjectId(),
+                                                             request.getClassPath(),
+                                                             request.getTransformers(),
+                                                             inputDirectories,
+                                                             shardClassNames.get(shard),
+                                                             noDependencyIndexFiles,
+                                                             outputDirectories,
+                                                             request.getPristineClassDirectories(),
+                                                             request.getProjectBasedir(),
+                                                             request.getMemoryBudget());
+        results.add(executorService.submit(() -> forkClient.transform(shardRequest)));
+      }
+      int transformedClasses = 0;
+      for (final Future<Integer> result : results) {
+        transformedClasses += result.get();
+      }
+      for (final List<String> outputDirectories : shardOutputDirectories) {
+        for (int index = 0; index < inputDirectories.size(); ++index) {
+          moveClassFiles(new File(outputDirectories.get(index)),
+                         new File(inputDirectories.get(index)));
+        }
+      }
+      LOGGER.info("{} classes transformed by {} forked JVMs", transformedClasses, results.size());
+      return transformedClasses;
+    } catch (final ExecutionException e) {
+      throw new IOException("Transformation of a shard failed: " + e.getCause().getMessage(),
+                            e.getCause());
+    } finally {
+      executorService.shutdownNow();
+      for (final File stagingDirectory : stagingDirectories) {
+        FileUtils.deleteQuietly(stagingDirectory);
+      }
+    }
+  }
+
+  /**
+   * Creates the staging directory of the passed input directory next to it, so the class files
+   * can be moved atomically on the same file system.
+   */
+  private static File createStagingDirectory(final String inputDirectory) throws IOException {
+    final File parent = new File(inputDirectory).getAbsoluteFile().getParentFile();
+    return Files.createTempDirectory(parent.toPath(), ".javassist-shards-").toFile();
+  }
+
+  /**
+   * Moves the class files of the passed staging directory into the passed input directory,
+   * replacing each class file by one atomic move.
+   */
+  private static void moveClassFiles(final File stagingDirectory, final File inputDirectory)
+          throws IOException {
+    if (!stagingDirectory.isDirectory()) {
+      return;
+    }
+    final Path source = stagingDirectory.toPath();
+    final Path target = inputDirectory.toPath();
+    for (final File classFile : FileUtils.listFiles(stagingDirectory,
+                                                    new String[] {"class"},
+                                                    true)) {
+      final Path targetFile = target.resolve(source.relativize(classFile.toPath()));
+      Files.createDirectories(targetFile.getParent());
+      try {
+        Files.move(classFile.toPath(),
+                   targetFile,
+                   StandardCopyOption.ATOMIC_MOVE,
+                   StandardCopyOption.REPLACE_EXISTING);
+      } catch (final AtomicMoveNotSupportedException e) {
+        Files.move(classFile.toPath(), targetFile, StandardCopyOption.REPLACE_EXISTING);
+      }
+    }
+  }
+
+  /**
+   * Distributes the passed classes to the passed number of shards.
+   *
+   * <p>
+   * The classes are grouped by outer class or by package. The groups are assigned largest first
+   * to the shard with the least size so far, so the shards are balanced even with a few huge
+   * classes, and each shard starts with its largest classes.
+   * </p>
+   *
+   * @param classNames full qualified class names and must not be {@code null}
+   * @param shards number of shards and greater than {@code 0}
+   * @param byPackage whether the classes are sharded by package instead of by outer class
+   * @param classSize returns the size of a class and must not be {@code null}
+   *
+   * @return the classes per shard and never {@code null}; a shard may be empty
+   */
+  static List<List<String>> partition(final Collection<String> classNames,
+                                      final int shards,
+                                      final boolean byPackage,
+                                      final ToLongFunction<String> classSize) {
+    final Map<String, List<String>> groups = new TreeMap<>();
+    final Map<String, Long> groupSizes = new HashMap<>();
+    for (final String className : classNames) {
+      final int packageEnd = className.lastIndexOf('.');
+      final String key;
+      if (byPackage) {
+        key = packageEnd < 0 ? "" : className.substring(0, packageEnd);
+      } else {
+        final int nestedStart = className.indexOf('$', packageEnd + 1);
+        key = nestedStart < 0 ? className : className.substring(0, nestedStart);
+      }
+      groups.computeIfAbsent(key, k -> new ArrayList<String>()).add(className);
+      groupSizes.merge(key, classSize.applyAsLong(className), Long::sum);
+    }
+    final List<String> keys = new ArrayList<>(groups.keySet());
+    // stable sort keeps the name order of equal sizes
+    keys.sort((first, second) -> Long.compare(groupSizes.get(second), groupSizes.get(first)));
+    final List<List<String>> partitions = new ArrayList<>(shards);
+    final long[] shardSizes = new long[shards];
+    for (int shard = 0; shard < shards; ++shard) {
+      partitions.add(new ArrayList<String>());
+    }
+    for (final String key : keys) {
+      int smallestShard = 0;
+      for (int shard = 1; shard < shards; ++shard) {
+        if (shardSizes[shard] < shardSizes[smallestShard]) {
+          smallestShard = shard;
+        }
+      }
+      partitions.get(smallestShard).addAll(groups.get(key));
+      shardSizes[smallestShard] += groupSizes.get(key);
+    }
+    return partitions;
+  }
+
+  private static boolean isEmpty(final List<List<String>> classNames) {
+    for (final List<String> directoryClassNames : classNames) {
+      if (!directoryClassNames.isEmpty()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the passed classes, the classes depending on them and the classes restored by the
+   * passed store, or all classes of the passed directory if no classes are passed. The stamped
+   * classes depending on the passed classes are restored before.
+   */
+  private static List<String> resolveClassNames(final String inputDirectory,
+                                                final List<String> classNames,
+                                                final String dependencyIndexFile,
+                                                final PristineClassStore pristineClassStore)
+          throws IOException {
+    final Set<String> resolvedClassNames = new LinkedHashSet<>();
+    if (null != pristineClassStore) {
+      resolvedClassNames.addAll(pristineClassStore.restore(inputDirectory));
+    }
+    if (null != dependencyIndexFile) {
+      final Set<String> dependents = new ClassDependencyIndex(new File(dependencyIndexFile))
+          .refresh(inputDirectory, classNames);
+      if (null != pristineClassStore && null != classNames) {
+        pristineClassStore.restore(inputDirectory, dependents);
+      }
+      resolvedClassNames.addAll(dependents);
+    }
+    if (null != classNames) {
+      resolvedClassNames.addAll(classNames);
+    } else {
+      final File directory = new File(inputDirectory);
+      if (directory.isDirectory()) {
+        resolvedClassNames.addAll(ClassnameExtractor.listClassnames(
+                directory,
+                new ArrayList<>(FileUtils.listFiles(directory, new String[] {"class"}, true))));
+      }
+    }
+    resolvedClassNames.remove(null);
+    return new ArrayList<>(resolvedClassNames);
+  }
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Local process keeping the transformers and the classes of the dependencies of recently built
+ * projects in memory, so a build forwarding its transformation here saves the start up of the
+ * transformers, the loading of the dependencies and the warm up of the JIT compiler.
+ *
+ * <p>
+ * The daemon listens on a random port of the loopback interface only. The port and a random
+ * token are written to {@value #STATE_FILE_NAME} in the state directory, readable by the owner
+ * only if the file system supports it. A connection is closed without reading anything else if it
+ * doesn't start with the token. The transformation is forwarded as {@link DaemonRequest}, which
+ * doesn't deserialize any object.
+ * </p>
+ * <p>
+ * The state of up to {@value #MAX_PROJECTS} projects is kept, identified by the project, its class
+ * path and the configuration of its transformers. The state is dropped if a JAR file of the class
+ * path changed. The classes of directories, e.g. of other modules, are loaded for each request.
+ * The requests are processed one after another. The daemon stops after the configured idle time.
+ * </p>
+ *
+ * @since 2.1.0
+ * @see DaemonClient
+ */
+public final class TransformationDaemon {
+
+  /**
+   * Name of the file with the port and the token of the running daemon.
+   */
+  public static final String STATE_FILE_NAME = "daemon.properties";
+
+  /**
+   * Maximum number of projects kept in memory.
+   */
+  public static final int MAX_PROJECTS = 8;
+
+  static final String PORT_PROPERTY_NAME = "port";
+
+  static final String TOKEN_PROPERTY_NAME = "token";
+
+  static final int TOKEN_LENGTH = 64;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TransformationDaemon.class);
+
+  private static final int READ_TIMEOUT_MILLIS = 30_000;
+
+  private final File stateDirectory;
+
+  private final long idleMillis;
+
+  private final String token = createToken();
+
+  private final Map<String, ProjectTransformation> projects =
+      new LinkedHashMap<String, ProjectTransformation>(MAX_PROJECTS, 0.75f, true) {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<String, ProjectTransformation> eldest) {
+      if (size() <= MAX_PROJECTS) {
+        return false;
+      }
+      eldest.getValue().close();
+      return true;
+    }
+  };
+
+  /**
+   * Creates a daemon.
+   *
+   * @param stateDirectory directory of the {@value #STATE_FILE_NAME} and must not be
+   *         {@code null}
+   * @param idleMillis time without request after that the daemon stops
+   */
+  public TransformationDaemon(final File stateDirectory, final long idleMillis) {
+    this.stateDirectory = stateDirectory;
+    this.idleMillis = idleMillis;
+  }
+
+  /**
+   * Starts a daemon.
+   *
+   * @param args the state directory and the idle time in minutes
+   *
+   * @throws IOException if the daemon could not be started
+   */
+  public static void main(final String[] args) throws IOException {
+    if (args.length != 2) {
+      throw new IllegalArgumentException("Usage: TransformationDaemon <stateDirectory> "
+                                         + "<idleMinutes>");
+    }
+    new TransformationDaemon(new File(args[0]),
+                             TimeUnit.MINUTES.toMillis(Long.parseLong(args[1]))).run();
+  }
+
+  /**
+   * Serves the requests until the daemon is idle for the configured time.
+   *
+   * @throws IOException if the daemon could not be started
+   */
+  public void run() throws IOException {
+    try (ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+      serverSocket.setSoTimeout((int)Math.min(Integer.MAX_VALUE, Math.max(1L, idleMillis)));
+      writeState(serverSocket.getLocalPort());
+      LOGGER.info("Transformation daemon listening on port {}", serverSocket.getLocalPort());
+      while (true) {
+        try (Socket socket = serverSocket.accept()) {
+          serve(socket);
+        } catch (final SocketTimeoutException e) {
+          LOGGER.info("Transformation daemon stopped after {} ms without request", idleMillis);
+          break;
+        } catch (final IOException e) {
+          LOGGER.warn("Request failed: {}", e.getMessage());
+        }
+      }
+      deleteState(serverSocket.getLocalPort());
+    } finally {
+      for (final ProjectTransformation project : projects.values()) {
+        project.close();
+      }
+    }
+  }
+
+  private void serve(final Socket socket) throws IOException {
+    socket.setSoTimeout(READ_TIMEOUT_MILLIS);
+    final DataInputStream in = new DataInputStream(new BufferedInputStream(
+            socket.getInputStream()));
+    if (!isAuthorized(in)) {
+      LOGGER.warn("Connection without valid token refused");
+      return;
+    }
+    final DaemonRequest request = DaemonRequest.read(in);
+    socket.setSoTimeout(0);
+    final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+            socket.getOutputStream()));
+    try {
+      DaemonRequest.writeResponse(out, true, transform(request), "");
+    } catch (final Exception e) {
+      LOGGER.error("Transformation of {} failed", request.getProjectId(), e);
+      DaemonRequest.writeResponse(out, false, 0, String.valueOf(e));
+    }
+    out.flush();
+  }
+
+  private boolean isAuthorized(final DataInputStream in) throws IOException {
+    if (in.readInt() != TOKEN_LENGTH) {
+      return false;
+    }
+    final byte[] passedToken = new byte[TOKEN_LENGTH];
+    in.readFully(passedToken);
+    return MessageDigest.isEqual(token.getBytes(StandardCharsets.US_ASCII), passedToken);
+  }
+
+  private int transform(final DaemonRequest request) throws Exception {
+    final String key = createKey(request);
+    ProjectTransformation project = projects.get(key);
+    if (null != project && project.isStale()) {
+      LOGGER.info("Class path of {} changed", request.getProjectId());
+      projects.remove(key).close();
+      project = null;
+    }
+    if (null == project) {
+      project = new ProjectTransformation(request);
+      projects.put(key, project);
+    }
+    return project.transform(request);
+  }
+
+  private void writeState(final int port) throws IOException {
+    Files.createDirectories(stateDirectory.toPath());
+    final Properties state = new Properties();
+    state.setProperty(PORT_PROPERTY_NAME, String.valueOf(port));
+    state.setProperty(TOKEN_PROPERTY_NAME, token);
+    final File temporaryFile = File.createTempFile("daemon", ".tmp", stateDirectory);
+    restrictToOwner(temporaryFile);
+    try (OutputStream out = Files.newOutputStream(temporaryFile.toPath())) {
+      state.store(out, "javassist-maven-plugin transformation daemon");
+    }
+    Files.move(temporaryFile.toPath(),
+               new File(stateDirectory, STATE_FILE_NAME).toPath(),
+               StandardCopyOption.REPLACE_EXISTING,
+               StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  private void deleteState(final int port) throws IOException {
+    final File stateFile = new File(stateDirectory, STATE_FILE_NAME);
+    final Properties state = readState(stateFile);
+    // a further daemon may be started meanwhile
+    if (null != state && String.valueOf(port).equals(state.getProperty(PORT_PROPERTY_NAME))) {
+      Files.deleteIfExists(stateFile.toPath());
+    }
+  }
+
+  /**
+   * Reads the port and the token of a daemon.
+   *
+   * @param stateFile must not be {@code null}
+   *
+   * @return {@code null} if the passed file doesn't exist
+   *
+   * @throws IOException if the file could not be read
+   */
+  static Properties readState(final File stateFile) throws IOException {
+    if (!stateFile.isFile()) {
+      return null;
+    }
+    final Properties state = new Properties();
+    try (InputStream in = Files.newInputStream(stateFile.toPath())) {
+      state.load(in);
+    }
+    return state;
+  }
+
+  private static void restrictToOwner(final File file) throws IOException {
+    try {
+      Files.setPosixFilePermissions(file.toPath(), PosixFilePermissions.fromString("rw-------"));
+    } catch (final UnsupportedOperationException e) {
+      // not a POSIX file system
+      if (!(file.setReadable(false, false) && file.setReadable(true, true))) {
+        LOGGER.warn("Access to {} could not be restricted to the owner", file);
+      }
+    }
+  }
+
+  private static String createToken() {
+    final byte[] bytes = new byte[TOKEN_LENGTH / 2];
+    new SecureRandom().nextBytes(bytes);
+    final StringBuilder hex = new StringBuilder(TOKEN_LENGTH);
+    for (final byte value : bytes) {
+      hex.append(Character.forDigit((value >> 4) & 0xF, 16));
+      hex.append(Character.forDigit(value & 0xF, 16));
+    }
+    return hex.toString();
+  }
+
+  private static String createKey(final DaemonRequest request) throws NoSuchAlgorithmException {
+    final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+    digest.update(request.getProjectId().getBytes(StandardCharsets.UTF_8));
+    for (final String classPathElement : request.getClassPath()) {
+      digest.update((File.pathSeparator + classPathElement).getBytes(StandardCharsets.UTF_8));
+    }
+    for (final ClassTransformerConfiguration transformer : request.getTransformers()) {
+      digest.update(transformer.getFingerprint().getBytes(StandardCharsets.US_ASCII));
+    }
+    return new BigInteger(1, digest.digest()).toString(16);
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import java.io.File;
+
+import javassist.CtClass;
+
+/**
+ * Receives the events of the transformations performed by a {@link JavassistTransformerExecutor}.
+ *
+ * <p>
+ * All methods do nothing by default. The events of one transformer and input directory are
+ * emitted between {@link #transformerStarted(String, String)} and
+ * {@link #transformerFinished(String, int, long)} from the thread calling the executor; the events
+ * of one class between {@link #classDiscovered(String, long)} and
+ * {@link #classFinished(String, boolean, long)}. Durations are passed in nanoseconds.
+ * </p>
+ * <p>
+ * Implementations must not modify the passed classes and should return quickly.
+ * </p>
+ *
+ * @see JavassistTransformerExecutor#addTransformationListener(TransformationListener)
+ * @since 2.1.0
+ */
+public interface TransformationListener {
+
+  /**
+   * A transformer starts to transform the classes of an input directory.
+   *
+   * @param transformerName never {@code null}
+   * @param inputDirectory {@code null} if the classes are transformed in memory
+   */
+  default void transformerStarted(final String transformerName, final String inputDirectory) {
+  }
+
+  /**
+   * A phase starts.
+   *
+   * @param phase never {@code null}
+   * @param className maybe {@code null} during {@link TransformationPhase#SCANNING}
+   */
+  default void phaseStarted(final TransformationPhase phase, final String className) {
+  }
+
+  /**
+   * A phase finished successfully.
+   *
+   * @param phase never {@code null}
+   * @param className maybe {@code null} if no further class was found
+   * @param nanos duration of the phase
+   */
+  default void phaseFinished(final TransformationPhase phase,
+                             final String className,
+                             final long nanos) {
+  }
+
+  /**
+   * The name of the next class was found.
+   *
+   * @param className maybe {@code null}
+   * @param nanos duration of the search
+   */
+  default void classDiscovered(final String className, final long nanos) {
+  }
+
+  /**
+   * The class was loaded by the class pool.
+   *
+   * @param candidateClass never {@code null}
+   * @param nanos duration of the loading
+   */
+  default void classLoaded(final CtClass candidateClass, final long nanos) {
+  }
+
+  /**
+   * The class is skipped because it already holds the stamp of the transformer.
+   *
+   * @param candidateClass never {@code null}
+   */
+  default void classSkippedByStamp(final CtClass candidateClass) {
+  }
+
+  /**
+   * The transformer has applied its transformations to the class.
+   *
+   * @param transformedClass never {@code null}
+   * @param nanos duration of the transformation
+   */
+  default void classTransformed(final CtClass transformedClass, final long nanos) {
+  }
+
+  /**
+   * A transformed class or nested class was written.
+   *
+   * @param className never {@code null}
+   * @param classFile {@code null} if the class is transformed in memory
+   * @param bytes size of the written class file
+   * @param nanos duration of the writing
+   */
+  default void classWritten(final String className,
+                            final File classFile,
+                            final long bytes,
+                            final long nanos) {
+  }
+
+  /**
+   * The class could not be transformed.
+   *
+   * @param className never {@code null}
+   * @param cause never {@code null}
+   */
+  default void classFailed(final String className, final Exception cause) {
+  }
+
+  /**
+   * The processing of the class finished.
+   *
+   * @param className never {@code null}
+   * @param transformed whether the class was transformed and written
+   * @param nanos duration from loading to writing of the class
+   */
+  default void classFinished(final String className, final boolean transformed, final long nanos) {
+  }
+
+  /**
+   * The transformer has processed all classes of the input directory.
+   *
+   * @param transformerName never {@code null}
+   * @param transformedClasses number of transformed classes
+   * @param nanos duration of the processing
+   */
+  default void transformerFinished(final String transformerName,
+                                   final int transformedClasses,
+                                   final long nanos) {
+  }
+}
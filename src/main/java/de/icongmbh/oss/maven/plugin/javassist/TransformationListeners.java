@@ -0,0 +1,210 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import java.io.File;
+import java.util.List;
+
+import javassist.CtClass;
+
+/**
+ * Measures the phases of the transformation of the classes of one input directory by one
+ * transformer and dispatches the events to the registered {@link TransformationListener}
+ * instances.
+ *
+ * <p>
+ * Without listeners {@link #NONE} is used, which neither reads the clock nor allocates anything.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+final class TransformationListeners {
+
+  /**
+   * Dispatcher without listeners.
+   */
+  static final TransformationListeners NONE = new TransformationListeners(
+          new TransformationListener[0]);
+
+  private final TransformationListener[] listeners;
+
+  private final boolean enabled;
+
+  private String transformerName;
+
+  private long transformerStartTime;
+
+  private String className;
+
+  private long classStartTime;
+
+  private long phaseStartTime;
+
+  private long phaseNanos;
+
+  private TransformationListeners(final TransformationListener[] listeners) {
+    this.listeners = listeners;
+    this.enabled = listeners.length > 0;
+  }
+
+  /**
+   * Creates a dispatcher to the passed listeners.
+   *
+   * @param listeners must not be {@code null}
+   *
+   * @return {@link #NONE} if the passed list is empty
+   */
+  static TransformationListeners of(final List<TransformationListener> listeners) {
+    if (listeners.isEmpty()) {
+      return NONE;
+    }
+    return new TransformationListeners(listeners
+      .toArray(new TransformationListener[listeners.size()]));
+  }
+
+  boolean isEnabled() {
+    return enabled;
+  }
+
+  void transformerStarted(final String name, final String inputDirectory) {
+    if (!enabled) {
+      return;
+    }
+    transformerName = name;
+    transformerStartTime = System.nanoTime();
+    for (final TransformationListener listener : listeners) {
+      listener.transformerStarted(name, inputDirectory);
+    }
+  }
+
+  void transformerFinished(final int transformedClasses) {
+    if (!enabled) {
+      return;
+    }
+    final long nanos = System.nanoTime() - transformerStartTime;
+    for (final TransformationListener listener : listeners) {
+      listener.transformerFinished(transformerName, transformedClasses, nanos);
+    }
+  }
+
+  void startPhase(final TransformationPhase phase) {
+    if (!enabled) {
+      return;
+    }
+    for (final TransformationListener listener : listeners) {
+      listener.phaseStarted(phase, className);
+    }
+    phaseStartTime = System.nanoTime();
+  }
+
+  void endPhase(final TransformationPhase phase) {
+    if (!enabled) {
+      return;
+    }
+    phaseNanos = System.nanoTime() - phaseStartTime;
+    for (final TransformationListener listener : listeners) {
+      listener.phaseFinished(phase, className, phaseNanos);
+    }
+  }
+
+  /**
+   * Ends the {@link TransformationPhase#SCANNING} phase with the discovered class.
+   */
+  void classDiscovered(final String name) {
+    if (!enabled) {
+      return;
+    }
+    className = name;
+    endPhase(TransformationPhase.SCANNING);
+    classStartTime = System.nanoTime();
+    for (final TransformationListener listener : listeners) {
+      listener.classDiscovered(name, phaseNanos);
+    }
+  }
+
+  /**
+   * Ends the {@link TransformationPhase#CLASS_POOL_GET} phase with the loaded class.
+   */
+  void classLoaded(final CtClass candidateClass) {
+    if (!enabled) {
+      return;
+    }
+    endPhase(TransformationPhase.CLASS_POOL_GET);
+    for (final TransformationListener listener : listeners) {
+      listener.classLoaded(candidateClass, phaseNanos);
+    }
+  }
+
+  void classSkippedByStamp(final CtClass candidateClass) {
+    if (!enabled) {
+      return;
+    }
+    for (final TransformationListener listener : listeners) {
+      listener.classSkippedByStamp(candidateClass);
+    }
+  }
+
+  /**
+   * Ends the {@link TransformationPhase#APPLY_TRANSFORMATIONS} phase with the transformed class.
+   */
+  void classTransformed(final CtClass transformedClass) {
+    if (!enabled) {
+      return;
+    }
+    endPhase(TransformationPhase.APPLY_TRANSFORMATIONS);
+    for (final TransformationListener listener : listeners) {
+      listener.classTransformed(transformedClass, phaseNanos);
+    }
+  }
+
+  /**
+   * Ends the {@link TransformationPhase#WRITE_FILE} phase with the written class.
+   *
+   * @param outputDirectory {@code null} if the class is transformed in memory
+   */
+  void classWritten(final String name, final String outputDirectory, final long bytes) {
+    if (!enabled) {
+      return;
+    }
+    endPhase(TransformationPhase.WRITE_FILE);
+    final File classFile = null == outputDirectory ? null
+        : new File(outputDirectory, name.replace('.', File.separatorChar) + ".class");
+    for (final TransformationListener listener : listeners) {
+      listener.classWritten(name, classFile, bytes, phaseNanos);
+    }
+  }
+
+  void classFailed(final Exception cause) {
+    if (!enabled) {
+      return;
+    }
+    for (final TransformationListener listener : listeners) {
+      listener.classFailed(className, cause);
+    }
+  }
+
+  void classFinished(final boolean transformed) {
+    if (!enabled) {
+      return;
+    }
+    final long nanos = System.nanoTime() - classStartTime;
+    for (final TransformationListener listener : listeners) {
+      listener.classFinished(className, transformed, nanos);
+    }
+    className = null;
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist;
+
+/**
+ * Measured phases of the transformation of a class by one transformer.
+ *
+ * @see TransformationListener
+ * @since 2.1.0
+ */
+public enum TransformationPhase {
+
+  /**
+   * Searching the next class name.
+   */
+  SCANNING("scanning"),
+
+  /**
+   * Loading the class by {@link javassist.ClassPool#get(String)}.
+   */
+  CLASS_POOL_GET("classPoolGet"),
+
+  /**
+   * Checking the supertypes of the class are on the class path before the transformation,
+   * without loading them.
+   */
+  INITIALIZE_CLASS("initializeClass"),
+
+  /**
+   * Checking the stamp and {@link javassist.build.IClassTransformer#shouldTransform}.
+   */
+  SHOULD_TRANSFORM("shouldTransform"),
+
+  /**
+   * {@link javassist.build.IClassTransformer#applyTransformations}.
+   */
+  APPLY_TRANSFORMATIONS("applyTransformations"),
+
+  /**
+   * Applying the stamp to the class and the modified nested classes.
+   */
+  STAMPING("stamping"),
+
+  /**
+   * Writing the class and the modified nested classes.
+   */
+  WRITE_FILE("writeFile");
+
+  private final String key;
+
+  TransformationPhase(final String key) {
+    this.key = key;
+  }
+
+  /**
+   * Returns the name of this phase used in reports.
+   *
+   * @return never {@code null}
+   */
+  public String getKey() {
+    return key;
+  }
+}
@@ -0,0 +1,460 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+
+/**
+ * Collects the timings, sizes and heap usage of the transformations of one build.
+ *
+ * <p>
+ * The report is a {@link TransformationListener}. Each execution of a transformer on an input
+ * directory gets its own {@link TransformerRecord} with the accumulated wall time per
+ * {@link TransformationPhase}, a latency histogram of the classes and the
+ * number of bytes read and written. The slowest classes of all records are kept separately. The
+ * report is written as JSON or, if the file name ends with {@value #CSV_EXTENSION}, as CSV with one
+ * line per transformer and phase.
+ * </p>
+ * <p>
+ * An instance is not thread-safe.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+public class TransformationReport implements TransformationListener {
+
+  /**
+   * File name extension selecting the CSV format.
+   */
+  public static final String CSV_EXTENSION = ".csv";
+
+  private static final int DEFAULT_TOP_CLASSES = 10;
+
+  private static final double NANOS_PER_MILLI = 1_000_000d;
+
+  private final List<TransformerRecord> records = new ArrayList<>();
+
+  private final PriorityQueue<ClassTiming> slowestClasses = new PriorityQueue<>();
+
+  private final int topClasses;
+
+  private final long startedMillis;
+
+  private final long startedNanos;
+
+  private final long heapUsedBefore;
+
+  private long wallTimeNanos = -1L;
+
+  private long heapUsedAfter = -1L;
+
+  private long heapPeak;
+
+  private TransformerRecord current;
+
+  /**
+   * Creates a report keeping the {@value #DEFAULT_TOP_CLASSES} slowest classes.
+   */
+  public TransformationReport() {
+    this(DEFAULT_TOP_CLASSES);
+  }
+
+  /**
+   * Creates a report and records the heap used at this time.
+   *
+   * @param topClasses number of the slowest classes to keep; {@code 0} or less to keep none
+   */
+  public TransformationReport(final int topClasses) {
+    this.topClasses = Math.max(0, topClasses);
+    this.startedMillis = System.currentTimeMillis();
+    this.startedNanos = System.nanoTime();
+    this.heapUsedBefore = heapUsed();
+    this.heapPeak = heapUsedBefore;
+  }
+
+  @Override
+  public void transformerStarted(final String transformerName, final String inputDirectory) {
+    current = new TransformerRecord(transformerName, inputDirectory);
+    records.add(current);
+  }
+
+  @Override
+  public void phaseFinished(final TransformationPhase phase,
+                            final String className,
+                            final long nanos) {
+    current.phaseNanos[phase.ordinal()] += nanos;
+  }
+
+  @Override
+  public void classWritten(final String className,
+                           final File classFile,
+                           final long bytes,
+                           final long nanos) {
+    current.classBytesWritten += bytes;
+  }
+
+  @Override
+  public void classFailed(final String className, final Exception cause) {
+    ++current.failed;
+  }
+
+  @Override
+  public void classFinished(final String className, final boolean transformed, final long nanos) {
+    current.addClass(className, nanos, transformed);
+    heapPeak = Math.max(heapPeak, heapUsed());
+  }
+
+  /**
+   * Records the wall time since the creation of this report, the heap used at this time and the
+   * peak heap usage since the creation.
+   */
+  public void finish() {
+    wallTimeNanos = System.nanoTime() - startedNanos;
+    heapUsedAfter = heapUsed();
+    heapPeak = Math.max(heapPeak, heapUsedAfter);
+  }
+
+  /**
+   * Returns the records of all executions of transformers in order of start.
+   *
+   * @return never {@code null}
+   */
+  public List<TransformerRecord> getRecords() {
+    return Collections.unmodifiableList(records);
+  }
+
+  /**
+   * Returns the wall time between the creation of this report and {@link #finish()}.
+   *
+   * @return nanoseconds or {@code -1} if not finished
+   */
+  public long getWallTimeNanos() {
+    return wallTimeNanos;
+  }
+
+  /**
+   * Returns the peak heap usage between the creation of this report and {@link #finish()}.
+   * <p>
+   * The peak is the highest heap usage sampled at the creation, after each class and at the end.
+   * Garbage collected between two samples is not seen, so it is a lower bound.
+   * </p>
+   *
+   * @return bytes
+   */
+  public long getHeapPeakBytes() {
+    return heapPeak;
+  }
+
+  /**
+   * Writes this report to the passed file and creates the parent directories if necessary.
+   *
+   * @param reportFile must not be {@code null}
+   *
+   * @throws IOException if the report could not be written
+   * @see #CSV_EXTENSION
+   */
+  public void write(final File reportFile) throws IOException {
+    if (wallTimeNanos < 0) {
+      finish();
+    }
+    final File parent = reportFile.getAbsoluteFile().getParentFile();
+    if (null != parent && !parent.isDirectory() && !parent.mkdirs()) {
+      throw new IOException("Could not create directory " + parent);
+    }
+    try (Writer writer = Files.newBufferedWriter(reportFile.toPath(), StandardCharsets.UTF_8)) {
+      if (reportFile.getName().endsWith(CSV_EXTENSION)) {
+        writeCsv(writer);
+      } else {
+        writeJson(writer);
+      }
+    }
+  }
+
+  private void writeJson(final Writer writer) throws IOException {
+    writer.write("{\n");
+    writer.write("  \"started\": " + quote(Instant.ofEpochMilli(startedMillis).toString()) + ",\n");
+    writer.write("  \"wallTimeMillis\": " + millis(wallTimeNanos) + ",\n");
+    writer.write("  \"heap\": {\"usedBeforeBytes\": " + heapUsedBefore + ", \"usedAfterBytes\": "
+                 + heapUsedAfter + ", \"peakBytes\": " + heapPeak + "},\n");
+    writer.write("  \"transformers\": [");
+    for (int index = 0; index < records.size(); ++index) {
+      writer.write(index == 0 ? "\n" : ",\n");
+      records.get(index).writeJson(writer);
+    }
+    writer.write("\n  ],\n");
+    writer.write("  \"slowestClasses\": [");
+    final List<ClassTiming> slowest = new ArrayList<>(slowestClasses);
+    Collections.sort(slowest, Collections.reverseOrder());
+    for (int index = 0; index < slowest.size(); ++index) {
+      final ClassTiming timing = slowest.get(index);
+      writer.write(index == 0 ? "\n" : ",\n");
+      writer.write("    {\"className\": " + quote(timing.className) + ", \"transformer\": "
+                   + quote(timing.transformerName) + ", \"millis\": " + millis(timing.nanos)
+                   + "}");
+    }
+    writer.write("\n  ]\n}\n");
+  }
+
+  private void writeCsv(final Writer writer) throws IOException {
+    writer.write("transformer,inputDirectory,phase,millis,classes,transformed,failed,"
+                 + "bytesRead,bytesWritten\n");
+    for (final TransformerRecord record : records) {
+      for (final TransformationPhase phase : TransformationPhase.values()) {
+        writer.write(csv(record.transformerName) + ',' + csv(record.inputDirectory) + ','
+                     + phase.getKey() + ',' + millis(record.phaseNanos[phase.ordinal()]) + ','
+                     + record.classes + ',' + record.transformed + ',' + record.failed + ','
+                     + record.bytesRead + ',' + record.bytesWritten + '\n');
+      }
+    }
+  }
+
+  private void addClassTiming(final String className,
+                              final String transformerName,
+                              final long nanos) {
+    if (slowestClasses.size() < topClasses) {
+      slowestClasses.add(new ClassTiming(className, transformerName, nanos));
+    } else if (topClasses > 0 && slowestClasses.peek().nanos < nanos) {
+      slowestClasses.poll();
+      slowestClasses.add(new ClassTiming(className, transformerName, nanos));
+    }
+  }
+
+  private static long heapUsed() {
+    final Runtime runtime = Runtime.getRuntime();
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  private static String millis(final long nanos) {
+    return String.format(Locale.ROOT, "%.3f", nanos / NANOS_PER_MILLI);
+  }
+
+  private static String quote(final String value) {
+    if (null == value) {
+      return "null";
+    }
+    final StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+    for (int index = 0; index < value.length(); ++index) {
+      final char character = value.charAt(index);
+      if ('"' == character || '\\' == character) {
+        quoted.append('\\').append(character);
+      } else if (character < ' ') {
+        quoted.append(String.format(Locale.ROOT, "\\u%04x", (int)character));
+      } else {
+        quoted.append(character);
+      }
+    }
+    return quoted.append('"').toString();
+  }
+
+  private static String csv(final String value) {
+    if (null == value) {
+      return "";
+    }
+    return '"' + value.replace("\"", "\"\"") + '"';
+  }
+
+  /**
+   * Timings and sizes of one execution of a transformer.
+   */
+  public final class TransformerRecord {
+
+    // upper bounds of the latency buckets are 2^index microseconds
+    private static final int BUCKETS = 32;
+
+    private final String transformerName;
+
+    private final String inputDirectory;
+
+    private final long[] phaseNanos = new long[TransformationPhase.values().length];
+
+    private final long[] latencyBuckets = new long[BUCKETS];
+
+    private long minLatencyNanos = Long.MAX_VALUE;
+
+    private long maxLatencyNanos;
+
+    private long totalLatencyNanos;
+
+    private int classes;
+
+    private int transformed;
+
+    private int failed;
+
+    private long bytesRead;
+
+    private long bytesWritten;
+
+    // written bytes of the current class
+    private long classBytesWritten;
+
+    private TransformerRecord(final String transformerName, final String inputDirectory) {
+      this.transformerName = transformerName;
+      this.inputDirectory = inputDirectory;
+    }
+
+    private void addClass(final String className, final long nanos, final boolean transformed) {
+      ++classes;
+      if (transformed) {
+        ++this.transformed;
+      }
+      if (null != inputDirectory && null != className) {
+        bytesRead += new File(inputDirectory, className.replace('.', File.separatorChar)
+                                              + ".class").length();
+      }
+      bytesWritten += classBytesWritten;
+      classBytesWritten = 0L;
+      minLatencyNanos = Math.min(minLatencyNanos, nanos);
+      maxLatencyNanos = Math.max(maxLatencyNanos, nanos);
+      totalLatencyNanos += nanos;
+      ++latencyBuckets[bucket(nanos)];
+      addClassTiming(className, transformerName, nanos);
+    }
+
+    /**
+     * Returns the name of the transformer.
+     *
+     * @return never {@code null}
+     */
+    public String getTransformerName() {
+      return transformerName;
+    }
+
+    /**
+     * Returns the accumulated duration of the passed phase.
+     *
+     * @param phase must not be {@code null}
+     *
+     * @return nanoseconds
+     */
+    public long getPhaseNanos(final TransformationPhase phase) {
+      return phaseNanos[phase.ordinal()];
+    }
+
+    /**
+     * Returns the number of processed classes.
+     *
+     * @return number of classes
+     */
+    public int getClasses() {
+      return classes;
+    }
+
+    /**
+     * Returns the number of transformed classes.
+     *
+     * @return number of classes
+     */
+    public int getTransformed() {
+      return transformed;
+    }
+
+    private int bucket(final long nanos) {
+      final long micros = Math.max(1L, nanos / 1_000L);
+      return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros - 1));
+    }
+
+    // upper bound of the bucket containing the passed fraction of all classes
+    private long percentileMicros(final double fraction) {
+      final long rank = (long)Math.ceil(classes * fraction);
+      long count = 0;
+      for (int index = 0; index < BUCKETS; ++index) {
+        count += latencyBuckets[index];
+        if (count >= rank) {
+          return 1L << index;
+        }
+      }
+      return 1L << (BUCKETS - 1);
+    }
+
+    private void writeJson(final Writer writer) throws IOException {
+      writer.write("    {\n");
+      writer.write("      \"name\": " + quote(transformerName) + ",\n");
+      writer.write("      \"inputDirectory\": " + quote(inputDirectory) + ",\n");
+      writer.write("      \"classes\": " + classes + ", \"transformed\": " + transformed
+                   + ", \"failed\": " + failed + ",\n");
+      writer.write("      \"bytesRead\": " + bytesRead + ", \"bytesWritten\": " + bytesWritten
+                   + ",\n");
+      writer.write("      \"phasesMillis\": {");
+      for (final TransformationPhase phase : TransformationPhase.values()) {
+        writer.write((phase.ordinal() == 0 ? "" : ", ") + quote(phase.getKey()) + ": "
+                     + millis(phaseNanos[phase.ordinal()]));
+      }
+      writer.write("},\n");
+      writer.write("      \"latency\": {");
+      if (classes > 0) {
+        writer.write("\"minMillis\": " + millis(minLatencyNanos) + ", \"maxMillis\": "
+                     + millis(maxLatencyNanos) + ", \"meanMillis\": "
+                     + millis(totalLatencyNanos / classes) + ", \"p50Micros\": "
+                     + percentileMicros(0.5d) + ", \"p90Micros\": " + percentileMicros(0.9d)
+                     + ", \"p99Micros\": " + percentileMicros(0.99d) + ",\n");
+        writer.write("        \"histogram\": [");
+        boolean first = true;
+        for (int index = 0; index < BUCKETS; ++index) {
+          if (latencyBuckets[index] == 0) {
+            continue;
+          }
+          writer.write((first ? "" : ", ") + "{\"upToMicros\": " + (1L << index) + ", \"count\": "
+                       + latencyBuckets[index] + "}");
+          first = false;
+        }
+        writer.write("]");
+      }
+      writer.write("}\n    }");
+    }
+  }
+
+  private static final class ClassTiming implements Comparable<ClassTiming> {
+
+    private final String className;
+
+    private final String transformerName;
+
+    private final long nanos;
+
+    private ClassTiming(final String className, final String transformerName, final long nanos) {
+      this.className = className;
+      this.transformerName = transformerName;
+      this.nanos = nanos;
+    }
+
+    @Override
+    public int compareTo(final ClassTiming other) {
+      return Long.compare(nanos, other.nanos);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      return obj instanceof ClassTiming && nanos == ((ClassTiming)obj).nanos;
+    }
+
+    @Override
+    public int hashCode() {
+      return Long.hashCode(nanos);
+    }
+  }
+}
@@ -0,0 +1,388 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import javassist.CannotCompileException;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.NotFoundException;
+import javassist.build.IClassTransformer;
+import javassist.build.JavassistBuildException;
+
+/**
+ * Measures the costs of a {@link IClassTransformer} per class in memory.
+ *
+ * <p>
+ * All classes of the input directory are loaded into a new {@link ClassPool} per iteration like
+ * {@link JavassistTransformerExecutor} does, before any of them is measured. The classes without
+ * stamp are passed to the transformer and the accepted classes are converted to bytecode in memory.
+ * Only {@code shouldTransform}, {@code applyTransformations} and the conversion to bytecode are
+ * measured, so the costs of loading the classes and of the stamp check are not counted. Nothing is
+ * written to disk and no stamp is applied. The first iterations warm up the JVM; only the following
+ * iterations are measured.
+ * </p>
+ * <p>
+ * The allocation is measured by {@code com.sun.management.ThreadMXBean} and is not available on
+ * all JVMs.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+class TransformerBenchmark {
+
+  private static final Method ALLOCATED_BYTES_METHOD = allocatedBytesMethod();
+
+  private final JavassistTransformerExecutor executor;
+
+  private final int warmupIterations;
+
+  private final int measurementIterations;
+
+  private final int topClasses;
+
+  /**
+   * Creates a benchmark.
+   *
+   * @param executor used to build the class pools and to find the classes and must not be
+   *        {@code null}
+   * @param warmupIterations number of iterations not measured
+   * @param measurementIterations number of measured iterations; at least {@code 1}
+   * @param topClasses number of the slowest classes to keep
+   */
+  TransformerBenchmark(final JavassistTransformerExecutor executor,
+                       final int warmupIterations,
+                       final int measurementIterations,
+                       final int topClasses) {
+    this.executor = executor;
+    this.warmupIterations = Math.max(0, warmupIterations);
+    this.measurementIterations = Math.max(1, measurementIterations);
+    this.topClasses = Math.max(0, topClasses);
+  }
+
+  /**
+   * Runs the passed transformer on all classes of the passed directory.
+   *
+   * @param transformer must not be {@code null}
+   * @param inputDirectory must not be {@code null}
+   *
+   * @return never {@code null}
+   *
+   * @throws NotFoundException if the class pool could not be configured
+   */
+  Result run(final IClassTransformer transformer, final String inputDirectory)
+          throws NotFoundException {
+    final List<String> classNames = new ArrayList<>();
+    final Iterator<String> classNameIterator = executor.iterateClassnames(inputDirectory);
+    while (classNameIterator.hasNext()) {
+      final String className = classNameIterator.next();
+      if (null != className) {
+        classNames.add(className);
+      }
+    }
+    final Result result = new Result(transformer.getClass().getName(), inputDirectory,
+                                     classNames.size(), measurementIterations);
+    for (int iteration = 0; iteration < warmupIterations + measurementIterations; ++iteration) {
+      final boolean measured = iteration >= warmupIterations;
+      final ClassPool classPool = executor.configureClassPool(executor.buildClassPool(),
+                                                              inputDirectory);
+      final CtClass[] candidateClasses = load(classPool, classNames);
+      for (int index = 0; index < candidateClasses.length; ++index) {
+        final CtClass candidateClass = candidateClasses[index];
+        if (null == candidateClass || executor.hasStamp(transformer, candidateClass)) {
+          if (measured) {
+            result.add(index, null == candidateClass ? Result.FAILED : Result.STAMPED, 0L, 0L);
+          }
+          continue;
+        }
+        final long allocatedBefore = allocatedBytes();
+        final long startTime = System.nanoTime();
+        final int outcome = transform(transformer, candidateClass);
+        final long nanos = System.nanoTime() - startTime;
+        final long allocated = allocatedBytes() - allocatedBefore;
+        if (measured) {
+          result.add(index, outcome, nanos, allocatedBefore < 0 ? -1L : allocated);
+        }
+      }
+    }
+    result.selectSlowestClasses(classNames, topClasses);
+    return result;
+  }
+
+  // null elements for the classes not found
+  private static CtClass[] load(final ClassPool classPool, final List<String> classNames) {
+    final CtClass[] candidateClasses = new CtClass[classNames.size()];
+    for (int index = 0; index < candidateClasses.length; ++index) {
+      try {
+        candidateClasses[index] = classPool.get(classNames.get(index));
+      } catch (final NotFoundException e) {
+        candidateClasses[index] = null;
+      }
+    }
+    return candidateClasses;
+  }
+
+  private static int transform(final IClassTransformer transformer,
+                               final CtClass candidateClass) {
+    try {
+      if (!transformer.shouldTransform(candidateClass)) {
+        return Result.SKIPPED;
+      }
+      transformer.applyTransformations(candidateClass);
+      candidateClass.toBytecode();
+      return Result.TRANSFORMED;
+    } catch (final CannotCompileException | JavassistBuildException | IOException e) {
+      return Result.FAILED;
+    }
+  }
+
+  private static long allocatedBytes() {
+    if (null == ALLOCATED_BYTES_METHOD) {
+      return -1L;
+    }
+    try {
+      return (Long)ALLOCATED_BYTES_METHOD.invoke(ManagementFactory.getThreadMXBean(),
+                                                 Thread.currentThread().getId());
+    } catch (final ReflectiveOperationException | RuntimeException e) {
+      return -1L;
+    }
+  }
+
+  private static Method allocatedBytesMethod() {
+    try {
+      final ThreadMXBean threadMxBean = ManagementFactory.getThreadMXBean();
+      final Class<?> type = Class.forName("com.sun.management.ThreadMXBean");
+      if (!type.isInstance(threadMxBean)
+          || !(Boolean)type.getMethod("isThreadAllocatedMemorySupported").invoke(threadMxBean)) {
+        return null;
+      }
+      type.getMethod("setThreadAllocatedMemoryEnabled", boolean.class).invoke(threadMxBean, true);
+      return type.getMethod("getThreadAllocatedBytes", long.class);
+    } catch (final ReflectiveOperationException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Measurements of one transformer on one input directory.
+   */
+  static final class Result {
+
+    private static final int TRANSFORMED = 0;
+
+    private static final int SKIPPED = 1;
+
+    private static final int STAMPED = 2;
+
+    private static final int FAILED = 3;
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final String transformerName;
+
+    private final String inputDirectory;
+
+    private final int measurementIterations;
+
+    private final long[] classNanos;
+
+    private final int[] outcomes = new int[FAILED + 1];
+
+    private long nanos;
+
+    private long allocatedBytes;
+
+    private final List<ClassTiming> slowestClasses = new ArrayList<>();
+
+    private Result(final String transformerName,
+                   final String inputDirectory,
+                   final int classes,
+                   final int measurementIterations) {
+      this.transformerName = transformerName;
+      this.inputDirectory = inputDirectory;
+      this.measurementIterations = measurementIterations;
+      this.classNanos = new long[classes];
+    }
+
+    private void add(final int index, final int outcome, final long nanos, final long allocated) {
+      classNanos[index] += nanos;
+      this.nanos += nanos;
+      if (allocated < 0 || allocatedBytes < 0) {
+        allocatedBytes = -1L;
+      } else {
+        allocatedBytes += allocated;
+      }
+      ++outcomes[outcome];
+    }
+
+    private void selectSlowestClasses(final List<String> classNames, final int topClasses) {
+      final List<ClassTiming> timings = new ArrayList<>(classNames.size());
+      for (int index = 0; index < classNames.size(); ++index) {
+        timings.add(new ClassTiming(classNames.get(index),
+                                    classNanos[index] / measurementIterations));
+      }
+      Collections.sort(timings);
+      slowestClasses.addAll(timings.subList(0, Math.min(topClasses, timings.size())));
+    }
+
+    /**
+     * Returns the class name of the measured transformer.
+     *
+     * @return never {@code null}
+     */
+    String getTransformerName() {
+      return transformerName;
+    }
+
+    /**
+     * Returns the directory of the measured classes.
+     *
+     * @return never {@code null}
+     */
+    String getInputDirectory() {
+      return inputDirectory;
+    }
+
+    /**
+     * Returns the number of classes in the input directory.
+     *
+     * @return {@code 0} or more
+     */
+    int getClasses() {
+      return classNanos.length;
+    }
+
+    /**
+     * Returns the number of classes transformed per measured iteration.
+     *
+     * @return {@code 0} or more
+     */
+    int getTransformed() {
+      return outcomes[TRANSFORMED] / measurementIterations;
+    }
+
+    /**
+     * Returns the number of classes skipped because of the stamp of the transformer per measured
+     * iteration.
+     *
+     * @return {@code 0} or more
+     */
+    int getStamped() {
+      return outcomes[STAMPED] / measurementIterations;
+    }
+
+    /**
+     * Returns the number of failed classes per measured iteration.
+     *
+     * @return {@code 0} or more
+     */
+    int getFailed() {
+      return outcomes[FAILED] / measurementIterations;
+    }
+
+    /**
+     * Returns the number of classes processed per second in the measured iterations.
+     *
+     * @return {@code 0} if nothing is measured
+     */
+    double getClassesPerSecond() {
+      return 0L == nanos ? 0d
+              : classNanos.length * (double)measurementIterations * NANOS_PER_SECOND / nanos;
+    }
+
+    /**
+     * Returns the average number of bytes allocated per class in the measured iterations.
+     *
+     * @return {@code -1} if the allocation could not be measured
+     */
+    long getAllocatedBytesPerClass() {
+      if (allocatedBytes < 0) {
+        return -1L;
+      }
+      return 0 == classNanos.length ? 0L
+              : allocatedBytes / ((long)classNanos.length * measurementIterations);
+    }
+
+    /**
+     * Returns the slowest classes with their average time, slowest first.
+     *
+     * @return never {@code null}
+     */
+    List<ClassTiming> getSlowestClasses() {
+      return Collections.unmodifiableList(slowestClasses);
+    }
+  }
+
+  /**
+   * Average time of one class.
+   */
+  static final class ClassTiming implements Comparable<ClassTiming> {
+
+    private final String className;
+
+    private final long nanos;
+
+    private ClassTiming(final String className, final long nanos) {
+      this.className = className;
+      this.nanos = nanos;
+    }
+
+    /**
+     * Returns the name of the class.
+     *
+     * @return never {@code null}
+     */
+    String getClassName() {
+      return className;
+    }
+
+    /**
+     * Returns the average time of the class.
+     *
+     * @return nanoseconds
+     */
+    long getNanos() {
+      return nanos;
+    }
+
+    // slowest first
+    @Override
+    public int compareTo(final ClassTiming other) {
+      return Long.compare(other.nanos, nanos);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      return obj instanceof ClassTiming && compareTo((ClassTiming)obj) == 0
+             && className.equals(((ClassTiming)obj).className);
+    }
+
+    @Override
+    public int hashCode() {
+      return className.hashCode();
+    }
+  }
+}
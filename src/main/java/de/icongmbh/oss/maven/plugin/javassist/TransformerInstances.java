@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import java.lang.reflect.InvocationTargetException;
+
+import javassist.build.IClassTransformer;
+
+/**
+ * Creates the transformer instances of the mojos, the daemon and the forked JVM.
+ *
+ * @since 2.1.0
+ */
+final class TransformerInstances {
+
+  private TransformerInstances() {
+    // utility class
+  }
+
+  /**
+   * Creates a new instance of the passed transformer class by its no-arg constructor.
+   * <p>
+   * Unlike {@link Class#newInstance()}, a checked exception thrown by the constructor is wrapped
+   * into an {@link InstantiationException} instead of being rethrown undeclared.
+   * </p>
+   *
+   * @param transformerClass must not be {@code null}
+   *
+   * @return never {@code null}
+   *
+   * @throws InstantiationException if the class has no no-arg constructor, is abstract or its
+   *           constructor throws a checked exception
+   * @throws IllegalAccessException if the no-arg constructor is not accessible
+   */
+  static IClassTransformer newInstance(final Class<? extends IClassTransformer> transformerClass)
+          throws InstantiationException, IllegalAccessException {
+    try {
+      return transformerClass.getDeclaredConstructor().newInstance();
+    } catch (final NoSuchMethodException e) {
+      throw initCause(new InstantiationException(transformerClass.getName()
+                                                 + " has no no-arg constructor"), e);
+    } catch (final InvocationTargetException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException)cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error)cause;
+      }
+      throw initCause(new InstantiationException(transformerClass.getName()
+                                                 + " could not be created: " + cause), cause);
+    }
+  }
+
+  private static InstantiationException initCause(final InstantiationException exception,
+                                                  final Throwable cause) {
+    exception.initCause(cause);
+    return exception;
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javassist.ClassPool;
+import javassist.NotFoundException;
+
+/**
+ * Executor loading the classes of the input directory and of the passed class directories by a
+ * new {@link ClassPool} per transformation and the classes of the dependencies by one kept
+ * {@link ClassPool}.
+ *
+ * <p>
+ * The kept {@link ClassPool} must only contain classes not changing between transformations, e.g.
+ * the classes of JAR files.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+class WarmClassPoolExecutor extends JavassistTransformerExecutor {
+
+  private final ClassPool dependencyClassPool;
+
+  private final List<String> classDirectories;
+
+  /**
+   * Creates an executor.
+   *
+   * @param dependencyClassPool the kept {@link ClassPool} and must not be {@code null}
+   * @param classDirectories the directories of further classes changing between
+   *         transformations, e.g. of other modules, and must not be {@code null}
+   */
+  WarmClassPoolExecutor(final ClassPool dependencyClassPool, final List<String> classDirectories) {
+    this.dependencyClassPool = dependencyClassPool;
+    this.classDirectories = new ArrayList<>(classDirectories);
+  }
+
+  @Override
+  protected ClassPool buildClassPool() {
+    return new ClassPool(dependencyClassPool);
+  }
+
+  @Override
+  protected ClassPool configureClassPool(final ClassPool classPool, final String inputDir)
+          throws NotFoundException {
+    classPool.childFirstLookup = true;
+    classPool.appendClassPath(inputDir);
+    for (final String classDirectory : classDirectories) {
+      if (!classDirectory.equals(inputDir)) {
+        classPool.appendClassPath(classDirectory);
+      }
+    }
+    return classPool;
+  }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist.example.transformer;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deterministic automaton matching a name against several glob patterns in one scan.
+ *
+ * <p>
+ * Supported wildcards are {@value #ANY_SEQUENCE} (any sequence of characters, including
+ * {@code '.'}) and {@value #ANY_CHARACTER} (exactly one character). The states of the
+ * deterministic automaton are built on demand from the positions of all patterns (subset
+ * construction), so each distinct name is classified by one scan over its characters, regardless
+ * of the number of patterns. The transitions of the ASCII characters are kept in a table per state,
+ * the rare others in a map. The results of the {@value #MATCH_CACHE_SIZE} most recently matched
+ * names are cached.
+ * </p>
+ * <p>
+ * An instance is not thread-safe.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+final class GlobAutomaton {
+
+  /**
+   * Wildcard for any sequence of characters.
+   */
+  static final char ANY_SEQUENCE = '*';
+
+  /**
+   * Wildcard for exactly one character.
+   */
+  static final char ANY_CHARACTER = '?';
+
+  /**
+   * Number of names whose result is cached.
+   */
+  static final int MATCH_CACHE_SIZE = 1024;
+
+  private static final int ASCII = 128;
+
+  private static final BitSet NO_MATCH = new BitSet(0);
+
+  private final char[][] patterns;
+
+  // index of the first NFA state of each pattern
+  private final int[] offsets;
+
+  private final Map<BitSet, State> states = new HashMap<>();
+
+  private final Map<String, BitSet> matches = new LinkedHashMap<String, BitSet>(16, 0.75f, true) {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<String, BitSet> eldest) {
+      return size() > MATCH_CACHE_SIZE;
+    }
+  };
+
+  private final State dead = new State(NO_MATCH, NO_MATCH);
+
+  private final State start;
+
+  /**
+   * Compiles the passed patterns.
+   *
+   * @param patterns must not be {@code null} or contain {@code null} elements
+   */
+  GlobAutomaton(final List<String> patterns) {
+    this.patterns = new char[patterns.size()][];
+    this.offsets = new int[patterns.size()];
+    int offset = 0;
+    for (int index = 0; index < this.patterns.length; ++index) {
+      this.patterns[index] = patterns.get(index).toCharArray();
+      this.offsets[index] = offset;
+      offset += this.patterns[index].length + 1;
+    }
+    final BitSet initial = new BitSet(offset);
+    for (int index = 0; index < this.patterns.length; ++index) {
+      addClosure(initial, index, 0);
+    }
+    this.start = state(initial);
+  }
+
+  /**
+   * Indicates whether the passed name contains a wildcard.
+   *
+   * @param name must not be {@code null}
+   *
+   * @return {@code true} if the name is a pattern
+   */
+  static boolean isPattern(final String name) {
+    return name.indexOf(ANY_SEQUENCE) >= 0 || name.indexOf(ANY_CHARACTER) >= 0;
+  }
+
+  /**
+   * Returns the indexes of all patterns matching the passed name.
+   *
+   * @param name must not be {@code null}
+   *
+   * @return never {@code null}; must not be modified
+   */
+  BitSet match(final String name) {
+    BitSet accepted = matches.get(name);
+    if (null == accepted) {
+      State state = start;
+      for (int index = 0; index < name.length() && dead != state; ++index) {
+        state = state.next(name.charAt(index));
+      }
+      accepted = state.accepted;
+      matches.put(name, accepted);
+    }
+    return accepted;
+  }
+
+  private State state(final BitSet positions) {
+    State state = states.get(positions);
+    if (null == state) {
+      final BitSet accepted = new BitSet(patterns.length);
+      for (int index = 0; index < patterns.length; ++index) {
+        if (positions.get(offsets[index] + patterns[index].length)) {
+          accepted.set(index);
+        }
+      }
+      state = new State(positions, accepted);
+      states.put(positions, state);
+    }
+    return state;
+  }
+
+  private void addClosure(final BitSet positions, final int pattern, final int position) {
+    int current = position;
+    positions.set(offsets[pattern] + current);
+    while (current < patterns[pattern].length && ANY_SEQUENCE == patterns[pattern][current]) {
+      positions.set(offsets[pattern] + ++current);
+    }
+  }
+
+  private final class State {
+
+    private final BitSet positions;
+
+    private final BitSet accepted;
+
+    // null for a transition not built yet
+    private final State[] asciiTransitions = new State[ASCII];
+
+    // created on the first character beyond ASCII
+    private Map<Character, State> transitions;
+
+    private State(final BitSet positions, final BitSet accepted) {
+      this.positions = positions;
+      this.accepted = accepted;
+    }
+
+    private State next(final char character) {
+      State state;
+      if (character < ASCII) {
+        state = asciiTransitions[character];
+        if (null == state) {
+          state = target(character);
+          asciiTransitions[character] = state;
+        }
+      } else {
+        if (null == transitions) {
+          transitions = new HashMap<>();
+        }
+        state = transitions.get(Character.valueOf(character));
+        if (null == state) {
+          state = target(character);
+          transitions.put(Character.valueOf(character), state);
+        }
+      }
+      return state;
+    }
+
+    private State target(final char character) {
+      final BitSet target = new BitSet(positions.size());
+      for (int pattern = 0; pattern < patterns.length; ++pattern) {
+        final char[] tokens = patterns[pattern];
+        for (int position = 0; position < tokens.length; ++position) {
+          if (!positions.get(offsets[pattern] + position)) {
+            continue;
+          }
+          final char token = tokens[position];
+          if (ANY_SEQUENCE == token) {
+            addClosure(target, pattern, position);
+          } else if (ANY_CHARACTER == token || character == token) {
+            addClosure(target, pattern, position + 1);
+          }
+        }
+      }
+      return target.isEmpty() ? dead : state(target);
+    }
+  }
+}
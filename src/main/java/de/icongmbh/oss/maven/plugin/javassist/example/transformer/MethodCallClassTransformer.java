@@ -25,9 +25,11 @@ import javassist.CtField.Initializer;
 import javassist.NotFoundException;
 import javassist.build.JavassistBuildException;
 import javassist.bytecode.AccessFlag;
-import javassist.expr.ExprEditor;
+import javassist.bytecode.ConstPool;
 import javassist.expr.MethodCall;
 import de.icongmbh.oss.maven.plugin.javassist.ClassTransformer;
+import de.icongmbh.oss.maven.plugin.javassist.ExprEditorClassTransformer;
+import de.icongmbh.oss.maven.plugin.javassist.MethodCallReplacementCache;
 
 /**
  * Example of {@link ClassTransformer} implementation.
@@ -60,7 +62,7 @@ import de.icongmbh.oss.maven.plugin.javassist.ClassTransformer;
  *
  * @since 1.1.0
  */
-public class MethodCallClassTransformer extends ClassTransformer {
+public class MethodCallClassTransformer extends ExprEditorClassTransformer {
 
   /**
    * This token separates the class and the method name in {@code className}.
@@ -87,14 +89,21 @@ public class MethodCallClassTransformer extends ClassTransformer {
                                                                + MethodCallClassTransformer.class
                                                                  .getSimpleName();
 
-  private Properties properties;
+  private MethodCallRules rules = MethodCallRules.compile(null);
+
+  private final MethodCallReplacementCache replacements = new MethodCallReplacementCache();
+
+  private CtClass lastEditedClass;
 
   /**
    * <p>
    * {@link Properties} entries like the following.
    * </p>
    * <ul>
-   * <li>name: full qualified class name and method name separated by '{@link #METHOD_TOKEN #}'
+   * <li>name: full qualified class name and method name separated by '{@link #METHOD_TOKEN #}';
+   * the class name or the method name may be omitted to match all classes or all methods and the
+   * method name may be followed by the method descriptor to match overloaded methods separately;
+   * the class and the method name may contain the wildcards {@code *} and {@code ?}
    * <li>value: Javassist statement - starts with '{@link #JAVASSIST_STATEMENT_START_TOKEN &#123;}'
    * and ends with '{@link #JAVASSIST_STATEMENT_END_TOKEN &#125;}'
    * </ul>
@@ -102,6 +111,8 @@ public class MethodCallClassTransformer extends ClassTransformer {
    * <pre>
    * {@code
    *   my.example.App#doSomthing={ $2="injected value for sec. parameter"; $_ = $proceed($$); }
+   *   my.example.App#doSomthing(I)V={ $1=42; $_ = $proceed($$); }
+   *   my.example.dao.*#find*={ $_ = $proceed($$); }
    * }
    * </pre>
    *
@@ -113,46 +124,88 @@ public class MethodCallClassTransformer extends ClassTransformer {
    */
   @Override
   public void configure(final Properties properties) throws Exception {
-    this.properties = (null == properties) ? new Properties() : (Properties)properties.clone();
+    this.rules = MethodCallRules.compile(properties);
   }
 
+  /**
+   * Accepts the passed class if it calls at least one configured method and is not introspected
+   * before.
+   * <p>
+   * The method calls are looked up in the constant pool of the class, so classes without any
+   * matching call will not be instrumented at all.
+   * </p>
+   *
+   * @param candidateClass maybe {@code null}
+   *
+   * @return {@code true} if the class should be instrumented
+   */
   @Override
   public boolean shouldTransform(final CtClass candidateClass) throws JavassistBuildException {
-    return candidateClass != null && !isIntrospected(candidateClass);
+    return candidateClass != null && callsConfiguredMethod(candidateClass)
+           && !isIntrospected(candidateClass);
+  }
+
+  @Override
+  public void edit(final MethodCall method) throws CannotCompileException {
+    final String statement = rules.find(method.getClassName(),
+                                        method.getMethodName(),
+                                        method.getSignature());
+    if (statement != null) {
+      try {
+        replacements.replace(method, statement);
+        setEdited();
+        lastEditedClass = method.getEnclosingClass();
+      } catch (final CannotCompileException e) {
+        throw new CannotCompileException(String
+          .format("Compile statement '%1$s' FAILED with: %2$s", statement, e.getMessage()),
+                                         e);
+      }
+    }
   }
 
   @Override
-  public void applyTransformations(final CtClass classToTransform) throws JavassistBuildException {
-    if (null == classToTransform) {
+  public void afterInstrument(final CtClass transformedClass) throws JavassistBuildException {
+    if (transformedClass != lastEditedClass) {
+      // nothing replaced
       return;
     }
+    lastEditedClass = null;
     try {
-      classToTransform.instrument(new ExprEditor() {
-        @Override
-        public void edit(final MethodCall method) throws CannotCompileException {
-          final String statement = getStatement(method.getClassName(), method.getMethodName());
-          if (statement != null) {
-            try {
-              method.replace(statement);
-            } catch (final CannotCompileException e) {
-              throw new CannotCompileException(String
-                .format("Compile statement '%1$s' FAILED with: %2$s", statement, e.getMessage()),
-                                               e);
-            }
-          }
-        }
-      });
       // insert internal introspection state field
       final CtField introspectedField = new CtField(CtClass.booleanType,
                                                     ALREADY_INTROSPECTED_FIELD_NAME,
-                                                    classToTransform);
+                                                    transformedClass);
       introspectedField.setModifiers(AccessFlag.PUBLIC | AccessFlag.STATIC | AccessFlag.FINAL);
-      classToTransform.addField(introspectedField, Initializer.constant(true));
+      transformedClass.addField(introspectedField, Initializer.constant(true));
     } catch (CannotCompileException e) {
       throw new JavassistBuildException(e);
     }
   }
 
+  private boolean callsConfiguredMethod(final CtClass candidateClass) {
+    if (rules.isEmpty()) {
+      return false;
+    }
+    final ConstPool constPool = candidateClass.getClassFile2().getConstPool();
+    for (int index = 1; index < constPool.getSize(); ++index) {
+      final int tag = constPool.getTag(index);
+      if (ConstPool.CONST_Methodref == tag) {
+        if (null != rules.find(constPool.getMethodrefClassName(index),
+                               constPool.getMethodrefName(index),
+                               constPool.getMethodrefType(index))) {
+          return true;
+        }
+      } else if (ConstPool.CONST_InterfaceMethodref == tag) {
+        if (null != rules.find(constPool.getInterfaceMethodrefClassName(index),
+                               constPool.getInterfaceMethodrefName(index),
+                               constPool.getInterfaceMethodrefType(index))) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
   private boolean isIntrospected(final CtClass candidateClass) {
     try {
       candidateClass.getField(ALREADY_INTROSPECTED_FIELD_NAME);
@@ -161,16 +214,4 @@ public class MethodCallClassTransformer extends ClassTransformer {
       return false;
     }
   }
-
-  // TODO: find better implementation
-  private String getStatement(final String className, final String methodName) {
-    if (null == properties || (null == className && null == methodName)) {
-      return null;
-    }
-    String statement = this.properties.getProperty(className + METHOD_TOKEN + methodName);
-    if (null == statement) {
-      statement = this.properties.getProperty(className + METHOD_TOKEN);
-    }
-    return null == statement ? this.properties.getProperty(METHOD_TOKEN + methodName) : statement;
-  }
 }
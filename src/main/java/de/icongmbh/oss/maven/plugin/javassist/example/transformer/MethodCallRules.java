@@ -0,0 +1,331 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist.example.transformer;
+
+import static de.icongmbh.oss.maven.plugin.javassist.example.transformer.MethodCallClassTransformer.METHOD_TOKEN;
+
+import static de.icongmbh.oss.maven.plugin.javassist.example.transformer.GlobAutomaton.ANY_SEQUENCE;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Index of the Javassist statements configured for method calls.
+ *
+ * <p>
+ * The rules are compiled once into nested hash tables (class name to method name to method
+ * descriptor), so a lookup for a method call site neither concatenates nor allocates anything.
+ * </p>
+ * <p>
+ * Supported keys, in order of precedence:
+ * </p>
+ * <ol>
+ * <li>{@code my.example.App#doSomthing(Ljava/lang/String;I)V}: method of a class with descriptor
+ * <li>{@code my.example.App#doSomthing}: method of a class
+ * <li>{@code my.example.App#}: all methods of a class
+ * <li>{@code my.example.*#do*}: class and method name patterns, see below
+ * <li>{@code #doSomthing(Ljava/lang/String;I)V}: method of any class with descriptor
+ * <li>{@code #doSomthing}: method of any class
+ * </ol>
+ * <p>
+ * Class and method names may contain the wildcards {@code *} (any sequence of characters) and
+ * {@code ?} (one character); an omitted name matches all names and a descriptor is matched
+ * exactly. All patterns are compiled into one {@link GlobAutomaton} for the class names and one for
+ * the method names, so a call site is classified by one scan of each name, whatever the number of
+ * patterns. If several patterns match, the pattern with more non-wildcard characters wins and
+ * ties are decided by the alphabetical order of the keys.
+ * </p>
+ *
+ * @since 2.1.0
+ */
+final class MethodCallRules {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(MethodCallRules.class);
+
+  private static final char DESCRIPTOR_START_TOKEN = '(';
+
+  private static final String ANY = String.valueOf(ANY_SEQUENCE);
+
+  private final Map<String, ClassRules> classRules = new HashMap<>();
+
+  private final MethodRules anyClassRules = new MethodRules();
+
+  private final Map<String, PatternRule> patternRules = new LinkedHashMap<>();
+
+  // compiled on demand after a pattern rule is added
+  private PatternRule[] sortedPatternRules;
+
+  private GlobAutomaton classAutomaton;
+
+  private GlobAutomaton methodAutomaton;
+
+  private int size;
+
+  private MethodCallRules() {
+    // use compile(Properties)
+  }
+
+  /**
+   * Compiles the passed rules.
+   *
+   * @param properties maybe {@code null}
+   *
+   * @return never {@code null}
+   */
+  static MethodCallRules compile(final Properties properties) {
+    final MethodCallRules rules = new MethodCallRules();
+    if (null == properties) {
+      return rules;
+    }
+    for (final String key : properties.stringPropertyNames()) {
+      rules.add(key, properties.getProperty(key));
+    }
+    return rules;
+  }
+
+  /**
+   * Adds a rule.
+   *
+   * @param key class and method name separated by {@link MethodCallClassTransformer#METHOD_TOKEN}
+   *         and must not be {@code null}
+   * @param statement must not be {@code null}
+   */
+  void add(final String key, final String statement) {
+    final int methodTokenIndex = key.indexOf(METHOD_TOKEN);
+    if (methodTokenIndex < 0) {
+      LOGGER.warn("Method call rule '{}' ignored: missing '{}'", key, METHOD_TOKEN);
+      return;
+    }
+    final String className = key.substring(0, methodTokenIndex).trim();
+    final String method = key.substring(methodTokenIndex + 1).trim();
+    final int descriptorIndex = method.indexOf(DESCRIPTOR_START_TOKEN);
+    final String methodName = descriptorIndex < 0 ? method : method.substring(0, descriptorIndex);
+    if (GlobAutomaton.isPattern(className) || GlobAutomaton.isPattern(methodName)) {
+      final PatternRule rule = new PatternRule(className.isEmpty() ? ANY : className,
+                                               methodName.isEmpty() ? ANY : methodName,
+                                               descriptorIndex < 0 ? null
+                                                       : method.substring(descriptorIndex),
+                                               statement);
+      if (null == patternRules.put(rule.key(), rule)) {
+        ++size;
+      }
+      sortedPatternRules = null;
+      return;
+    }
+    final MethodRules methodRules;
+    if (className.isEmpty()) {
+      methodRules = anyClassRules;
+    } else {
+      ClassRules rules = classRules.get(className);
+      if (null == rules) {
+        rules = new ClassRules();
+        classRules.put(className, rules);
+      }
+      if (method.isEmpty()) {
+        rules.anyMethodStatement = statement;
+        ++size;
+        return;
+      }
+      methodRules = rules.methodRules;
+    }
+    methodRules.add(methodName,
+                    descriptorIndex < 0 ? null : method.substring(descriptorIndex),
+                    statement);
+    ++size;
+  }
+
+  /**
+   * Returns the statement for the passed method call.
+   *
+   * @param className full qualified name of the class declaring the called method and maybe
+   *         {@code null}
+   * @param methodName name of the called method and maybe {@code null}
+   * @param descriptor descriptor of the called method and maybe {@code null}
+   *
+   * @return the statement with the highest precedence or {@code null} if no rule matches
+   */
+  String find(final String className, final String methodName, final String descriptor) {
+    if (null != className) {
+      final ClassRules rules = classRules.get(className);
+      if (null != rules) {
+        final String statement = rules.methodRules.find(methodName, descriptor);
+        if (null != statement) {
+          return statement;
+        }
+        if (null != rules.anyMethodStatement) {
+          return rules.anyMethodStatement;
+        }
+      }
+    }
+    final String statement = findPattern(className, methodName, descriptor);
+    if (null != statement) {
+      return statement;
+    }
+    return anyClassRules.find(methodName, descriptor);
+  }
+
+  private String findPattern(final String className,
+                             final String methodName,
+                             final String descriptor) {
+    if (patternRules.isEmpty() || null == className || null == methodName) {
+      return null;
+    }
+    if (null == sortedPatternRules) {
+      compilePatterns();
+    }
+    final BitSet classMatches = classAutomaton.match(className);
+    if (classMatches.isEmpty()) {
+      return null;
+    }
+    final BitSet methodMatches = methodAutomaton.match(methodName);
+    for (int index = classMatches.nextSetBit(0); index >= 0;
+        index = classMatches.nextSetBit(index + 1)) {
+      if (methodMatches.get(index)) {
+        final PatternRule rule = sortedPatternRules[index];
+        if (null == rule.descriptor || rule.descriptor.equals(descriptor)) {
+          return rule.statement;
+        }
+      }
+    }
+    return null;
+  }
+
+  private void compilePatterns() {
+    final List<PatternRule> rules = new ArrayList<>(patternRules.values());
+    Collections.sort(rules, (rule1, rule2) -> {
+      final int specificity = Integer.compare(rule2.literals, rule1.literals);
+      return specificity != 0 ? specificity : rule1.key().compareTo(rule2.key());
+    });
+    final List<String> classPatterns = new ArrayList<>(rules.size());
+    final List<String> methodPatterns = new ArrayList<>(rules.size());
+    for (final PatternRule rule : rules) {
+      classPatterns.add(rule.classPattern);
+      methodPatterns.add(rule.methodPattern);
+    }
+    classAutomaton = new GlobAutomaton(classPatterns);
+    methodAutomaton = new GlobAutomaton(methodPatterns);
+    sortedPatternRules = rules.toArray(new PatternRule[rules.size()]);
+  }
+
+  /**
+   * Indicates whether no rule is configured.
+   *
+   * @return {@code true} if no rule is configured
+   */
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  private static final class ClassRules {
+
+    private final MethodRules methodRules = new MethodRules();
+
+    private String anyMethodStatement;
+  }
+
+  private static final class MethodRules {
+
+    private final Map<String, MethodRule> methodRules = new HashMap<>();
+
+    private void add(final String methodName, final String descriptor, final String statement) {
+      MethodRule rule = methodRules.get(methodName);
+      if (null == rule) {
+        rule = new MethodRule();
+        methodRules.put(methodName, rule);
+      }
+      if (null == descriptor) {
+        rule.statement = statement;
+      } else {
+        rule.statementByDescriptor.put(descriptor, statement);
+      }
+    }
+
+    private String find(final String methodName, final String descriptor) {
+      if (null == methodName) {
+        return null;
+      }
+      final MethodRule rule = methodRules.get(methodName);
+      if (null == rule) {
+        return null;
+      }
+      if (null != descriptor && !rule.statementByDescriptor.isEmpty()) {
+        final String statement = rule.statementByDescriptor.get(descriptor);
+        if (null != statement) {
+          return statement;
+        }
+      }
+      return rule.statement;
+    }
+  }
+
+  private static final class PatternRule {
+
+    private final String classPattern;
+
+    private final String methodPattern;
+
+    private final String descriptor;
+
+    private final String statement;
+
+    // number of non-wildcard characters
+    private final int literals;
+
+    private PatternRule(final String classPattern,
+                        final String methodPattern,
+                        final String descriptor,
+                        final String statement) {
+      this.classPattern = classPattern;
+      this.methodPattern = methodPattern;
+      this.descriptor = descriptor;
+      this.statement = statement;
+      this.literals = literals(classPattern) + literals(methodPattern)
+                      + (null == descriptor ? 0 : descriptor.length());
+    }
+
+    private String key() {
+      return classPattern + METHOD_TOKEN + methodPattern + (null == descriptor ? "" : descriptor);
+    }
+
+    private static int literals(final String pattern) {
+      int literals = 0;
+      for (int index = 0; index < pattern.length(); ++index) {
+        final char token = pattern.charAt(index);
+        if (ANY_SEQUENCE != token && GlobAutomaton.ANY_CHARACTER != token) {
+          ++literals;
+        }
+      }
+      return literals;
+    }
+  }
+
+  private static final class MethodRule {
+
+    private final Map<String, String> statementByDescriptor = new HashMap<>(4);
+
+    private String statement;
+  }
+}
@@ -0,0 +1,340 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist.example.transformer;
+
+import static de.icongmbh.oss.maven.plugin.javassist.example.transformer.RewriteRules.CONSTRUCTOR_NAME;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Properties;
+
+import javassist.CannotCompileException;
+import javassist.CtClass;
+import javassist.CtField;
+import javassist.CtField.Initializer;
+import javassist.NotFoundException;
+import javassist.build.JavassistBuildException;
+import javassist.bytecode.AccessFlag;
+import javassist.bytecode.ByteArray;
+import javassist.bytecode.ConstPool;
+import javassist.bytecode.Descriptor;
+import javassist.bytecode.MethodInfo;
+import javassist.expr.Cast;
+import javassist.expr.Expr;
+import javassist.expr.FieldAccess;
+import javassist.expr.MethodCall;
+import javassist.expr.NewExpr;
+import de.icongmbh.oss.maven.plugin.javassist.ClassTransformer;
+import de.icongmbh.oss.maven.plugin.javassist.ExprEditorClassTransformer;
+import de.icongmbh.oss.maven.plugin.javassist.MethodCallReplacementCache;
+import de.icongmbh.oss.maven.plugin.javassist.ProjectBasedirAware;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Example of {@link ClassTransformer} implementation.
+ *
+ * <p>
+ * The transformer replaces method calls, field accesses, object creations and casts by the
+ * Javassist statements configured in one rule file. All rules are compiled into hash tables on
+ * {@link #configure(Properties)} and applied within a single instrumentation pass per class.
+ * </p>
+ *
+ * <pre>
+ * {@code
+ *
+ * <transformerClass>
+ *  <className>
+ *    de.icongmbh.oss.maven.plugin.javassist.example.transformer.RewriteRuleClassTransformer
+ *  </className>
+ *  <properties>
+ *    <property>
+ *      <name>rewrite.rules.file</name>
+ *      <value>${project.basedir}/src/main/javassist/rewrite.rules</value>
+ *    </property>
+ *  </properties>
+ * </transformerClass>
+ * }
+ * </pre>
+ *
+ * <p>
+ * The rule file (UTF-8) contains one rule per {@code <kind> <pattern> = <statement>}:
+ * </p>
+ *
+ * <pre>
+ * {@code
+ *   # method calls; pattern like MethodCallClassTransformer
+ *   call my.example.App#doSomthing(I)V = { $1 = 42; $_ = $proceed($$); }
+ *   # field reads and writes
+ *   get  my.example.App#counter = { $_ = 0; }
+ *   set  my.example.App#counter = {
+ *          $proceed($1 + 1);
+ *        }
+ *   # object creations; class name with optional constructor descriptor
+ *   new  java.util.HashMap()V = { $_ = new java.util.LinkedHashMap(); }
+ *   # casts; type name with optional wildcards
+ *   cast java.lang.String = { $_ = ($r)String.valueOf($1); }
+ *   cast my.example.*Dto = { $_ = ($r)my.example.Dtos.copy($1); }
+ * }
+ * </pre>
+ *
+ * @see <a href="https://jboss-javassist.github.io/javassist/tutorial/tutorial2.html#before">
+ *      https://jboss-javassist.github.io/javassist/tutorial/tutorial2.html#before</a>
+ *
+ * @since 2.1.0
+ */
+public class RewriteRuleClassTransformer extends ExprEditorClassTransformer
+        implements ProjectBasedirAware {
+
+  /**
+   * Name of the property to configure the path of the rule file.
+   */
+  public static final String RULES_FILE_PROPERTY_NAME = "rewrite.rules.file";
+
+  /**
+   * Path of the rule file relative to the project base directory used if
+   * {@link #RULES_FILE_PROPERTY_NAME} is not configured.
+   */
+  public static final String DEFAULT_RULES_FILE = "src/main/javassist/rewrite.rules";
+
+  /**
+   * The, so called, &quot;stamp&quot; to mark already transformed classes.
+   */
+  public static final String ALREADY_INTROSPECTED_FIELD_NAME = "__introspected__"
+                                                               + RewriteRuleClassTransformer.class
+                                                                 .getSimpleName();
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(RewriteRuleClassTransformer.class);
+
+  private RewriteRules rules;
+
+  private File projectBasedir;
+
+  private final MethodCallReplacementCache replacements = new MethodCallReplacementCache();
+
+  private CtClass lastEditedClass;
+
+  @Override
+  public void setProjectBasedir(final File projectBasedir) {
+    this.projectBasedir = projectBasedir;
+  }
+
+  /**
+   * Reads and compiles the rule file.
+   * <p>
+   * A missing {@link #DEFAULT_RULES_FILE} is ignored, a missing configured file is an error.
+   * Relative paths are resolved against the {@link #setProjectBasedir(File) project base
+   * directory} or, without it, against the working directory.
+   * </p>
+   *
+   * @param properties maybe {@code null}
+   *
+   * @throws IOException if the rule file could not be read
+   * @throws IllegalArgumentException if a rule is invalid
+   */
+  @Override
+  public void configure(final Properties properties) throws Exception {
+    final String configuredFile = null == properties ? null
+            : properties.getProperty(RULES_FILE_PROPERTY_NAME);
+    File rulesFile = new File(null == configuredFile ? DEFAULT_RULES_FILE : configuredFile.trim());
+    if (!rulesFile.isAbsolute() && null != projectBasedir) {
+      rulesFile = new File(projectBasedir, rulesFile.getPath());
+    }
+    if (!rulesFile.isFile()) {
+      if (null != configuredFile) {
+        throw new FileNotFoundException("Rewrite rule file not found: " + rulesFile);
+      }
+      if (rulesFile.getParentFile().isDirectory()) {
+        LOGGER.warn("No rewrite rule file '{}' found in '{}', no rule is applied",
+                    rulesFile.getName(),
+                    rulesFile.getParentFile());
+      } else {
+        LOGGER.debug("No rewrite rule file found at '{}'", rulesFile);
+      }
+      this.rules = null;
+      return;
+    }
+    try (BufferedReader reader = Files.newBufferedReader(rulesFile.toPath(),
+                                                         StandardCharsets.UTF_8)) {
+      this.rules = RewriteRules.parse(reader, rulesFile.getPath());
+    }
+  }
+
+  /**
+   * Accepts the passed class if its constant pool references at least one member or type of a
+   * configured rule and it is not introspected before.
+   *
+   * @param candidateClass maybe {@code null}
+   *
+   * @return {@code true} if the class should be instrumented
+   */
+  @Override
+  public boolean shouldTransform(final CtClass candidateClass) throws JavassistBuildException {
+    return candidateClass != null && null != rules && !rules.isEmpty()
+           && referencesConfiguredRule(candidateClass) && !isIntrospected(candidateClass);
+  }
+
+  @Override
+  public void edit(final MethodCall methodCall) throws CannotCompileException {
+    final String statement = rules.findCall(methodCall.getClassName(),
+                                            methodCall.getMethodName(),
+                                            methodCall.getSignature());
+    if (null != statement) {
+      try {
+        replacements.replace(methodCall, statement);
+        setEdited();
+        lastEditedClass = methodCall.getEnclosingClass();
+      } catch (final CannotCompileException e) {
+        throw compileFailed(statement, e);
+      }
+    }
+  }
+
+  @Override
+  public void edit(final FieldAccess fieldAccess) throws CannotCompileException {
+    replaceByRule(fieldAccess.getEnclosingClass(),
+            rules.findFieldAccess(fieldAccess.getClassName(),
+                                  fieldAccess.getFieldName(),
+                                  fieldAccess.isReader()),
+            fieldAccess);
+  }
+
+  @Override
+  public void edit(final NewExpr newExpr) throws CannotCompileException {
+    replaceByRule(newExpr.getEnclosingClass(),
+            rules.findNew(newExpr.getClassName(), newExpr.getSignature()),
+            newExpr);
+  }
+
+  @Override
+  public void edit(final Cast cast) throws CannotCompileException {
+    if (rules.hasNoCasts()) {
+      return;
+    }
+    replaceByRule(cast.getEnclosingClass(), rules.findCast(castTypeName(cast)), cast);
+  }
+
+  @Override
+  public void afterInstrument(final CtClass transformedClass) throws JavassistBuildException {
+    if (transformedClass != lastEditedClass) {
+      // nothing replaced
+      return;
+    }
+    lastEditedClass = null;
+    try {
+      // insert internal introspection state field
+      final CtField introspectedField = new CtField(CtClass.booleanType,
+                                                    ALREADY_INTROSPECTED_FIELD_NAME,
+                                                    transformedClass);
+      introspectedField.setModifiers(AccessFlag.PUBLIC | AccessFlag.STATIC | AccessFlag.FINAL);
+      transformedClass.addField(introspectedField, Initializer.constant(true));
+    } catch (CannotCompileException e) {
+      throw new JavassistBuildException(e);
+    }
+  }
+
+  private void replaceByRule(final CtClass enclosingClass,
+                             final String statement,
+                             final Expr expr) throws CannotCompileException {
+    if (null == statement) {
+      return;
+    }
+    try {
+      replace(expr, statement);
+      lastEditedClass = enclosingClass;
+    } catch (final CannotCompileException e) {
+      throw compileFailed(statement, e);
+    }
+  }
+
+  /**
+   * Returns the name of the cast type read from the operand of the {@code checkcast} instruction,
+   * so a type missing from the class path is not loaded, unlike by {@link Cast#getType()}.
+   */
+  private static String castTypeName(final Cast cast) {
+    final MethodInfo methodInfo = cast.where().getMethodInfo2();
+    final int index = ByteArray.readU16bit(methodInfo.getCodeAttribute().getCode(),
+                                           cast.indexOfBytecode() + 1);
+    final String typeName = methodInfo.getConstPool().getClassInfo(index);
+    // arrays are encoded like [Ljava.lang.String;
+    return typeName.startsWith("[") ? Descriptor.toClassName(typeName) : typeName;
+  }
+
+  private boolean referencesConfiguredRule(final CtClass candidateClass) {
+    final ConstPool constPool = candidateClass.getClassFile2().getConstPool();
+    for (int index = 1; index < constPool.getSize(); ++index) {
+      switch (constPool.getTag(index)) {
+        case ConstPool.CONST_Methodref:
+          final String methodName = constPool.getMethodrefName(index);
+          if (CONSTRUCTOR_NAME.equals(methodName)
+              ? null != rules.findNew(constPool.getMethodrefClassName(index),
+                                      constPool.getMethodrefType(index))
+              : null != rules.findCall(constPool.getMethodrefClassName(index),
+                                       methodName,
+                                       constPool.getMethodrefType(index))) {
+            return true;
+          }
+          break;
+        case ConstPool.CONST_InterfaceMethodref:
+          if (null != rules.findCall(constPool.getInterfaceMethodrefClassName(index),
+                                     constPool.getInterfaceMethodrefName(index),
+                                     constPool.getInterfaceMethodrefType(index))) {
+            return true;
+          }
+          break;
+        case ConstPool.CONST_Fieldref:
+          final String className = constPool.getFieldrefClassName(index);
+          final String fieldName = constPool.getFieldrefName(index);
+          if (null != rules.findFieldAccess(className, fieldName, true)
+              || null != rules.findFieldAccess(className, fieldName, false)) {
+            return true;
+          }
+          break;
+        case ConstPool.CONST_Class:
+          final String typeName = constPool.getClassInfo(index);
+          if (null != rules.findCast(typeName.charAt(0) == '['
+              ? Descriptor.toClassName(typeName.replace('.', '/')) : typeName)) {
+            return true;
+          }
+          break;
+        default:
+          break;
+      }
+    }
+    return false;
+  }
+
+  private boolean isIntrospected(final CtClass candidateClass) {
+    try {
+      candidateClass.getField(ALREADY_INTROSPECTED_FIELD_NAME);
+      return true;
+    } catch (final NotFoundException e) {
+      return false;
+    }
+  }
+
+  private static CannotCompileException compileFailed(final String statement,
+                                                      final CannotCompileException cause) {
+    return new CannotCompileException(String
+      .format("Compile statement '%1$s' FAILED with: %2$s", statement, cause.getMessage()),
+                                      cause);
+  }
+}
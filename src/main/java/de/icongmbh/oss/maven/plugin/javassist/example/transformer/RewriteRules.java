@@ -0,0 +1,285 @@
+/*
+ * Copyright 2026 https://github.com/barthel
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.icongmbh.oss.maven.plugin.javassist.example.transformer;
+
+import static de.icongmbh.oss.maven.plugin.javassist.example.transformer.MethodCallClassTransformer.METHOD_TOKEN;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Dispatch tables of the rules read from a rewrite rule file.
+ *
+ * <p>
+ * Each rule kind is compiled into its own hash table, so the lookup of an expression costs the
+ * same for a handful and for hundreds of rules. All kinds are indexed like
+ * {@link MethodCallRules}; object creations by the class name and the member name
+ * {@value #CONSTRUCTOR_NAME}, casts by the type name and any member name.
+ * </p>
+ *
+ * @see RewriteRuleClassTransformer
+ * @since 2.1.0
+ */
+final class RewriteRules {
+
+  /**
+   * Kind of method call rules.
+   */
+  static final String CALL = "call";
+
+  /**
+   * Kind of field read rules.
+   */
+  static final String GET = "get";
+
+  /**
+   * Kind of field write rules.
+   */
+  static final String SET = "set";
+
+  /**
+   * Kind of object creation rules.
+   */
+  static final String NEW = "new";
+
+  /**
+   * Kind of cast rules.
+   */
+  static final String CAST = "cast";
+
+  /**
+   * Member name of constructors in the bytecode.
+   */
+  static final String CONSTRUCTOR_NAME = "<init>";
+
+  private static final char COMMENT_TOKEN = '#';
+
+  private static final char ASSIGN_TOKEN = '=';
+
+  private static final char DESCRIPTOR_START_TOKEN = '(';
+
+  private final MethodCallRules calls = MethodCallRules.compile(null);
+
+  private final MethodCallRules reads = MethodCallRules.compile(null);
+
+  private final MethodCallRules writes = MethodCallRules.compile(null);
+
+  private final MethodCallRules creations = MethodCallRules.compile(null);
+
+  private final MethodCallRules casts = MethodCallRules.compile(null);
+
+  private RewriteRules() {
+    // use parse(BufferedReader, String)
+  }
+
+  /**
+   * Parses the passed rule file content.
+   * <p>
+   * Each rule has the form {@code <kind> <pattern> = <statement>}; a statement may span several
+   * lines until its braces are balanced. Empty lines and lines starting with
+   * {@value #COMMENT_TOKEN} are ignored.
+   * </p>
+   *
+   * @param reader must not be {@code null}
+   * @param source name of the rule file used in error messages and maybe {@code null}
+   *
+   * @return never {@code null}
+   *
+   * @throws IOException if the rules could not be read
+   * @throws IllegalArgumentException if a rule is invalid
+   */
+  static RewriteRules parse(final BufferedReader reader, final String source) throws IOException {
+    final RewriteRules rules = new RewriteRules();
+    int lineNumber = 0;
+    String line;
+    while (null != (line = reader.readLine())) {
+      ++lineNumber;
+      final String rule = line.trim();
+      if (rule.isEmpty() || rule.charAt(0) == COMMENT_TOKEN) {
+        continue;
+      }
+      final int ruleLineNumber = lineNumber;
+      final int assignIndex = rule.indexOf(ASSIGN_TOKEN);
+      if (assignIndex < 0) {
+        throw invalidRule(source, ruleLineNumber, "missing '" + ASSIGN_TOKEN + "'");
+      }
+      final String[] head = rule.substring(0, assignIndex).trim().split("\\s+");
+      if (head.length != 2) {
+        throw invalidRule(source, ruleLineNumber, "expected '<kind> <pattern> = <statement>'");
+      }
+      final StringBuilder statement = new StringBuilder(rule.substring(assignIndex + 1).trim());
+      int depth = braceDepth(statement);
+      while (depth > 0 && null != (line = reader.readLine())) {
+        ++lineNumber;
+        statement.append('\n').append(line);
+        depth += braceDepth(line);
+      }
+      if (statement.length() == 0) {
+        throw invalidRule(source, ruleLineNumber, "missing statement");
+      }
+      if (depth != 0) {
+        throw invalidRule(source, ruleLineNumber, "unbalanced braces");
+      }
+      rules.add(head[0], head[1], statement.toString(), source, ruleLineNumber);
+    }
+    return rules;
+  }
+
+  private void add(final String kind,
+                   final String pattern,
+                   final String statement,
+                   final String source,
+                   final int lineNumber) {
+    final boolean member = pattern.indexOf(METHOD_TOKEN) >= 0;
+    final boolean descriptor = pattern.indexOf(DESCRIPTOR_START_TOKEN) >= 0;
+    switch (kind) {
+      case CALL:
+        if (!member) {
+          throw invalidRule(source, lineNumber, "expected '[class]#[method][(descriptor)]'");
+        }
+        calls.add(pattern, statement);
+        break;
+      case GET:
+      case SET:
+        if (!member || descriptor) {
+          throw invalidRule(source, lineNumber, "expected '[class]#[field]'");
+        }
+        (GET.equals(kind) ? reads : writes).add(pattern, statement);
+        break;
+      case NEW:
+        if (member) {
+          throw invalidRule(source, lineNumber, "expected 'class[(descriptor)]'");
+        }
+        final int descriptorIndex = pattern.indexOf(DESCRIPTOR_START_TOKEN);
+        creations.add(descriptorIndex < 0 ? pattern + METHOD_TOKEN + CONSTRUCTOR_NAME
+                : pattern.substring(0, descriptorIndex) + METHOD_TOKEN + CONSTRUCTOR_NAME
+                  + pattern.substring(descriptorIndex),
+                      statement);
+        break;
+      case CAST:
+        if (member || descriptor) {
+          throw invalidRule(source, lineNumber, "expected 'class'");
+        }
+        // all members of the cast type, so the type name may contain wildcards
+        casts.add(pattern + METHOD_TOKEN, statement);
+        break;
+      default:
+        throw invalidRule(source, lineNumber, "unknown kind '" + kind + "'");
+    }
+  }
+
+  /**
+   * Returns the statement for the passed method call.
+   *
+   * @param className maybe {@code null}
+   * @param methodName maybe {@code null}
+   * @param descriptor maybe {@code null}
+   *
+   * @return maybe {@code null}
+   * @see MethodCallRules#find(String, String, String)
+   */
+  String findCall(final String className, final String methodName, final String descriptor) {
+    return calls.find(className, methodName, descriptor);
+  }
+
+  /**
+   * Returns the statement for the passed field access.
+   *
+   * @param className maybe {@code null}
+   * @param fieldName maybe {@code null}
+   * @param reader {@code true} for a read and {@code false} for a write access
+   *
+   * @return maybe {@code null}
+   */
+  String findFieldAccess(final String className, final String fieldName, final boolean reader) {
+    return (reader ? reads : writes).find(className, fieldName, null);
+  }
+
+  /**
+   * Returns the statement for the passed object creation.
+   *
+   * @param className maybe {@code null}
+   * @param descriptor descriptor of the called constructor and maybe {@code null}
+   *
+   * @return maybe {@code null}
+   */
+  String findNew(final String className, final String descriptor) {
+    return creations.find(className, CONSTRUCTOR_NAME, descriptor);
+  }
+
+  /**
+   * Returns the statement for the passed cast.
+   *
+   * @param typeName Java name of the cast type, matched by the type name patterns like class
+   *         names by {@link MethodCallRules}, and maybe {@code null}
+   *
+   * @return maybe {@code null}
+   */
+  String findCast(final String typeName) {
+    return null == typeName ? null : casts.find(typeName, CAST, null);
+  }
+
+  /**
+   * Indicates whether no cast rule is configured.
+   *
+   * @return {@code true} if no cast rule is configured
+   */
+  boolean hasNoCasts() {
+    return casts.isEmpty();
+  }
+
+  /**
+   * Indicates whether no rule is configured.
+   *
+   * @return {@code true} if no rule is configured
+   */
+  boolean isEmpty() {
+    return calls.isEmpty() && reads.isEmpty() && writes.isEmpty() && creations.isEmpty()
+           && casts.isEmpty();
+  }
+
+  private static int braceDepth(final CharSequence statement) {
+    int depth = 0;
+    char quote = 0;
+    for (int index = 0; index < statement.length(); ++index) {
+      final char token = statement.charAt(index);
+      if (0 != quote) {
+        if ('\\' == token) {
+          ++index;
+        } else if (quote == token) {
+          quote = 0;
+        }
+      } else if ('"' == token || '\'' == token) {
+        quote = token;
+      } else if ('{' == token) {
+        ++depth;
+      } else if ('}' == token) {
+        --depth;
+      }
+    }
+    return depth;
+  }
+
+  private static IllegalArgumentException invalidRule(final String source,
+                                                      final int lineNumber,
+                                                      final String reason) {
+    return new IllegalArgumentException(String.format("Invalid rewrite rule at %1$s:%2$d: %3$s",
+                                                      source,
+                                                      lineNumber,
+                                                      reason));
+  }
+}
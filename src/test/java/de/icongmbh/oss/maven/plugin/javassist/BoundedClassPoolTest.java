@@ -0,0 +1,77 @@
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import javassist.CtClass;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BoundedClassPoolTest {
+
+  private BoundedClassPool sut;
+
+  @Before
+  public void setUp_SubjectUnderTest() {
+    sut = new BoundedClassPool(2);
+    sut.appendSystemPath();
+  }
+
+  @Test
+  public void evict_least_recently_used_classes() throws Exception {
+    // given
+    sut.get("java.util.List");
+    sut.get("java.util.Map");
+    sut.get("java.util.List");
+
+    // when
+    sut.get("java.util.Set");
+
+    // then
+    assertNotNull(sut.getCached("java.util.List"));
+    assertNotNull(sut.getCached("java.util.Set"));
+  }
+
+  @Test
+  public void return_evicted_class_still_referenced() throws Exception {
+    // given
+    final CtClass listClass = sut.get("java.util.List");
+    sut.get("java.util.Map");
+
+    // when
+    sut.get("java.util.Set");
+
+    // then
+    assertSame(listClass, sut.get("java.util.List"));
+  }
+
+  @Test
+  public void keep_modified_classes() throws Exception {
+    // given
+    sut.makeClass("foo.Bar");
+    sut.get("java.util.Map");
+
+    // when
+    sut.get("java.util.Set");
+    System.gc();
+
+    // then
+    assertNotNull(sut.getCached("foo.Bar"));
+  }
+
+  @Test
+  public void release_all_classes() throws Exception {
+    // given
+    sut.makeClass("foo.Bar");
+    sut.get("java.util.Map");
+
+    // when
+    sut.release();
+
+    // then
+    assertNull(sut.getCached("foo.Bar"));
+    assertNull(sut.getCached("java.util.Map"));
+    assertNotNull(sut.getCached("int"));
+  }
+}
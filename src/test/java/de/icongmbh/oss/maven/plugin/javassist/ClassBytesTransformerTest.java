@@ -0,0 +1,117 @@
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.LoaderClassPath;
+import de.icongmbh.oss.maven.plugin.javassist.stubs.TransformerStub;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ClassBytesTransformer} transforming the fresh compiled classes in memory.
+ */
+public class ClassBytesTransformerTest extends JavassistTransformerExecutorTestBase {
+
+  private TransformerStub transformer;
+
+  private final Map<String, Long> writtenBytes = new LinkedHashMap<>();
+
+  private ClassBytesTransformer sut;
+
+  @Before
+  public void setUp_SubjectUnderTest() {
+    transformer = new TransformerStub();
+    final JavassistTransformerExecutor executor = javassistTransformerExecutor();
+    executor.setTransformerClasses(transformer);
+    executor.addTransformationListener(new TransformationListener() {
+
+      @Override
+      public void classWritten(final String className,
+                               final File classFile,
+                               final long bytes,
+                               final long nanos) {
+        assertNull(classFile);
+        writtenBytes.put(className, bytes);
+      }
+    });
+    sut = new ClassBytesTransformer(executor,
+                                    new LoaderClassPath(getClass().getClassLoader()));
+  }
+
+  @After
+  public void tearDown_SubjectUnderTest() {
+    sut.close();
+  }
+
+  @Test
+  public void transform_class_files_in_memory() throws Exception {
+    // given
+    final Map<String, byte[]> classFiles = classFiles(withInnerClass());
+
+    // when
+    final Map<String, byte[]> transformedClassFiles = sut.transform(classFiles);
+
+    // then
+    assertEquals(classFiles.keySet(), transformedClassFiles.keySet());
+    for (final byte[] transformedClassFile : transformedClassFiles.values()) {
+      final CtClass transformedClass = new ClassPool(true)
+              .makeClass(new ByteArrayInputStream(transformedClassFile));
+      assertNotNull(transformedClass.getDeclaredField(
+              JavassistTransformerExecutor.createStampFieldName(TransformerStub.class.getName())));
+    }
+    assertEquals(0, transformedClassDirectory().list().length);
+  }
+
+  @Test
+  public void report_size_of_class_files_kept_in_memory() throws Exception {
+    // given
+    final Map<String, byte[]> classFiles = classFiles(oneTestClass());
+
+    // when
+    final Map<String, byte[]> transformedClassFiles = sut.transform(classFiles);
+
+    // then
+    assertEquals(transformedClassFiles.keySet(), writtenBytes.keySet());
+    for (final Map.Entry<String, byte[]> transformedClassFile : transformedClassFiles.entrySet()) {
+      assertEquals(Long.valueOf(transformedClassFile.getValue().length),
+                   writtenBytes.get(transformedClassFile.getKey()));
+    }
+  }
+
+  @Test
+  public void skip_stamped_class_files() throws Exception {
+    // given
+    final Map<String, byte[]> transformedClassFiles = sut.transform(classFiles(oneTestClass()));
+    transformer.getTransformed().clear();
+
+    // when
+    final Map<String, byte[]> retransformedClassFiles = sut.transform(transformedClassFiles);
+
+    // then
+    assertTrue(retransformedClassFiles.isEmpty());
+    assertTrue(transformer.getTransformed().isEmpty());
+  }
+
+  private Map<String, byte[]> classFiles(final String... classNames) throws IOException {
+    final Map<String, byte[]> classFiles = new LinkedHashMap<>();
+    for (final String className : classNames) {
+      final File classFile = new File(classDirectory(),
+                                      className.replace('.', File.separatorChar) + ".class");
+      classFiles.put(className, Files.readAllBytes(classFile.toPath()));
+    }
+    return classFiles;
+  }
+}
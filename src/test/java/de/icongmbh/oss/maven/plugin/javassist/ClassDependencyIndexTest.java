@@ -0,0 +1,95 @@
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.Set;
+
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtNewMethod;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ClassDependencyIndexTest {
+
+  @Rule
+  public final TemporaryFolder temporaryFolderRule = new TemporaryFolder();
+
+  private String classDirectory;
+
+  private File indexFile;
+
+  @Before
+  public void setUp_classes() throws Exception {
+    classDirectory = temporaryFolderRule.newFolder("classes").getAbsolutePath();
+    indexFile = new File(temporaryFolderRule.getRoot(), "index.properties");
+    final ClassPool classPool = new ClassPool(true);
+    writeClass(classPool.makeClass("test.Base"));
+    final CtClass subClass = classPool.makeClass("test.Sub");
+    subClass.setSuperclass(classPool.get("test.Base"));
+    writeClass(subClass);
+    final CtClass subClassUser = classPool.makeClass("test.SubUser");
+    subClassUser.addMethod(CtNewMethod.make("public Object create() { return new test.Sub(); }",
+                                            subClassUser));
+    writeClass(subClassUser);
+    final CtClass baseClassUser = classPool.makeClass("test.BaseUser");
+    baseClassUser.addMethod(CtNewMethod.make("public Object create() { return new test.Base(); }",
+                                             baseClassUser));
+    writeClass(baseClassUser);
+    writeClass(classPool.makeClass("test.Unrelated"));
+  }
+
+  @Test
+  public void return_referencing_classes_and_users_of_subclasses() throws Exception {
+    // given
+    final ClassDependencyIndex sut = new ClassDependencyIndex(indexFile);
+    sut.rebuild(classDirectory);
+
+    // when
+    final Set<String> dependents = sut.getDependents(singletonList("test.Base"));
+
+    // then
+    assertEquals(new HashSet<>(asList("test.Sub", "test.SubUser", "test.BaseUser")),
+                 dependents);
+  }
+
+  @Test
+  public void return_no_dependents_of_unreferenced_class() throws Exception {
+    // given
+    final ClassDependencyIndex sut = new ClassDependencyIndex(indexFile);
+    sut.rebuild(classDirectory);
+
+    // when
+    final Set<String> dependents = sut.getDependents(asList("test.SubUser", "test.Unrelated"));
+
+    // then
+    assertTrue(dependents.isEmpty());
+  }
+
+  @Test
+  public void load_saved_index() throws Exception {
+    // given
+    final ClassDependencyIndex index = new ClassDependencyIndex(indexFile);
+    index.rebuild(classDirectory);
+    index.save();
+
+    // when
+    final ClassDependencyIndex sut = new ClassDependencyIndex(indexFile);
+
+    // then
+    assertEquals(index.getDependents(singletonList("test.Base")),
+                 sut.getDependents(singletonList("test.Base")));
+  }
+
+  private void writeClass(final CtClass ctClass) throws Exception {
+    ctClass.writeFile(classDirectory);
+    ctClass.defrost();
+  }
+}
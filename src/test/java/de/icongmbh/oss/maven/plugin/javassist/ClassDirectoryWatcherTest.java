@@ -0,0 +1,89 @@
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ClassDirectoryWatcherTest {
+
+  private static final long TIMEOUT_MILLIS = 10_000L;
+
+  @Rule
+  public final TemporaryFolder temporaryFolderRule = new TemporaryFolder();
+
+  private File classDirectory;
+
+  private ClassDirectoryWatcher sut;
+
+  @Before
+  public void setUp_SubjectUnderTest() throws IOException {
+    classDirectory = temporaryFolderRule.newFolder("classes");
+    sut = new ClassDirectoryWatcher(singletonList(classDirectory.getAbsolutePath()), 50L);
+  }
+
+  @After
+  public void tearDown_SubjectUnderTest() throws IOException {
+    sut.close();
+  }
+
+  @Test
+  public void report_class_written_into_new_directory() throws Exception {
+    // given
+    final File packageDirectory = new File(classDirectory, "foo");
+    packageDirectory.mkdirs();
+    Files.write(new File(packageDirectory, "Bar.class").toPath(), new byte[] {1});
+    Files.write(new File(packageDirectory, "Bar.java").toPath(), new byte[] {1});
+
+    // when
+    final Map<String, Set<String>> changes = sut.awaitChanges(TIMEOUT_MILLIS);
+
+    // then
+    assertEquals(singleton(classDirectory.getAbsolutePath()), changes.keySet());
+    assertEquals(singleton("foo.Bar"), changes.get(classDirectory.getAbsolutePath()));
+  }
+
+  @Test
+  public void ignore_class_written_by_transformation() throws Exception {
+    // given
+    final File classFile = new File(classDirectory, "Bar.class");
+    Files.write(classFile.toPath(), new byte[] {1});
+    sut.ignore(classFile);
+
+    // when
+    final Map<String, Set<String>> changes = sut.awaitChanges(500L);
+
+    // then
+    assertTrue(changes.isEmpty());
+  }
+
+  @Test
+  public void report_class_written_again_within_the_same_modification_time() throws Exception {
+    // given
+    final File classFile = new File(classDirectory, "Bar.class");
+    Files.write(classFile.toPath(), new byte[] {1});
+    final long lastModified = classFile.lastModified();
+    sut.ignore(classFile);
+    sut.awaitChanges(500L);
+    Files.write(classFile.toPath(), new byte[] {2});
+    classFile.setLastModified(lastModified);
+
+    // when
+    final Map<String, Set<String>> changes = sut.awaitChanges(TIMEOUT_MILLIS);
+
+    // then
+    assertEquals(singleton("Bar"), changes.get(classDirectory.getAbsolutePath()));
+  }
+}
@@ -0,0 +1,87 @@
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import static java.util.Arrays.asList;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.mock;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sonatype.plexus.build.incremental.BuildContext;
+
+public class CompiledClassnamesTest {
+
+  @Rule
+  public final TemporaryFolder temporaryFolderRule = new TemporaryFolder();
+
+  private File statusDirectory;
+
+  private File classDirectory;
+
+  @Before
+  public void setUp_directories() throws IOException {
+    statusDirectory = temporaryFolderRule.newFolder("compile");
+    classDirectory = temporaryFolderRule.newFolder("classes");
+  }
+
+  @Test
+  public void read_existing_created_classes() throws IOException {
+    // given
+    final File executionDirectory = new File(statusDirectory, "default-compile");
+    executionDirectory.mkdirs();
+    Files.write(new File(executionDirectory, CompiledClassnames.CREATED_FILES).toPath(),
+                asList("foo/Bar.class", "foo/Bar$Nested.class", "foo/Deleted.class",
+                       "META-INF/services/foo.Service"),
+                StandardCharsets.UTF_8);
+    new File(classDirectory, "foo").mkdirs();
+    new File(classDirectory, "foo/Bar.class").createNewFile();
+    new File(classDirectory, "foo/Bar$Nested.class").createNewFile();
+
+    // when
+    final List<String> classNames = CompiledClassnames.readCreatedClassnames(statusDirectory,
+                                                                             classDirectory);
+
+    // then
+    assertEquals(asList("foo.Bar", "foo.Bar$Nested"), classNames);
+  }
+
+  @Test
+  public void return_null_without_created_files() throws IOException {
+    // given
+    new File(statusDirectory, "default-compile").mkdirs();
+
+    // when
+    final List<String> classNames = CompiledClassnames.readCreatedClassnames(statusDirectory,
+                                                                             classDirectory);
+
+    // then
+    assertNull(classNames);
+  }
+
+  @Test
+  public void return_null_if_build_is_not_incremental() throws IOException {
+    // given
+    final BuildContext buildContext = mock(BuildContext.class);
+    expect(buildContext.isIncremental()).andReturn(false);
+    replay(buildContext);
+
+    // when
+    final List<String> classNames = CompiledClassnames.scanChangedClassnames(buildContext,
+                                                                             classDirectory);
+
+    // then
+    assertNull(classNames);
+    verify(buildContext);
+  }
+}
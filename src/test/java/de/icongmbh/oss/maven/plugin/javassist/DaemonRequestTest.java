@@ -0,0 +1,72 @@
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Properties;
+
+import org.junit.Test;
+
+public class DaemonRequestTest {
+
+  @Test
+  public void read_written_request() throws IOException {
+    // given
+    final ClassTransformerConfiguration transformer = new ClassTransformerConfiguration();
+    transformer.setClassName("foo.Transformer");
+    final Properties properties = new Properties();
+    properties.setProperty("foo.Bar#baz", "{ $_ = ä; }");
+    transformer.setProperties(properties);
+    final DaemonRequest request = new DaemonRequest("foo:bar:1",
+                                                    asList("a.jar", "classes"),
+                                                    singletonList(transformer),
+                                                    asList("classes", "test-classes"),
+                                                    asList(asList("foo.Bar"), null),
+                                                    asList("classes.properties", null),
+                                                    asList(null, "staging"),
+                                                    asList("pristine", null),
+                                                    "project",
+                                                    1024L);
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    request.write(new DataOutputStream(bytes));
+
+    // when
+    final DaemonRequest readRequest = DaemonRequest.read(new DataInputStream(
+            new ByteArrayInputStream(bytes.toByteArray())));
+
+    // then
+    assertEquals("foo:bar:1", readRequest.getProjectId());
+    assertEquals(request.getClassPath(), readRequest.getClassPath());
+    assertEquals(transformer.getFingerprint(),
+                 readRequest.getTransformers().get(0).getFingerprint());
+    assertEquals(request.getInputDirectories(), readRequest.getInputDirectories());
+    assertEquals(asList("foo.Bar"), readRequest.getClassNames().get(0));
+    assertNull(readRequest.getClassNames().get(1));
+    assertEquals(request.getDependencyIndexFiles(), readRequest.getDependencyIndexFiles());
+    assertEquals(request.getOutputDirectories(), readRequest.getOutputDirectories());
+    assertEquals(request.getPristineClassDirectories(),
+                 readRequest.getPristineClassDirectories());
+    assertEquals("project", readRequest.getProjectBasedir());
+    assertEquals(1024L, readRequest.getMemoryBudget());
+  }
+
+  @Test(expected = IOException.class)
+  public void reject_invalid_length() throws IOException {
+    // given
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    new DataOutputStream(bytes).writeInt(DaemonRequest.MAX_LENGTH + 1);
+
+    // when
+    DaemonRequest.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+    // then
+    // exception thrown
+  }
+}
@@ -0,0 +1,69 @@
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import de.icongmbh.oss.maven.plugin.javassist.stubs.TransformerStub;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ForkClient} forking a JVM with the class path of the test.
+ */
+public class ForkClientTest extends JavassistTransformerExecutorTestBase {
+
+  private ForkClient sut;
+
+  @Before
+  public void setUp_SubjectUnderTest() {
+    final List<File> classPath = new ArrayList<>();
+    for (final String classPathElement : System.getProperty("java.class.path")
+        .split(File.pathSeparator)) {
+      classPath.add(new File(classPathElement));
+    }
+    sut = new ForkClient(classPath, singletonList("-Xmx64m"));
+  }
+
+  @Test
+  public void transform_in_forked_jvm() throws Exception {
+    // given
+    oneTestClass();
+
+    // when
+    final int transformedClasses = sut.transform(request(TransformerStub.class.getName()));
+
+    // then
+    assertEquals(1, transformedClasses);
+  }
+
+  @Test(expected = IOException.class)
+  public void report_failed_transformation() throws Exception {
+    // given
+    oneTestClass();
+
+    // when
+    sut.transform(request("foo.MissingTransformer"));
+
+    // then
+    // exception thrown
+  }
+
+  private DaemonRequest request(final String transformerClassName) {
+    final ClassTransformerConfiguration transformer = new ClassTransformerConfiguration();
+    transformer.setClassName(transformerClassName);
+    final String directory = classDirectory().getAbsolutePath();
+    return new DaemonRequest("test",
+                             singletonList(directory),
+                             singletonList(transformer),
+                             singletonList(directory),
+                             Collections.<List<String>>singletonList(null),
+                             Collections.<String>singletonList(null),
+                             0L);
+  }
+}
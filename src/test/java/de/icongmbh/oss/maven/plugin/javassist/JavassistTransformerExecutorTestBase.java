@@ -115,8 +115,6 @@ public abstract class JavassistTransformerExecutorTestBase {
     expect(classPool.appendClassPath(isA(LoaderClassPath.class))).andReturn(null);
     // actual system classpath
     expect(classPool.appendSystemPath()).andReturn(null);
-    expect(classPool.get(Object.class.getName())).andReturn(mock("Object_CtClass", CtClass.class))
-      .anyTimes();
     return classPool;
   }
 
@@ -125,8 +123,8 @@ public abstract class JavassistTransformerExecutorTestBase {
   }
 
   protected CtClass initializeClass(final CtClass ctClass) throws NotFoundException {
-    expect(ctClass.getClassFile2()).andReturn(null);
-    expect(ctClass.subtypeOf(anyObject(CtClass.class))).andReturn(true);
+    // direct supertype java.lang.Object only
+    expect(ctClass.getClassFile2()).andReturn(new ClassFile(false, "test.Candidate", null));
     return ctClass;
   }
 
@@ -189,6 +187,28 @@ public abstract class JavassistTransformerExecutorTestBase {
       packageName + '.' + className + '$' + innerClassName};
   }
 
+  @SuppressWarnings("resource")
+  protected String[] withSuperClass() throws IOException {
+    final String packageName = "test";
+    final String className = "SuperTest";
+    final String subClassName = "SubTest";
+
+    final String source = "package " + packageName + ";"
+      + "public class " + className + " { "
+      + "  public " + className + "() { "
+      + "    System.out.println(\"world\"); "
+      + "  } "
+      + "} "
+      + "class " + subClassName + " extends " + className + " { "
+      + "}";
+    compileSourceFiles(writeSourceFile(className, source));
+    // source file and two compiled classes
+    assertEquals("3 classes in classes directory",
+                 3,
+                 FileUtils.listFiles(classDirectory(), null, true).size());
+    return new String[] {packageName + '.' + className, packageName + '.' + subClassName};
+  }
+
   private void compileSourceFiles(File... sourceFiles) {
     // Compile source files
     JavaCompiler compiler = getSystemJavaCompiler();
@@ -0,0 +1,176 @@
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import static de.icongmbh.oss.maven.plugin.javassist.MethodCallReplacementCache.BRIDGE_METHOD_NAME_PREFIX;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+
+import javassist.CannotCompileException;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtMethod;
+import javassist.CtNewConstructor;
+import javassist.CtField;
+import javassist.CtNewMethod;
+import javassist.bytecode.CodeAttribute;
+import javassist.bytecode.ConstPool;
+import javassist.bytecode.LocalVariableAttribute;
+import javassist.expr.ExprEditor;
+import javassist.expr.MethodCall;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MethodCallReplacementCacheTest {
+
+  private CtClass candidateClass;
+
+  private MethodCallReplacementCache sut;
+
+  @Before
+  public void setUp() throws Exception {
+    candidateClass = new ClassPool(true).makeClass("test.ReplacementTest");
+    candidateClass.addConstructor(CtNewConstructor.defaultConstructor(candidateClass));
+    candidateClass.addMethod(CtNewMethod
+      .make("public static String staticCalls() {"
+            + " return String.valueOf(1) + String.valueOf(2) + String.valueOf(3); }",
+            candidateClass));
+    candidateClass.addMethod(CtNewMethod
+      .make("public static int interfaceCalls(java.util.List list) {"
+            + " return list.size() + list.size(); }",
+            candidateClass));
+    candidateClass.addMethod(CtNewMethod
+      .make("public static String virtualCalls(Object o) { return o.toString() + o.toString(); }",
+            candidateClass));
+    candidateClass.addMethod(CtNewMethod
+      .make("public String instanceCalls() { return String.valueOf(1) + String.valueOf(2); }",
+            candidateClass));
+    candidateClass.addField(CtField.make("public static String prefix = \"field\";",
+                                         candidateClass));
+    final CtMethod shadowedCalls = CtNewMethod
+      .make("public static String shadowedCalls(String text) { return String.valueOf(text); }",
+            candidateClass);
+    final CodeAttribute code = shadowedCalls.getMethodInfo().getCodeAttribute();
+    final ConstPool constPool = code.getConstPool();
+    final LocalVariableAttribute localVariables = new LocalVariableAttribute(constPool);
+    localVariables.addEntry(0,
+                            code.getCodeLength(),
+                            constPool.addUtf8Info("prefix"),
+                            constPool.addUtf8Info("Ljava/lang/String;"),
+                            0);
+    code.getAttributes().add(localVariables);
+    candidateClass.addMethod(shadowedCalls);
+    sut = new MethodCallReplacementCache();
+  }
+
+  @Test
+  public void testCompileStatementOnceForStaticCalls() throws Exception {
+    // given
+    replace("staticCalls", "valueOf", "{ $_ = \"<\" + $proceed($$) + \">\"; }");
+
+    // when
+    final Object result = invoke("staticCalls");
+
+    // then
+    assertEquals("<1><2><3>", result);
+    assertEquals(1, countBridges());
+  }
+
+  @Test
+  public void testCompileStatementOnceForInterfaceCalls() throws Exception {
+    // given
+    replace("interfaceCalls", "size", "{ $_ = $proceed($$) + 1; }");
+
+    // when
+    final Object result = invoke("interfaceCalls", Arrays.asList("a", "b"));
+
+    // then
+    assertEquals(6, result);
+    assertEquals(1, countBridges());
+  }
+
+  @Test
+  public void testCompileStatementOnceForVirtualCalls() throws Exception {
+    // given
+    replace("virtualCalls", "toString", "{ $_ = $proceed($$).toUpperCase(); }");
+
+    // when
+    final Object result = invoke("virtualCalls", "ab");
+
+    // then
+    assertEquals("ABAB", result);
+    assertEquals(1, countBridges());
+  }
+
+  @Test
+  public void testReplaceInPlaceIfStatementCanNotBeBridged() throws Exception {
+    // given
+    replace("instanceCalls", "valueOf",
+            "{ $_ = this.getClass().getSimpleName() + $proceed($$); }");
+
+    // when
+    final Object result = invoke("instanceCalls");
+
+    // then
+    assertEquals("ReplacementTest1ReplacementTest2", result);
+    assertEquals(0, countBridges());
+  }
+
+  @Test
+  public void testReplaceInPlaceIfStatementNamesLocalVariable() throws Exception {
+    // given
+    replace("shadowedCalls", "valueOf", "{ $_ = prefix + $proceed($$); }");
+
+    // when
+    final Object result = invoke("shadowedCalls", "local");
+
+    // then
+    assertEquals("locallocal", result);
+    assertEquals(0, countBridges());
+  }
+
+  private void replace(final String callerName, final String methodName, final String statement)
+    throws CannotCompileException {
+    candidateClass.instrument(new ExprEditor() {
+      @Override
+      public void edit(final MethodCall methodCall) throws CannotCompileException {
+        if (callerName.equals(methodCall.where().getName())
+            && methodName.equals(methodCall.getMethodName())) {
+          sut.replace(methodCall, statement);
+        }
+      }
+    });
+  }
+
+  private Object invoke(final String methodName, final Object... args) throws Exception {
+    final byte[] bytecode = candidateClass.toBytecode();
+    final Class<?> transformedClass = new ClassLoader(getClass().getClassLoader()) {
+      {
+        defineClass(candidateClass.getName(), bytecode, 0, bytecode.length);
+      }
+
+      @Override
+      protected Class<?> findClass(final String name) throws ClassNotFoundException {
+        throw new ClassNotFoundException(name);
+      }
+    }.loadClass(candidateClass.getName());
+    for (final java.lang.reflect.Method method : transformedClass.getMethods()) {
+      if (method.getName().equals(methodName)) {
+        final Object target = java.lang.reflect.Modifier.isStatic(method.getModifiers()) ? null
+          : transformedClass.getDeclaredConstructor().newInstance();
+        return method.invoke(target, args);
+      }
+    }
+    throw new NoSuchMethodException(methodName);
+  }
+
+  private int countBridges() {
+    int bridges = 0;
+    for (final CtMethod method : candidateClass.getDeclaredMethods()) {
+      if (method.getName().startsWith(BRIDGE_METHOD_NAME_PREFIX)) {
+        ++bridges;
+      }
+    }
+    return bridges;
+  }
+
+}
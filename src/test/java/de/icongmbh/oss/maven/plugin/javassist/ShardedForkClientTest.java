@@ -0,0 +1,198 @@
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtField;
+import de.icongmbh.oss.maven.plugin.javassist.stubs.SupertypeStampTransformerStub;
+import de.icongmbh.oss.maven.plugin.javassist.stubs.TransformerStub;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ShardedForkClient} forking JVMs with the class path of the test.
+ */
+public class ShardedForkClientTest extends JavassistTransformerExecutorTestBase {
+
+  @Test
+  public void keep_nested_classes_with_outer_class() {
+    // given
+    final List<String> classNames = new ArrayList<>();
+    for (int index = 0; index < 100; ++index) {
+      classNames.add("foo.Outer" + index);
+      classNames.add("foo.Outer" + index + "$Inner");
+      classNames.add("foo.Outer" + index + "$Inner$1");
+    }
+
+    // when
+    final List<List<String>> partitions = ShardedForkClient.partition(
+            classNames, 4, false, className -> 1L);
+
+    // then
+    assertEquals(4, partitions.size());
+    for (final List<String> partition : partitions) {
+      assertTrue("not empty", !partition.isEmpty());
+      for (final String className : partition) {
+        final String outerClassName = className.contains("$")
+            ? className.substring(0, className.indexOf('$')) : className;
+        assertTrue(className, partition.contains(outerClassName));
+      }
+    }
+  }
+
+  @Test
+  public void keep_package_in_one_shard() {
+    // given
+    final List<String> classNames = asList("foo.A", "bar.B", "foo.C", "bar.D$E", "F");
+
+    // when
+    final List<List<String>> partitions = ShardedForkClient.partition(
+            classNames, 3, true, className -> 1L);
+
+    // then
+    for (final List<String> partition : partitions) {
+      if (partition.contains("foo.A")) {
+        assertTrue(partition.contains("foo.C"));
+      }
+      if (partition.contains("bar.B")) {
+        assertTrue(partition.contains("bar.D$E"));
+      }
+    }
+  }
+
+  @Test
+  public void balance_shards_largest_first() {
+    // given
+    final List<String> classNames = asList("foo.Small1", "foo.Huge", "foo.Small2", "foo.Small3");
+
+    // when
+    final List<List<String>> partitions = ShardedForkClient.partition(
+            classNames, 2, false, className -> className.startsWith("foo.Huge") ? 30L : 10L);
+
+    // then
+    assertEquals(singletonList("foo.Huge"), partitions.get(0));
+    assertEquals(asList("foo.Small1", "foo.Small2", "foo.Small3"), partitions.get(1));
+  }
+
+  @Test
+  public void transform_shards_in_forked_jvms() throws Exception {
+    // given
+    withInnerClass();
+    final ShardedForkClient sut = new ShardedForkClient(forkClient(), 2, false);
+
+    // when
+    final int transformedClasses = sut.transform(request(TransformerStub.class.getName()));
+
+    // then
+    assertEquals(2, transformedClasses);
+  }
+
+  @Test
+  public void resolve_untransformed_supertypes_of_other_shards() throws Exception {
+    // given
+    final String[] classNames = withSuperClass();
+    final ShardedForkClient sut = new ShardedForkClient(forkClient(), 2, false);
+
+    // when
+    final int transformedClasses = sut.transform(request(
+            SupertypeStampTransformerStub.class.getName()));
+
+    // then
+    assertEquals(2, transformedClasses);
+    final ClassPool classPool = new ClassPool(true);
+    classPool.appendClassPath(classDirectory().getAbsolutePath());
+    for (final String className : classNames) {
+      final CtClass transformedClass = classPool.get(className);
+      assertNotNull(className, transformedClass.getDeclaredField(
+              JavassistTransformerExecutor.createStampFieldName(
+                      SupertypeStampTransformerStub.class.getName())));
+      for (final CtField field : transformedClass.getDeclaredFields()) {
+        assertNotEquals(className,
+                        SupertypeStampTransformerStub.TRANSFORMED_SUPERCLASS_FIELD_NAME,
+                        field.getName());
+      }
+    }
+    // no staging directory left
+    assertArrayEquals(new String[] {"classes", "transformed-classes"},
+                      sortedFileNames(classDirectory().getParentFile()));
+  }
+
+  @Test
+  public void transform_restored_dependents_of_passed_class_names() throws Exception {
+    // given
+    final String[] classNames = withInnerClass();
+    final String dependencyIndexFile = new File(temporaryFolderRule.newFolder("index"),
+                                                "classes.properties").getAbsolutePath();
+    final String pristineClassDirectory = temporaryFolderRule.newFolder("pristine")
+        .getAbsolutePath();
+    final ShardedForkClient sut = new ShardedForkClient(forkClient(), 2, false);
+    sut.transform(request(null, dependencyIndexFile, pristineClassDirectory));
+
+    // when
+    final int transformedClasses = sut.transform(request(singletonList(classNames[1]),
+                                                         dependencyIndexFile,
+                                                         pristineClassDirectory));
+
+    // then
+    // the passed class is stamped, its restored dependent is transformed again
+    assertEquals(1, transformedClasses);
+  }
+
+  private static ForkClient forkClient() {
+    final List<File> classPath = new ArrayList<>();
+    for (final String classPathElement : System.getProperty("java.class.path")
+        .split(File.pathSeparator)) {
+      classPath.add(new File(classPathElement));
+    }
+    return new ForkClient(classPath, singletonList("-Xmx64m"));
+  }
+
+  private DaemonRequest request(final String transformerClassName) {
+    final ClassTransformerConfiguration transformer = new ClassTransformerConfiguration();
+    transformer.setClassName(transformerClassName);
+    final String directory = classDirectory().getAbsolutePath();
+    return new DaemonRequest("test",
+                             singletonList(directory),
+                             singletonList(transformer),
+                             singletonList(directory),
+                             Collections.<List<String>>singletonList(null),
+                             Collections.<String>singletonList(null),
+                             0L);
+  }
+
+  private DaemonRequest request(final List<String> classNames,
+                                final String dependencyIndexFile,
+                                final String pristineClassDirectory) {
+    final ClassTransformerConfiguration transformer = new ClassTransformerConfiguration();
+    transformer.setClassName(TransformerStub.class.getName());
+    final String directory = classDirectory().getAbsolutePath();
+    return new DaemonRequest("test",
+                             singletonList(directory),
+                             singletonList(transformer),
+                             singletonList(directory),
+                             singletonList(classNames),
+                             singletonList(dependencyIndexFile),
+                             Collections.<String>singletonList(null),
+                             singletonList(pristineClassDirectory),
+                             null,
+                             0L);
+  }
+
+  private static String[] sortedFileNames(final File directory) {
+    final String[] fileNames = directory.list();
+    Arrays.sort(fileNames);
+    return fileNames;
+  }
+}
@@ -0,0 +1,181 @@
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import static de.icongmbh.oss.maven.plugin.javassist.JavassistTransformerExecutor.STAMP_FIELD_NAME;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import de.icongmbh.oss.maven.plugin.javassist.stubs.ExprEditorTransformerStub;
+import de.icongmbh.oss.maven.plugin.javassist.stubs.SubExprEditorTransformerStub;
+import de.icongmbh.oss.maven.plugin.javassist.stubs.TransformerStub;
+import javassist.CannotCompileException;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtField;
+import javassist.expr.MethodCall;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the merging of consecutive {@link ExprEditorClassTransformer} instances in
+ * {@link JavassistTransformerExecutor#execute()}.
+ * <p>
+ * The source files are fresh compiled and don't transform before, so there is no stamp in it.
+ */
+public class TestJavassistTransformerExecutor_ExprEditorClassTransformer_chaining
+  extends JavassistTransformerExecutorTestBase {
+
+  private JavassistTransformerExecutor sut;
+
+  @Before
+  public void setUp_SubjectUnderTest() {
+    sut = javassistTransformerExecutor();
+  }
+
+  @Test
+  public void dispatch_each_expression_of_a_single_instrumentation_to_all_transformers()
+    throws Exception {
+    // given
+    final String className = oneTestClass();
+    final ExprEditorTransformerStub transformer1 = new ExprEditorTransformerStub();
+    final ExprEditorTransformerStub transformer2 = new SubExprEditorTransformerStub();
+    sut.setTransformerClasses(transformer1, transformer2);
+
+    // when
+    sut.execute();
+
+    // then
+    // System.out.println(..) in static initializer and constructor
+    assertEquals(2, transformer1.getMethodCalls().size());
+    assertEquals(2, transformer2.getMethodCalls().size());
+    assertSame(transformer1.getMethodCalls().get(0), transformer2.getMethodCalls().get(0));
+    assertSame(transformer1.getMethodCalls().get(1), transformer2.getMethodCalls().get(1));
+    assertEquals(1, transformer1.getInstrumented().size());
+    assertEquals(1, transformer2.getInstrumented().size());
+    assertEquals(className, transformer1.getInstrumented().get(0).getName());
+    assertEquals(2, countStamps(transformedClassDirectory(), className));
+  }
+
+  @Test
+  public void not_dispatch_expression_to_further_transformers_if_replaced() throws Exception {
+    // given
+    oneTestClass();
+    final ExprEditorTransformerStub transformer1 =
+      new ExprEditorTransformerStub("{ $_ = $proceed($$); }");
+    final ExprEditorTransformerStub transformer2 = new SubExprEditorTransformerStub();
+    sut.setTransformerClasses(transformer1, transformer2);
+
+    // when
+    sut.execute();
+
+    // then
+    assertEquals(2, transformer1.getMethodCalls().size());
+    assertEquals(0, transformer2.getMethodCalls().size());
+    assertEquals(1, transformer2.getInstrumented().size());
+  }
+
+  @Test
+  public void not_dispatch_expression_to_further_transformers_if_reported_as_edited()
+    throws Exception {
+    // given
+    oneTestClass();
+    final ExprEditorTransformerStub transformer1 = new ExprEditorTransformerStub() {
+
+      @Override
+      public void edit(final MethodCall methodCall) throws CannotCompileException {
+        super.edit(methodCall);
+        // e.g. re-bound in place without changing the code length
+        setEdited();
+      }
+    };
+    final ExprEditorTransformerStub transformer2 = new SubExprEditorTransformerStub();
+    sut.setTransformerClasses(transformer1, transformer2);
+
+    // when
+    sut.execute();
+
+    // then
+    assertEquals(2, transformer1.getMethodCalls().size());
+    assertEquals(0, transformer2.getMethodCalls().size());
+  }
+
+  @Test
+  public void not_merge_transformers_separated_by_other_transformer() throws Exception {
+    // given
+    sut.setOutputDirectory(sut.getInputDirectory());
+    final String className = oneTestClass();
+    final ExprEditorTransformerStub transformer1 = new ExprEditorTransformerStub();
+    final TransformerStub transformer2 = new TransformerStub();
+    final ExprEditorTransformerStub transformer3 = new SubExprEditorTransformerStub();
+    sut.setTransformerClasses(transformer1, transformer2, transformer3);
+
+    // when
+    sut.execute();
+
+    // then
+    assertEquals(2, transformer1.getMethodCalls().size());
+    assertEquals(1, transformer2.getTransformed().size());
+    assertEquals(2, transformer3.getMethodCalls().size());
+    assertEquals(transformer1.getMethodCalls().get(0).getMethodName(),
+                 transformer3.getMethodCalls().get(0).getMethodName());
+    assertEquals(3, countStamps(classDirectory(), className));
+  }
+
+  @Test
+  public void not_merge_transformers_of_the_same_class() throws Exception {
+    // given
+    sut.setOutputDirectory(sut.getInputDirectory());
+    final String className = oneTestClass();
+    final ExprEditorTransformerStub transformer1 = new ExprEditorTransformerStub();
+    final ExprEditorTransformerStub transformer2 = new ExprEditorTransformerStub();
+    sut.setTransformerClasses(transformer1, transformer2);
+
+    // when
+    sut.execute();
+
+    // then
+    assertEquals(1, transformer1.getInstrumented().size());
+    assertEquals(0, transformer2.getInstrumented().size());
+    assertEquals(1, countStamps(classDirectory(), className));
+  }
+
+  @Test
+  public void not_transform_class_again_if_all_chained_transformers_stamped_it() throws Exception {
+    // given
+    oneTestClass();
+    sut.setOutputDirectory(sut.getInputDirectory());
+    sut.setTransformerClasses(new ExprEditorTransformerStub(),
+                              new SubExprEditorTransformerStub());
+    sut.execute();
+    final ExprEditorTransformerStub transformer1 = new ExprEditorTransformerStub();
+    final ExprEditorTransformerStub transformer2 = new SubExprEditorTransformerStub();
+    sut.setTransformerClasses(transformer1, transformer2);
+
+    // when
+    sut.execute();
+
+    // then
+    assertEquals(0, transformer1.getInstrumented().size());
+    assertEquals(0, transformer2.getInstrumented().size());
+  }
+
+  private int countStamps(final File directory, final String className) throws IOException {
+    final File classFile = new File(directory,
+                                    className.replace('.', File.separatorChar) + ".class");
+    try (InputStream classStream = new FileInputStream(classFile)) {
+      final CtClass transformedClass = new ClassPool().makeClass(classStream);
+      int stamps = 0;
+      for (final CtField field : transformedClass.getDeclaredFields()) {
+        if (field.getName().startsWith(STAMP_FIELD_NAME)) {
+          ++stamps;
+        }
+      }
+      return stamps;
+    }
+  }
+
+}
@@ -0,0 +1,136 @@
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+import javassist.CtClass;
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.ConstPool;
+import javassist.bytecode.FieldInfo;
+import javassist.bytecode.LineNumberAttribute;
+import javassist.bytecode.MethodInfo;
+import javassist.bytecode.SourceFileAttribute;
+import de.icongmbh.oss.maven.plugin.javassist.stubs.TransformerStub;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ClassFileOptimizer} in {@link JavassistTransformerExecutor#execute()}.
+ * <p>
+ * The source files are fresh compiled and don't transform before, so there is no stamp in it.
+ */
+public class TestJavassistTransformerExecutor_class_file_optimization
+        extends JavassistTransformerExecutorTestBase {
+
+  private static final String UNUSED_CONSTANT = "constant of a removed method";
+
+  private JavassistTransformerExecutor sut;
+
+  @Before
+  public void setUp_SubjectUnderTest() {
+    sut = javassistTransformerExecutor();
+  }
+
+  @Test
+  public void strip_configured_attributes() throws Exception {
+    // given
+    final String className = oneTestClass();
+    final ClassFileOptimizer optimizer = new ClassFileOptimizer(false, asList(
+            SourceFileAttribute.tag, LineNumberAttribute.tag));
+    sut.setClassFileOptimizer(optimizer);
+    sut.setTransformerClasses(new TransformerStub());
+
+    // when
+    sut.execute();
+
+    // then
+    final ClassFile classFile = readTransformedClass(className);
+    assertNull(classFile.getAttribute(SourceFileAttribute.tag));
+    for (final MethodInfo method : classFile.getMethods()) {
+      assertNull(method.getName(), method.getCodeAttribute().getAttribute(LineNumberAttribute.tag));
+    }
+    assertTrue(hasStampField(classFile));
+    assertEquals(1, optimizer.getClasses());
+    assertTrue(optimizer.getBytesAfter() < optimizer.getBytesBefore());
+  }
+
+  @Test
+  public void compact_constant_pool() throws Exception {
+    // given
+    final String className = oneTestClass();
+    final ClassFileOptimizer optimizer = new ClassFileOptimizer(true, null);
+    sut.setClassFileOptimizer(optimizer);
+    sut.setTransformerClasses(new UnusedConstantTransformer());
+
+    // when
+    sut.execute();
+
+    // then
+    assertFalse(containsString(readTransformedClass(className).getConstPool(), UNUSED_CONSTANT));
+    assertTrue(optimizer.getBytesAfter() < optimizer.getBytesBefore());
+  }
+
+  @Test
+  public void keep_constant_pool_without_optimizer() throws Exception {
+    // given
+    final String className = oneTestClass();
+    sut.setTransformerClasses(new UnusedConstantTransformer());
+
+    // when
+    sut.execute();
+
+    // then
+    assertTrue(containsString(readTransformedClass(className).getConstPool(), UNUSED_CONSTANT));
+  }
+
+  private ClassFile readTransformedClass(final String className) throws IOException {
+    final File classFile = new File(transformedClassDirectory(),
+                                    className.replace('.', File.separatorChar) + ".class");
+    try (DataInputStream in = new DataInputStream(new FileInputStream(classFile))) {
+      return new ClassFile(in);
+    }
+  }
+
+  private static boolean hasStampField(final ClassFile classFile) {
+    for (final FieldInfo field : classFile.getFields()) {
+      if (field.getName().startsWith(JavassistTransformerExecutor.STAMP_FIELD_NAME)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean containsString(final ConstPool constPool, final String value) {
+    for (int index = 1; index < constPool.getSize(); ++index) {
+      if (ConstPool.CONST_String == constPool.getTag(index)
+          && value.equals(constPool.getStringInfo(index))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Adds a constant not referenced by any member to the constant pool.
+   */
+  private static final class UnusedConstantTransformer extends ClassTransformer {
+
+    @Override
+    public boolean shouldTransform(final CtClass candidateClass) {
+      return true;
+    }
+
+    @Override
+    public void applyTransformations(final CtClass classToTransform) {
+      classToTransform.getClassFile().getConstPool().addStringInfo(UNUSED_CONSTANT);
+    }
+  }
+}
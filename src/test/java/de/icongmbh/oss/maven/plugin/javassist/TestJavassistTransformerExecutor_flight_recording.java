@@ -0,0 +1,76 @@
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.Set;
+
+import de.icongmbh.oss.maven.plugin.javassist.stubs.TransformerStub;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the Java Flight Recorder events emitted by {@link JavassistTransformerExecutor#execute()}.
+ * <p>
+ * The source files are fresh compiled and don't transform before, so there is no stamp in it.
+ */
+public class TestJavassistTransformerExecutor_flight_recording
+  extends JavassistTransformerExecutorTestBase {
+
+  private JavassistTransformerExecutor sut;
+
+  @Before
+  public void setUp_SubjectUnderTest() {
+    assumeTrue(FlightRecorderSupport.isAvailable());
+    sut = javassistTransformerExecutor();
+  }
+
+  @Test
+  public void create_own_event_for_each_phase() throws Exception {
+    // given
+    final Set<Class<?>> eventTypes = new HashSet<>();
+
+    // when
+    for (final TransformationPhase phase : TransformationPhase.values()) {
+      eventTypes.add(FlightRecorderEvents.begin(phase, TransformerStub.class.getName()).getClass());
+    }
+
+    // then
+    assertEquals(TransformationPhase.values().length, eventTypes.size());
+  }
+
+  @Test
+  public void emit_event_for_each_phase_while_recording() throws Exception {
+    // given
+    final String className = oneTestClass();
+    sut.setTransformerClasses(new TransformerStub());
+    final File recordingFile = new File(transformedClassDirectory(), "jfr/javassist.jfr");
+    final Object recording = FlightRecorderSupport.startRecording("test");
+
+    // when
+    sut.execute();
+    FlightRecorderSupport.stopRecording(recording, recordingFile);
+
+    // then
+    final Set<String> eventNames = new HashSet<>();
+    for (final RecordedEvent event : RecordingFile.readAllEvents(recordingFile.toPath())) {
+      final String eventName = event.getEventType().getName();
+      if (eventName.startsWith("de.icongmbh.javassist.")) {
+        eventNames.add(eventName);
+        assertEquals(TransformerStub.class.getName(), event.getString("transformer"));
+        assertEquals(className, event.getString("className"));
+      }
+    }
+    assertTrue(eventNames.toString(),
+               eventNames.contains("de.icongmbh.javassist.ClassDiscovery"));
+    assertTrue(eventNames.toString(),
+               eventNames.contains("de.icongmbh.javassist.ApplyTransformations"));
+    assertTrue(eventNames.toString(), eventNames.contains("de.icongmbh.javassist.WriteFile"));
+  }
+
+}
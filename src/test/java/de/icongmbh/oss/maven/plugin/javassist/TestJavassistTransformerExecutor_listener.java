@@ -0,0 +1,145 @@
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import javassist.CtClass;
+import de.icongmbh.oss.maven.plugin.javassist.stubs.TransformerStub;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the events passed to a {@link TransformationListener} in
+ * {@link JavassistTransformerExecutor#execute()}.
+ * <p>
+ * The source files are fresh compiled and don't transform before, so there is no stamp in it.
+ */
+public class TestJavassistTransformerExecutor_listener
+        extends JavassistTransformerExecutorTestBase {
+
+  private JavassistTransformerExecutor sut;
+
+  private RecordingListener listener;
+
+  @Before
+  public void setUp_SubjectUnderTest() {
+    sut = javassistTransformerExecutor();
+    listener = new RecordingListener();
+    sut.addTransformationListener(listener);
+  }
+
+  @Test
+  public void pass_events_of_transformed_class() throws Exception {
+    // given
+    final String className = oneTestClass();
+    sut.setTransformerClasses(new TransformerStub());
+
+    // when
+    sut.execute();
+
+    // then
+    final String transformerName = TransformerStub.class.getName();
+    final List<String> expected = new ArrayList<>();
+    expected.add("transformerStarted " + transformerName);
+    expected.add("classDiscovered " + className);
+    expected.add("classLoaded " + className);
+    expected.add("classTransformed " + className);
+    expected.add("classWritten " + className);
+    expected.add("classFinished " + className + " true");
+    expected.add("transformerFinished " + transformerName + " 1");
+    assertEquals(expected, listener.events);
+    assertTrue(listener.classFile.isFile());
+  }
+
+  @Test
+  public void pass_stamped_class_as_skipped() throws Exception {
+    // given
+    final String className = oneTestClass();
+    sut.setTransformerClasses(new TransformerStub());
+    sut.execute();
+    sut.setInputDirectory(transformedClassDirectory().getAbsolutePath());
+    listener.events.clear();
+
+    // when
+    sut.execute();
+
+    // then
+    assertTrue(listener.events.toString(),
+               listener.events.contains("classSkippedByStamp " + className));
+    assertEquals("classFinished " + className + " false",
+                 listener.events.get(listener.events.size() - 2));
+  }
+
+  @Test
+  public void remove_listener() throws Exception {
+    // given
+    oneTestClass();
+    sut.setTransformerClasses(new TransformerStub());
+    sut.removeTransformationListener(listener);
+
+    // when
+    sut.execute();
+
+    // then
+    assertTrue(listener.events.isEmpty());
+  }
+
+  private static final class RecordingListener implements TransformationListener {
+
+    private final List<String> events = new ArrayList<>();
+
+    private File classFile;
+
+    @Override
+    public void transformerStarted(final String transformerName, final String inputDirectory) {
+      events.add("transformerStarted " + transformerName);
+    }
+
+    @Override
+    public void classDiscovered(final String className, final long nanos) {
+      events.add("classDiscovered " + className);
+    }
+
+    @Override
+    public void classLoaded(final CtClass candidateClass, final long nanos) {
+      events.add("classLoaded " + candidateClass.getName());
+    }
+
+    @Override
+    public void classSkippedByStamp(final CtClass candidateClass) {
+      events.add("classSkippedByStamp " + candidateClass.getName());
+    }
+
+    @Override
+    public void classTransformed(final CtClass transformedClass, final long nanos) {
+      events.add("classTransformed " + transformedClass.getName());
+    }
+
+    @Override
+    public void classWritten(final String className,
+                             final File classFile,
+                             final long bytes,
+                             final long nanos) {
+      events.add("classWritten " + className);
+      this.classFile = classFile;
+    }
+
+    @Override
+    public void classFinished(final String className,
+                              final boolean transformed,
+                              final long nanos) {
+      events.add("classFinished " + className + " " + transformed);
+    }
+
+    @Override
+    public void transformerFinished(final String transformerName,
+                                    final int transformedClasses,
+                                    final long nanos) {
+      events.add("transformerFinished " + transformerName + " " + transformedClasses);
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import javassist.ClassPool;
+import javassist.CtClass;
+import de.icongmbh.oss.maven.plugin.javassist.stubs.TransformerStub;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ClassPoolBudget} in {@link JavassistTransformerExecutor#execute()}.
+ * <p>
+ * The source files are fresh compiled and don't transform before, so there is no stamp in it.
+ */
+public class TestJavassistTransformerExecutor_memory_budget
+        extends JavassistTransformerExecutorTestBase {
+
+  private CachingClassPool classPool;
+
+  private JavassistTransformerExecutor sut;
+
+  @Before
+  public void setUp_SubjectUnderTest() {
+    classPool = new CachingClassPool();
+    sut = javassistTransformerExecutor(classPool);
+  }
+
+  @Test
+  public void detach_classes_exceeding_budget() throws Exception {
+    // given
+    final String[] classNames = withInnerClass();
+    final TransformerStub transformer = new TransformerStub();
+    sut.setTransformerClasses(transformer);
+    sut.setMemoryBudget(1L);
+
+    // when
+    sut.execute();
+
+    // then
+    assertEquals(2, transformer.getTransformed().size());
+    for (final String className : classNames) {
+      assertNull(className, classPool.cached(className));
+    }
+  }
+
+  @Test
+  public void keep_classes_without_budget() throws Exception {
+    // given
+    final String[] classNames = withInnerClass();
+    final TransformerStub transformer = new TransformerStub();
+    sut.setTransformerClasses(transformer);
+
+    // when
+    sut.execute();
+
+    // then
+    assertEquals(2, transformer.getTransformed().size());
+    for (final String className : classNames) {
+      assertNotNull(className, classPool.cached(className));
+    }
+  }
+
+  /**
+   * Exposes the cached classes.
+   */
+  private static final class CachingClassPool extends ClassPool {
+
+    private CachingClassPool() {
+      super(true);
+    }
+
+    private CtClass cached(final String className) {
+      return getCached(className);
+    }
+  }
+}
@@ -0,0 +1,121 @@
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import javassist.CannotCompileException;
+import javassist.CtClass;
+import javassist.CtConstructor;
+import javassist.build.JavassistBuildException;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link MethodSizeAnalyzer} in {@link JavassistTransformerExecutor#execute()}.
+ * <p>
+ * The source files are fresh compiled and don't transform before, so there is no stamp in it.
+ */
+public class TestJavassistTransformerExecutor_method_size_analysis
+        extends JavassistTransformerExecutorTestBase {
+
+  private JavassistTransformerExecutor sut;
+
+  private MethodSizeAnalyzer analyzer;
+
+  @Before
+  public void setUp_SubjectUnderTest() {
+    sut = javassistTransformerExecutor();
+    analyzer = new MethodSizeAnalyzer();
+    sut.addTransformationListener(analyzer);
+  }
+
+  @Test
+  public void find_method_crossing_inline_thresholds() throws Exception {
+    // given
+    final String className = oneTestClass();
+    sut.setTransformerClasses(new ConstructorGrowingTransformer(50));
+
+    // when
+    sut.execute();
+
+    // then
+    final List<MethodSizeAnalyzer.Finding> findings = analyzer.getFindings();
+    assertEquals(findings.toString(), 2, findings.size());
+    assertEquals(MethodSizeAnalyzer.MAX_INLINE_SIZE, findings.get(0).getThreshold());
+    assertEquals(MethodSizeAnalyzer.FREQ_INLINE_SIZE, findings.get(1).getThreshold());
+    assertEquals(className, findings.get(0).getClassName());
+    assertEquals("<init>()V", findings.get(0).getMethod());
+    assertEquals(ConstructorGrowingTransformer.class.getName(),
+                 findings.get(0).getTransformerName());
+    assertTrue(findings.get(0).getSizeBefore() <= MethodSizeAnalyzer.MAX_INLINE_SIZE);
+    assertTrue(analyzer.getHugeMethods().isEmpty());
+  }
+
+  @Test
+  public void find_huge_method() throws Exception {
+    // given
+    oneTestClass();
+    sut.setTransformerClasses(new ConstructorGrowingTransformer(1100));
+
+    // when
+    sut.execute();
+
+    // then
+    assertEquals(1, analyzer.getHugeMethods().size());
+    assertTrue(analyzer.getHugeMethods().get(0).getSizeAfter()
+               > MethodSizeAnalyzer.HUGE_METHOD_LIMIT);
+  }
+
+  @Test
+  public void ignore_unchanged_methods() throws Exception {
+    // given
+    oneTestClass();
+    sut.setTransformerClasses(new ConstructorGrowingTransformer(0));
+
+    // when
+    sut.execute();
+
+    // then
+    assertTrue(analyzer.getFindings().isEmpty());
+  }
+
+  /**
+   * Appends the passed number of {@code System.out.println} calls (8 bytes each) to each
+   * constructor.
+   */
+  private static final class ConstructorGrowingTransformer extends ClassTransformer {
+
+    private final int statements;
+
+    private ConstructorGrowingTransformer(final int statements) {
+      this.statements = statements;
+    }
+
+    @Override
+    public boolean shouldTransform(final CtClass candidateClass) {
+      return true;
+    }
+
+    @Override
+    public void applyTransformations(final CtClass classToTransform)
+            throws JavassistBuildException {
+      if (0 == statements) {
+        return;
+      }
+      final StringBuilder body = new StringBuilder("{");
+      for (int index = 0; index < statements; ++index) {
+        body.append("System.out.println(\"x\");");
+      }
+      body.append('}');
+      try {
+        for (final CtConstructor constructor : classToTransform.getDeclaredConstructors()) {
+          constructor.insertAfter(body.toString());
+        }
+      } catch (final CannotCompileException e) {
+        throw new JavassistBuildException(e);
+      }
+    }
+  }
+}
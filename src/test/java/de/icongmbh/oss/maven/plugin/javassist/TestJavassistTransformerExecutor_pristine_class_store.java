@@ -0,0 +1,122 @@
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import static java.util.Collections.singletonMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+
+import de.icongmbh.oss.maven.plugin.javassist.stubs.TransformerStub;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link PristineClassStore} in {@link JavassistTransformerExecutor#execute()}.
+ * <p>
+ * The source files are fresh compiled and don't transform before, so there is no stamp in it.
+ * The classes are transformed in place.
+ */
+public class TestJavassistTransformerExecutor_pristine_class_store
+        extends JavassistTransformerExecutorTestBase {
+
+  private JavassistTransformerExecutor sut;
+
+  private File storeDirectory;
+
+  @Before
+  public void setUp_SubjectUnderTest() throws IOException {
+    sut = javassistTransformerExecutor();
+    sut.setOutputDirectory(classDirectory().getAbsolutePath());
+    storeDirectory = temporaryFolderRule.newFolder("pristine");
+  }
+
+  @Test
+  public void keep_transformed_classes_of_unchanged_configuration() throws Exception {
+    // given
+    final String className = oneTestClass();
+    final TransformerStub firstTransformer = execute("1");
+    final TransformerStub secondTransformer = new TransformerStub();
+    sut.setPristineClassStore(pristineClassStore("1"));
+    sut.setTransformerClasses(secondTransformer);
+
+    // when
+    sut.execute();
+
+    // then
+    assertEquals(1, firstTransformer.getTransformed().size());
+    assertEquals(0, secondTransformer.getTransformed().size());
+    assertTrue(new File(storeDirectory,
+                        className.replace('.', File.separatorChar) + ".class").isFile());
+  }
+
+  @Test
+  public void transform_restored_classes_of_changed_configuration() throws Exception {
+    // given
+    final String className = oneTestClass();
+    execute("1");
+    final TransformerStub secondTransformer = new TransformerStub();
+    sut.setPristineClassStore(pristineClassStore("2"));
+    sut.setTransformerClasses(secondTransformer);
+
+    // when
+    sut.execute();
+
+    // then
+    assertEquals(1, secondTransformer.getTransformed().size());
+    assertEquals(className, secondTransformer.getTransformed().get(0).getName());
+  }
+
+  @Test
+  public void transform_restored_classes_besides_passed_class_names() throws Exception {
+    // given
+    final String className = oneTestClass();
+    execute("1");
+    final TransformerStub secondTransformer = new TransformerStub();
+    sut.setPristineClassStore(pristineClassStore("2"));
+    sut.setClassNames(Collections.<String>emptyList());
+    sut.setTransformerClasses(secondTransformer);
+
+    // when
+    sut.execute();
+
+    // then
+    assertEquals(1, secondTransformer.getTransformed().size());
+    assertEquals(className, secondTransformer.getTransformed().get(0).getName());
+  }
+
+  @Test
+  public void transform_restored_dependents_of_passed_class_names() throws Exception {
+    // given
+    final String[] classNames = withInnerClass();
+    final ClassDependencyIndex classDependencyIndex = new ClassDependencyIndex(
+            new File(storeDirectory, "index.properties"));
+    sut.setClassDependencyIndex(classDependencyIndex);
+    execute("1");
+    final TransformerStub secondTransformer = new TransformerStub();
+    sut.setPristineClassStore(pristineClassStore("1"));
+    sut.setClassNames(Collections.singletonList(classNames[1]));
+    sut.setTransformerClasses(secondTransformer);
+
+    // when
+    sut.execute();
+
+    // then
+    assertEquals(1, secondTransformer.getTransformed().size());
+    assertEquals(classNames[0], secondTransformer.getTransformed().get(0).getName());
+  }
+
+  private TransformerStub execute(final String fingerprint) {
+    final TransformerStub transformer = new TransformerStub();
+    sut.setPristineClassStore(pristineClassStore(fingerprint));
+    sut.setTransformerClasses(transformer);
+    sut.execute();
+    return transformer;
+  }
+
+  private PristineClassStore pristineClassStore(final String fingerprint) {
+    return new PristineClassStore(storeDirectory,
+                                  singletonMap(TransformerStub.class.getName(), fingerprint));
+  }
+}
@@ -0,0 +1,108 @@
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import static de.icongmbh.oss.maven.plugin.javassist.TransformationPhase.APPLY_TRANSFORMATIONS;
+import static de.icongmbh.oss.maven.plugin.javassist.TransformationPhase.WRITE_FILE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import de.icongmbh.oss.maven.plugin.javassist.TransformationReport.TransformerRecord;
+import de.icongmbh.oss.maven.plugin.javassist.stubs.TransformerStub;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the recording of a {@link TransformationReport} in
+ * {@link JavassistTransformerExecutor#execute()}.
+ * <p>
+ * The source files are fresh compiled and don't transform before, so there is no stamp in it.
+ */
+public class TestJavassistTransformerExecutor_report extends JavassistTransformerExecutorTestBase {
+
+  private JavassistTransformerExecutor sut;
+
+  private TransformationReport report;
+
+  @Before
+  public void setUp_SubjectUnderTest() {
+    sut = javassistTransformerExecutor();
+    report = new TransformationReport(1);
+    sut.addTransformationListener(report);
+  }
+
+  @Test
+  public void record_each_transformer_execution() throws Exception {
+    // given
+    final String[] classNames = withInnerClass();
+    sut.setTransformerClasses(new TransformerStub());
+
+    // when
+    sut.execute();
+
+    // then
+    assertEquals(1, report.getRecords().size());
+    final TransformerRecord record = report.getRecords().get(0);
+    assertEquals(TransformerStub.class.getName(), record.getTransformerName());
+    assertEquals(classNames.length, record.getClasses());
+    assertEquals(classNames.length, record.getTransformed());
+    assertTrue(record.getPhaseNanos(APPLY_TRANSFORMATIONS) > 0L);
+    assertTrue(record.getPhaseNanos(WRITE_FILE) > 0L);
+  }
+
+  @Test
+  public void record_sampled_heap_peak() throws Exception {
+    // given
+    withInnerClass();
+    sut.setTransformerClasses(new TransformerStub());
+
+    // when
+    sut.execute();
+    report.finish();
+
+    // then
+    assertTrue(report.getHeapPeakBytes() > 0L);
+  }
+
+  @Test
+  public void write_json_report() throws Exception {
+    // given
+    final String className = oneTestClass();
+    sut.setTransformerClasses(new TransformerStub());
+    sut.execute();
+    final File reportFile = new File(transformedClassDirectory(), "report/javassist-report.json");
+
+    // when
+    report.write(reportFile);
+
+    // then
+    final String json = new String(Files.readAllBytes(reportFile.toPath()),
+                                   StandardCharsets.UTF_8);
+    assertTrue(json, json.contains("\"name\": \"" + TransformerStub.class.getName() + "\""));
+    assertTrue(json, json.contains("\"classes\": 1, \"transformed\": 1, \"failed\": 0"));
+    assertTrue(json, json.contains("\"applyTransformations\": "));
+    assertTrue(json, json.contains("\"className\": \"" + className + "\""));
+    assertTrue(json, json.matches("(?s).*\"bytesRead\": [1-9].*"));
+    assertTrue(json, json.matches("(?s).*\"bytesWritten\": [1-9].*"));
+    assertTrue(json, json.matches("(?s).*\"peakBytes\": [1-9].*"));
+  }
+
+  @Test
+  public void write_csv_report() throws Exception {
+    // given
+    oneTestClass();
+    sut.setTransformerClasses(new TransformerStub());
+    sut.execute();
+    final File reportFile = new File(transformedClassDirectory(), "javassist-report.csv");
+
+    // when
+    report.write(reportFile);
+
+    // then
+    assertEquals(1 + TransformationPhase.values().length,
+                 Files.readAllLines(reportFile.toPath(), StandardCharsets.UTF_8).size());
+  }
+
+}
@@ -13,8 +13,10 @@ import static org.easymock.EasyMock.startsWith;
 import static org.easymock.EasyMock.verify;
 import static org.hamcrest.core.Is.is;
 
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.Iterator;
 
 import javassist.CannotCompileException;
@@ -24,6 +26,7 @@ import javassist.CtField;
 import javassist.NotFoundException;
 import javassist.build.IClassTransformer;
 import javassist.build.JavassistBuildException;
+import javassist.bytecode.ClassFile;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -293,6 +296,94 @@ public class TestJavassistTransformerExecutor_transform
     verify(candidateClass, classNames, this.classPool, this.classTransformer);
   }
 
+  @Test
+  public void not_shouldTransform_if_superclass_not_found() throws Exception {
+    // given
+    final String className = "test.TestClass";
+    final CtClass candidateClass = mock("candidateClass", CtClass.class);
+    expect(candidateClass.getClassFile2()).andReturn(new ClassFile(false,
+                                                                   className,
+                                                                   "provided.SuperClass"));
+
+    final Iterator<String> classNames = classNames(className);
+
+    configureClassPool(this.classPool).importPackage(className);
+    expectLastCall();
+    expect(this.classPool.get(className)).andReturn(candidateClass);
+    expect(this.classPool.find("provided.SuperClass")).andReturn(null);
+    replay(candidateClass, classNames, this.classPool, this.classTransformer);
+
+    // when
+    sut.transform(this.classTransformer,
+                  classDirectory().getAbsolutePath(),
+                  transformedClassDirectory().getAbsolutePath(),
+                  classNames);
+
+    // then
+    verify(candidateClass, classNames, this.classPool, this.classTransformer);
+  }
+
+  @Test
+  public void not_shouldTransform_if_javax_superclass_not_found() throws Exception {
+    // given
+    final String className = "test.TestServlet";
+    final CtClass candidateClass = mock("candidateClass", CtClass.class);
+    expect(candidateClass.getClassFile2()).andReturn(new ClassFile(
+            false,
+            className,
+            "javax.servlet.http.HttpServlet"));
+
+    final Iterator<String> classNames = classNames(className);
+
+    configureClassPool(this.classPool).importPackage(className);
+    expectLastCall();
+    expect(this.classPool.get(className)).andReturn(candidateClass);
+    expect(this.classPool.find("javax.servlet.http.HttpServlet")).andReturn(null);
+    replay(candidateClass, classNames, this.classPool, this.classTransformer);
+
+    // when
+    sut.transform(this.classTransformer,
+                  classDirectory().getAbsolutePath(),
+                  transformedClassDirectory().getAbsolutePath(),
+                  classNames);
+
+    // then
+    verify(candidateClass, classNames, this.classPool, this.classTransformer);
+  }
+
+  @Test
+  public void not_shouldTransform_if_indirect_superclass_not_found() throws Exception {
+    // given
+    final String className = "test.TestClass";
+    final CtClass candidateClass = mock("candidateClass", CtClass.class);
+    expect(candidateClass.getClassFile2()).andReturn(new ClassFile(false,
+                                                                   className,
+                                                                   "provided.SuperClass"));
+    final File superClassFile = new File(transformedClassDirectory(), "SuperClass.class");
+    try (DataOutputStream out = new DataOutputStream(
+            Files.newOutputStream(superClassFile.toPath()))) {
+      new ClassFile(false, "provided.SuperClass", "provided.BaseClass").write(out);
+    }
+
+    final Iterator<String> classNames = classNames(className);
+
+    configureClassPool(this.classPool).importPackage(className);
+    expectLastCall();
+    expect(this.classPool.get(className)).andReturn(candidateClass);
+    expect(this.classPool.find("provided.SuperClass")).andReturn(superClassFile.toURI().toURL());
+    expect(this.classPool.find("provided.BaseClass")).andReturn(null);
+    replay(candidateClass, classNames, this.classPool, this.classTransformer);
+
+    // when
+    sut.transform(this.classTransformer,
+                  classDirectory().getAbsolutePath(),
+                  transformedClassDirectory().getAbsolutePath(),
+                  classNames);
+
+    // then
+    verify(candidateClass, classNames, this.classPool, this.classTransformer);
+  }
+
   @Test
   public void transform_stamp_and_write_class() throws Exception {
     // given
@@ -0,0 +1,110 @@
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import de.icongmbh.oss.maven.plugin.javassist.stubs.TransformerStub;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link TransformationDaemon} by the {@link DaemonClient}.
+ * <p>
+ * The daemon runs in a thread of the test and stops after one second without request.
+ */
+public class TransformationDaemonTest extends JavassistTransformerExecutorTestBase {
+
+  private File stateDirectory;
+
+  private Thread daemonThread;
+
+  private DaemonClient sut;
+
+  @Before
+  public void setUp_SubjectUnderTest() throws Exception {
+    stateDirectory = temporaryFolderRule.newFolder("daemon");
+    daemonThread = new Thread(() -> {
+      try {
+        new TransformationDaemon(stateDirectory, 1000L).run();
+      } catch (final Exception e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    daemonThread.start();
+    final File stateFile = new File(stateDirectory, TransformationDaemon.STATE_FILE_NAME);
+    for (int attempt = 0; attempt < 100 && !stateFile.isFile(); ++attempt) {
+      Thread.sleep(50L);
+    }
+    sut = new DaemonClient(stateDirectory, Collections.<File>emptyList(), 1L);
+  }
+
+  @After
+  public void tearDown_SubjectUnderTest() throws InterruptedException {
+    daemonThread.join();
+  }
+
+  @Test
+  public void transform_by_kept_transformers() throws Exception {
+    // given
+    final String className = oneTestClass();
+
+    // when
+    final int firstTransformedClasses = sut.transform(request(null));
+    final int secondTransformedClasses = sut.transform(request(singletonList(className)));
+
+    // then
+    assertEquals(1, firstTransformedClasses);
+    // stamped by the first transformation
+    assertEquals(0, secondTransformedClasses);
+  }
+
+  @Test(expected = EOFException.class)
+  public void refuse_connection_without_token() throws Exception {
+    // given
+    final Properties state = TransformationDaemon.readState(
+            new File(stateDirectory, TransformationDaemon.STATE_FILE_NAME));
+    assertNotNull(state);
+    final byte[] token = new byte[TransformationDaemon.TOKEN_LENGTH];
+    Arrays.fill(token, (byte)'0');
+
+    try (Socket socket = new Socket(InetAddress.getLoopbackAddress(),
+                                    Integer.parseInt(state.getProperty("port")))) {
+      final DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+      out.writeInt(token.length);
+      out.write(token);
+      out.flush();
+
+      // when
+      new DataInputStream(socket.getInputStream()).readBoolean();
+    }
+
+    // then
+    // connection closed
+  }
+
+  private DaemonRequest request(final List<String> classNames) {
+    final ClassTransformerConfiguration transformer = new ClassTransformerConfiguration();
+    transformer.setClassName(TransformerStub.class.getName());
+    final String directory = classDirectory().getAbsolutePath();
+    return new DaemonRequest("test",
+                             singletonList(directory),
+                             singletonList(transformer),
+                             singletonList(directory),
+                             singletonList(classNames),
+                             Collections.<String>singletonList(null),
+                             0L);
+  }
+}
@@ -0,0 +1,67 @@
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import de.icongmbh.oss.maven.plugin.javassist.stubs.TransformerStub;
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+/**
+ * Tests {@link TransformerBenchmark}.
+ * <p>
+ * The source files are fresh compiled and don't transform before, so there is no stamp in it.
+ */
+public class TransformerBenchmarkTest extends JavassistTransformerExecutorTestBase {
+
+  @Test
+  public void measure_each_class_in_memory() throws Exception {
+    // given
+    final String[] classNames = withInnerClass();
+    final TransformerStub transformer = new TransformerStub();
+    final TransformerBenchmark sut = new TransformerBenchmark(javassistTransformerExecutor(), 1, 2,
+                                                              1);
+
+    // when
+    final TransformerBenchmark.Result result = sut
+      .run(transformer, classDirectory().getAbsolutePath());
+
+    // then
+    assertEquals(TransformerStub.class.getName(), result.getTransformerName());
+    assertEquals(classNames.length, result.getClasses());
+    assertEquals(classNames.length, result.getTransformed());
+    assertEquals(0, result.getStamped());
+    assertEquals(0, result.getFailed());
+    assertEquals(3 * classNames.length, transformer.getTransformed().size());
+    assertTrue(result.getClassesPerSecond() > 0d);
+    assertEquals(1, result.getSlowestClasses().size());
+    assertTrue(Arrays.asList(classNames)
+      .contains(result.getSlowestClasses().get(0).getClassName()));
+    assertTrue(FileUtils.listFiles(transformedClassDirectory(), null, true).isEmpty());
+  }
+
+  @Test
+  public void count_stamped_classes() throws Exception {
+    // given
+    final String className = oneTestClass();
+    final JavassistTransformerExecutor executor = javassistTransformerExecutor();
+    final TransformerStub transformer = new TransformerStub();
+    executor.transform(transformer,
+                       classDirectory().getAbsolutePath(),
+                       transformedClassDirectory().getAbsolutePath());
+    final TransformerBenchmark sut = new TransformerBenchmark(executor, 0, 1, 10);
+
+    // when
+    final TransformerBenchmark.Result result = sut
+      .run(transformer, transformedClassDirectory().getAbsolutePath());
+
+    // then
+    assertEquals(1, result.getClasses());
+    assertEquals(1, result.getStamped());
+    assertEquals(0, result.getTransformed());
+    assertEquals(className, result.getSlowestClasses().get(0).getClassName());
+  }
+
+}
@@ -0,0 +1,79 @@
+package de.icongmbh.oss.maven.plugin.javassist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import javassist.build.IClassTransformer;
+import org.junit.Test;
+
+public class TransformerInstancesTest {
+
+  @Test
+  public void create_instance_by_no_arg_constructor() throws Exception {
+    // given
+
+    // when
+    final IClassTransformer transformer = TransformerInstances.newInstance(SampleTransformer.class);
+
+    // then
+    assertEquals(SampleTransformer.class, transformer.getClass());
+  }
+
+  @Test(expected = InstantiationException.class)
+  public void throw_InstantiationException_without_no_arg_constructor() throws Exception {
+    // given
+
+    // when
+    TransformerInstances.newInstance(ConfiguredTransformer.class);
+
+    // then
+  }
+
+  @Test
+  public void wrap_checked_exception_of_constructor() throws Exception {
+    // given
+
+    // when
+    try {
+      TransformerInstances.newInstance(FailingTransformer.class);
+    } catch (final InstantiationException e) {
+      // then
+      assertTrue(e.getCause() instanceof IOException);
+      return;
+    }
+    throw new AssertionError("InstantiationException expected");
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void rethrow_runtime_exception_of_constructor() throws Exception {
+    // given
+
+    // when
+    TransformerInstances.newInstance(IllegalTransformer.class);
+
+    // then
+  }
+
+  public static class ConfiguredTransformer extends SampleTransformer {
+
+    public ConfiguredTransformer(final String configuration) {
+      super();
+    }
+  }
+
+  public static class FailingTransformer extends SampleTransformer {
+
+    public FailingTransformer() throws IOException {
+      throw new IOException("expected exception");
+    }
+  }
+
+  public static class IllegalTransformer extends SampleTransformer {
+
+    public IllegalTransformer() {
+      throw new IllegalStateException("expected exception");
+    }
+  }
+}
@@ -0,0 +1,100 @@
+package de.icongmbh.oss.maven.plugin.javassist.example.transformer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.junit.Test;
+
+public class GlobAutomatonTest {
+
+  @Test
+  public void testMatchAllPatternsInOneScan() {
+    // given
+    final GlobAutomaton sut = new GlobAutomaton(Arrays.asList("com.acme.*",
+                                                              "com.acme.dao.*Dao",
+                                                              "com.?cme.dao.UserDao",
+                                                              "*",
+                                                              "org.*"));
+
+    // when
+    final BitSet matches = sut.match("com.acme.dao.UserDao");
+
+    // then
+    assertEquals(bits(0, 1, 2, 3), matches);
+    assertEquals(bits(0, 3), sut.match("com.acme.dao.UserService"));
+    assertEquals(bits(3), sut.match("com.acme"));
+    assertEquals(bits(3), sut.match(""));
+    assertSame(matches, sut.match("com.acme.dao.UserDao"));
+  }
+
+  @Test
+  public void testNotMatch() {
+    // given
+    final GlobAutomaton sut = new GlobAutomaton(Arrays.asList("find*", "get?"));
+
+    // when
+    final BitSet matches = sut.match("save");
+
+    // then
+    assertTrue(matches.isEmpty());
+    assertTrue(sut.match("getAll").isEmpty());
+    assertEquals(bits(1), sut.match("getA"));
+    assertEquals(bits(0), sut.match("find"));
+  }
+
+  @Test
+  public void testMatchNamesBeyondAscii() {
+    // given
+    final GlobAutomaton sut = new GlobAutomaton(Arrays.asList("com.acme.Stra?e", "*ü*"));
+
+    // when
+    final BitSet matches = sut.match("com.acme.Straße");
+
+    // then
+    assertEquals(bits(0), matches);
+    assertEquals(bits(1), sut.match("com.acme.Müller"));
+    assertTrue(sut.match("com.acme.Muller").isEmpty());
+  }
+
+  @Test
+  public void testMatchMoreNamesThanCached() {
+    // given
+    final GlobAutomaton sut = new GlobAutomaton(Arrays.asList("*Dao", "com.*"));
+
+    // when
+    for (int index = 0; index <= GlobAutomaton.MATCH_CACHE_SIZE; ++index) {
+      sut.match("com.acme.Class" + index);
+    }
+
+    // then
+    assertEquals(bits(1), sut.match("com.acme.Class0"));
+    assertEquals(bits(0, 1), sut.match("com.acme.UserDao"));
+  }
+
+  @Test
+  public void testIsPattern() {
+    // given
+
+    // when
+    final boolean pattern = GlobAutomaton.isPattern("com.acme.*");
+
+    // then
+    assertTrue(pattern);
+    assertTrue(GlobAutomaton.isPattern("get?"));
+    assertFalse(GlobAutomaton.isPattern("com.acme.Dao"));
+  }
+
+  private static BitSet bits(final int... indexes) {
+    final BitSet bits = new BitSet();
+    for (final int index : indexes) {
+      bits.set(index);
+    }
+    return bits;
+  }
+
+}
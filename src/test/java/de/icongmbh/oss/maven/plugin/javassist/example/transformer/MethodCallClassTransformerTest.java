@@ -0,0 +1,96 @@
+package de.icongmbh.oss.maven.plugin.javassist.example.transformer;
+
+import static de.icongmbh.oss.maven.plugin.javassist.example.transformer.MethodCallClassTransformer.ALREADY_INTROSPECTED_FIELD_NAME;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Properties;
+
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtField;
+import javassist.CtNewMethod;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MethodCallClassTransformerTest {
+
+  private CtClass candidateClass;
+
+  private MethodCallClassTransformer sut;
+
+  @Before
+  public void setUp() throws Exception {
+    candidateClass = new ClassPool(true).makeClass("test.MethodCallTest");
+    candidateClass.addMethod(CtNewMethod.make("public String name() { return toString(); }",
+                                              candidateClass));
+    sut = new MethodCallClassTransformer();
+  }
+
+  @Test
+  public void testNotTransformWithoutRules() throws Exception {
+    // given
+    sut.configure(null);
+
+    // when
+    final boolean shouldTransform = sut.shouldTransform(candidateClass);
+
+    // then
+    assertFalse(shouldTransform);
+  }
+
+  @Test
+  public void testNotTransformIfConstantPoolContainsNoConfiguredMethod() throws Exception {
+    // given
+    sut.configure(rule("java.lang.Object#hashCode", "{ $_ = 42; }"));
+
+    // when
+    final boolean shouldTransform = sut.shouldTransform(candidateClass);
+
+    // then
+    assertFalse(shouldTransform);
+  }
+
+  @Test
+  public void testTransformIfConstantPoolContainsConfiguredMethod() throws Exception {
+    // given
+    sut.configure(rule("#toString", "{ $_ = \"replaced\"; }"));
+
+    // when
+    final boolean shouldTransform = sut.shouldTransform(candidateClass);
+    sut.applyTransformations(candidateClass);
+
+    // then
+    assertTrue(shouldTransform);
+    assertTrue(hasIntrospectedField());
+    assertFalse(sut.shouldTransform(candidateClass));
+  }
+
+  @Test
+  public void testNotAddIntrospectedFieldIfNothingReplaced() throws Exception {
+    // given
+    sut.configure(rule("java.lang.Object#toString()I", "{ $_ = 42; }"));
+
+    // when
+    sut.applyTransformations(candidateClass);
+
+    // then
+    assertFalse(hasIntrospectedField());
+  }
+
+  private boolean hasIntrospectedField() {
+    for (final CtField field : candidateClass.getDeclaredFields()) {
+      if (ALREADY_INTROSPECTED_FIELD_NAME.equals(field.getName())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private Properties rule(final String key, final String statement) {
+    final Properties properties = new Properties();
+    properties.setProperty(key, statement);
+    return properties;
+  }
+
+}
@@ -0,0 +1,92 @@
+package de.icongmbh.oss.maven.plugin.javassist.example.transformer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Properties;
+
+import org.junit.Test;
+
+public class MethodCallRulesTest {
+
+  @Test
+  public void testEmptyRules() {
+    // given
+
+    // when
+    final MethodCallRules rules = MethodCallRules.compile(null);
+
+    // then
+    assertTrue(rules.isEmpty());
+    assertNull(rules.find("my.example.App", "doSomething", "()V"));
+    assertNull(rules.find(null, null, null));
+  }
+
+  @Test
+  public void testPrecedence() {
+    // given
+    final Properties properties = new Properties();
+    properties.setProperty("my.example.App#doSomething(I)V", "descriptor");
+    properties.setProperty("my.example.App#doSomething", "method");
+    properties.setProperty("my.example.App#", "class");
+    properties.setProperty("#doSomething(J)V", "any class descriptor");
+    properties.setProperty("#doSomething", "any class");
+
+    // when
+    final MethodCallRules rules = MethodCallRules.compile(properties);
+
+    // then
+    assertFalse(rules.isEmpty());
+    assertEquals("descriptor", rules.find("my.example.App", "doSomething", "(I)V"));
+    assertEquals("method", rules.find("my.example.App", "doSomething", "(J)V"));
+    assertEquals("method", rules.find("my.example.App", "doSomething", null));
+    assertEquals("class", rules.find("my.example.App", "doOther", "()V"));
+    assertEquals("any class descriptor", rules.find("my.example.Other", "doSomething", "(J)V"));
+    assertEquals("any class", rules.find("my.example.Other", "doSomething", "(I)V"));
+    assertNull(rules.find("my.example.Other", "doOther", "()V"));
+  }
+
+  @Test
+  public void testPatternPrecedence() {
+    // given
+    final Properties properties = new Properties();
+    properties.setProperty("com.acme.dao.UserDao#findAll", "exact");
+    properties.setProperty("com.acme.dao.*#find*", "dao find");
+    properties.setProperty("com.acme.dao.*#find*(J)V", "dao find descriptor");
+    properties.setProperty("com.acme.*#", "acme");
+    properties.setProperty("com.acme.dao.?serDao#find*", "user dao find");
+    properties.setProperty("#findAll", "any class");
+
+    // when
+    final MethodCallRules rules = MethodCallRules.compile(properties);
+
+    // then
+    assertEquals("exact", rules.find("com.acme.dao.UserDao", "findAll", "()V"));
+    assertEquals("user dao find", rules.find("com.acme.dao.UserDao", "findById", "(J)V"));
+    assertEquals("dao find descriptor", rules.find("com.acme.dao.OrderDao", "findById", "(J)V"));
+    assertEquals("dao find", rules.find("com.acme.dao.OrderDao", "findById", "(I)V"));
+    assertEquals("dao find", rules.find("com.acme.dao.sub.OrderDao", "find", "()V"));
+    assertEquals("acme", rules.find("com.acme.dao.OrderDao", "save", "()V"));
+    assertEquals("acme", rules.find("com.acme.Service", "findAll", "()V"));
+    assertEquals("any class", rules.find("org.other.Dao", "findAll", "()V"));
+    assertNull(rules.find("org.other.Dao", "findById", "()V"));
+    assertNull(rules.find("com.acmeX.Dao", null, null));
+  }
+
+  @Test
+  public void testIgnoreRuleWithoutMethodToken() {
+    // given
+    final Properties properties = new Properties();
+    properties.setProperty("my.example.App", "invalid");
+
+    // when
+    final MethodCallRules rules = MethodCallRules.compile(properties);
+
+    // then
+    assertTrue(rules.isEmpty());
+    assertNull(rules.find("my.example.App", "", null));
+  }
+
+}
@@ -0,0 +1,193 @@
+package de.icongmbh.oss.maven.plugin.javassist.example.transformer;
+
+import static de.icongmbh.oss.maven.plugin.javassist.example.transformer.RewriteRuleClassTransformer.ALREADY_INTROSPECTED_FIELD_NAME;
+import static de.icongmbh.oss.maven.plugin.javassist.example.transformer.RewriteRuleClassTransformer.DEFAULT_RULES_FILE;
+import static de.icongmbh.oss.maven.plugin.javassist.example.transformer.RewriteRuleClassTransformer.RULES_FILE_PROPERTY_NAME;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Properties;
+
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtField;
+import javassist.CtNewConstructor;
+import javassist.CtNewMethod;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RewriteRuleClassTransformerTest {
+
+  @Rule
+  public final TemporaryFolder temporaryFolderRule = new TemporaryFolder();
+
+  private CtClass candidateClass;
+
+  private RewriteRuleClassTransformer sut;
+
+  @Before
+  public void setUp() throws Exception {
+    candidateClass = new ClassPool(true).makeClass("test.RewriteTest");
+    candidateClass.addField(CtField.make("public int counter;", candidateClass));
+    candidateClass.addConstructor(CtNewConstructor.defaultConstructor(candidateClass));
+    candidateClass.addMethod(CtNewMethod
+      .make("public String run(Object o) {"
+            + " counter = 5;"
+            + " String s = (String)o;"
+            + " StringBuilder b = new StringBuilder(s);"
+            + " return b.append(counter).toString(); }",
+            candidateClass));
+    sut = new RewriteRuleClassTransformer();
+  }
+
+  @Test
+  public void testApplyAllRuleKindsInOnePass() throws Exception {
+    // given
+    sut.configure(rules("# all kinds",
+                        "",
+                        "call java.lang.StringBuilder#append(I)Ljava/lang/StringBuilder; = "
+                        + "{ $_ = $proceed($1 * 2); }",
+                        "set  test.RewriteTest#counter = {",
+                        "       $1 = 7; $proceed($$);",
+                        "     }",
+                        "new  java.lang.StringBuilder(Ljava/lang/String;)V = "
+                        + "{ $_ = $proceed(\"x\" + $1); }",
+                        "cast java.lang.String = { $_ = ($r)String.valueOf($1).toUpperCase(); }"));
+
+    // when
+    final boolean shouldTransform = sut.shouldTransform(candidateClass);
+    sut.applyTransformations(candidateClass);
+
+    // then
+    assertTrue(shouldTransform);
+    assertEquals("xA14", run("a"));
+    assertFalse(sut.shouldTransform(candidateClass));
+  }
+
+  @Test
+  public void testNotTransformIfConstantPoolContainsNoConfiguredRule() throws Exception {
+    // given
+    sut.configure(rules("get java.lang.System#out = { $_ = null; }",
+                        "cast java.lang.Integer = { $_ = null; }"));
+
+    // when
+    final boolean shouldTransform = sut.shouldTransform(candidateClass);
+
+    // then
+    assertFalse(shouldTransform);
+  }
+
+  @Test
+  public void testNotTransformWithoutRuleFile() throws Exception {
+    // given
+    sut.configure(null);
+
+    // when
+    final boolean shouldTransform = sut.shouldTransform(candidateClass);
+
+    // then
+    assertFalse(shouldTransform);
+  }
+
+  @Test
+  public void testApplyCastRuleWithWildcards() throws Exception {
+    // given
+    sut.configure(rules("cast java.lang.Str*g = { $_ = ($r)String.valueOf($1).toUpperCase(); }"));
+
+    // when
+    final boolean shouldTransform = sut.shouldTransform(candidateClass);
+    sut.applyTransformations(candidateClass);
+
+    // then
+    assertTrue(shouldTransform);
+    assertEquals("A5", run("a"));
+  }
+
+  @Test
+  public void testIgnoreCastToTypeMissingFromClassPath() throws Exception {
+    // given
+    final ClassPool providedClassPool = new ClassPool(true);
+    providedClassPool.makeInterface("provided.Api");
+    final CtClass providedCastClass = providedClassPool.makeClass("test.ProvidedCast");
+    providedCastClass.addMethod(CtNewMethod
+      .make("public String run(Object o) {"
+            + " provided.Api api = (provided.Api)o;"
+            + " return (String)o; }",
+            providedCastClass));
+    final CtClass candidateClass = new ClassPool(true).makeClass(
+            new ByteArrayInputStream(providedCastClass.toBytecode()));
+    sut.configure(rules("cast java.lang.String = { $_ = ($r)String.valueOf($1).toUpperCase(); }"));
+
+    // when
+    final boolean shouldTransform = sut.shouldTransform(candidateClass);
+    sut.applyTransformations(candidateClass);
+
+    // then
+    assertTrue(shouldTransform);
+    assertTrue(candidateClass.isModified());
+  }
+
+  @Test
+  public void testResolveDefaultRuleFileAgainstProjectBasedir() throws Exception {
+    // given
+    final File basedir = temporaryFolderRule.newFolder("project");
+    final File rulesFile = new File(basedir, DEFAULT_RULES_FILE);
+    rulesFile.getParentFile().mkdirs();
+    Files.write(rulesFile.toPath(),
+                Arrays.asList("set test.RewriteTest#counter = { $proceed(9); }"),
+                StandardCharsets.UTF_8);
+    sut.setProjectBasedir(basedir);
+
+    // when
+    sut.configure(new Properties());
+
+    // then
+    assertTrue(sut.shouldTransform(candidateClass));
+  }
+
+  @Test
+  public void testRejectInvalidRule() throws Exception {
+    // given
+    final Properties rules = rules("get test.RewriteTest#counter = { $_ = 0; }",
+                                   "put test.RewriteTest#counter = { $proceed($$); }");
+
+    // when
+    try {
+      sut.configure(rules);
+    } catch (final IllegalArgumentException e) {
+      // then
+      assertTrue(e.getMessage(), e.getMessage().contains(":2: unknown kind 'put'"));
+      return;
+    }
+    throw new AssertionError("IllegalArgumentException expected");
+  }
+
+  private Properties rules(final String... lines) throws Exception {
+    final File rulesFile = temporaryFolderRule.newFile("rewrite.rules");
+    Files.write(rulesFile.toPath(), Arrays.asList(lines), StandardCharsets.UTF_8);
+    final Properties properties = new Properties();
+    properties.setProperty(RULES_FILE_PROPERTY_NAME, rulesFile.getPath());
+    return properties;
+  }
+
+  private Object run(final Object argument) throws Exception {
+    final byte[] bytecode = candidateClass.toBytecode();
+    final Class<?> transformedClass = new ClassLoader(getClass().getClassLoader()) {
+      {
+        defineClass(candidateClass.getName(), bytecode, 0, bytecode.length);
+      }
+    }.loadClass(candidateClass.getName());
+    assertTrue(transformedClass.getField(ALREADY_INTROSPECTED_FIELD_NAME).getBoolean(null));
+    return transformedClass.getMethod("run", Object.class)
+      .invoke(transformedClass.getDeclaredConstructor().newInstance(), argument);
+  }
+
+}
@@ -0,0 +1,51 @@
+package de.icongmbh.oss.maven.plugin.javassist.stubs;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.icongmbh.oss.maven.plugin.javassist.ExprEditorClassTransformer;
+import javassist.CannotCompileException;
+import javassist.CtClass;
+import javassist.expr.MethodCall;
+
+public class ExprEditorTransformerStub extends ExprEditorClassTransformer {
+  private final List<MethodCall> methodCalls = new ArrayList<>();
+
+  private final List<CtClass> instrumented = new ArrayList<>();
+
+  private final String replacement;
+
+  public ExprEditorTransformerStub() {
+    this(null);
+  }
+
+  public ExprEditorTransformerStub(final String replacement) {
+    this.replacement = replacement;
+  }
+
+  @Override
+  public void edit(final MethodCall methodCall) throws CannotCompileException {
+    methodCalls.add(methodCall);
+    if (null != replacement) {
+      replace(methodCall, replacement);
+    }
+  }
+
+  @Override
+  public void afterInstrument(final CtClass transformedClass) {
+    instrumented.add(transformedClass);
+  }
+
+  @Override
+  public boolean shouldTransform(final CtClass ctClass) {
+    return true;
+  }
+
+  public List<MethodCall> getMethodCalls() {
+    return methodCalls;
+  }
+
+  public List<CtClass> getInstrumented() {
+    return instrumented;
+  }
+}
@@ -0,0 +1,12 @@
+package de.icongmbh.oss.maven.plugin.javassist.stubs;
+
+public class SubExprEditorTransformerStub extends ExprEditorTransformerStub {
+
+  public SubExprEditorTransformerStub() {
+    super();
+  }
+
+  public SubExprEditorTransformerStub(final String replacement) {
+    super(replacement);
+  }
+}
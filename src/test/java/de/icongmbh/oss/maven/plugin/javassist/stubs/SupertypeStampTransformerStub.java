@@ -0,0 +1,36 @@
+package de.icongmbh.oss.maven.plugin.javassist.stubs;
+
+import de.icongmbh.oss.maven.plugin.javassist.ClassTransformer;
+import javassist.CannotCompileException;
+import javassist.CtClass;
+import javassist.CtField;
+import javassist.NotFoundException;
+import javassist.build.JavassistBuildException;
+
+/**
+ * Marks each class whose superclass was already transformed when it was resolved.
+ */
+public class SupertypeStampTransformerStub extends ClassTransformer {
+
+  public static final String TRANSFORMED_SUPERCLASS_FIELD_NAME = "transformedSuperclass";
+
+  @Override
+  public void applyTransformations(final CtClass ctClass) throws JavassistBuildException {
+    try {
+      for (final CtField field : ctClass.getSuperclass().getDeclaredFields()) {
+        if (field.getName().startsWith("__TRANSFORMED_BY_JAVASSIST_MAVEN_PLUGIN__")) {
+          ctClass.addField(CtField.make("private static boolean "
+                                        + TRANSFORMED_SUPERCLASS_FIELD_NAME + ";", ctClass));
+          return;
+        }
+      }
+    } catch (final NotFoundException | CannotCompileException e) {
+      throw new JavassistBuildException(e);
+    }
+  }
+
+  @Override
+  public boolean shouldTransform(final CtClass ctClass) {
+    return true;
+  }
+}